@@ -0,0 +1,66 @@
+package com.cyberdak.javadecompiler.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cyberdak.javadecompiler.ClassParser;
+import com.cyberdak.javadecompiler.ClassReader;
+import com.cyberdak.javadecompiler.ClassVisitor;
+import com.cyberdak.javadecompiler.ConstantPool;
+
+/**
+ * 属性解析：完整建模（parse）对比只访问类头、跳过全部属性的 visitor（header）。
+ * 两者之差即为字段、方法和属性解码的开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeParsingBenchmark {
+
+    @Param({Corpus.SAMPLES, Corpus.JDK})
+    public String corpus;
+
+    private List<byte[]> classes;
+
+    @Setup
+    public void setup() throws Exception {
+        classes = Corpus.load(corpus);
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) throws Exception {
+        for (byte[] bytes : classes) {
+            bh.consume(ClassParser.parse(ClassReader.wrap(bytes)));
+        }
+    }
+
+    @Benchmark
+    public void header(final Blackhole bh) throws Exception {
+        ClassVisitor visitor = new ClassVisitor() {
+            @Override
+            public void visit(int minorVersion, int majorVersion, ConstantPool pool, int accessFlags,
+                              String name, String superName, List<String> interfaces) {
+                bh.consume(name);
+            }
+        };
+        for (byte[] bytes : classes) {
+            ClassParser.accept(ClassReader.wrap(bytes), visitor);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.cyberdak.javadecompiler.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cyberdak.javadecompiler.ClassReader;
+import com.cyberdak.javadecompiler.ConstantPool;
+
+/**
+ * 常量池解码：只建偏移索引（index），以及索引之后把所有条目解码成字符串（resolve）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstantPoolBenchmark {
+
+    @Param({Corpus.SAMPLES, Corpus.JDK})
+    public String corpus;
+
+    private List<byte[]> classes;
+
+    @Setup
+    public void setup() throws Exception {
+        classes = Corpus.load(corpus);
+    }
+
+    @Benchmark
+    public void index(Blackhole bh) {
+        for (byte[] bytes : classes) {
+            bh.consume(readPool(bytes));
+        }
+    }
+
+    @Benchmark
+    public void resolve(Blackhole bh) {
+        for (byte[] bytes : classes) {
+            ConstantPool pool = readPool(bytes);
+            for (int index = 1; index < pool.size(); index++) {
+                bh.consume(pool.getString(index));
+            }
+        }
+    }
+
+    private static ConstantPool readPool(byte[] bytes) {
+        ClassReader reader = ClassReader.wrap(bytes);
+        // magic + minor_version + major_version
+        reader.skip(8);
+        return ConstantPool.read(reader);
+    }
+}
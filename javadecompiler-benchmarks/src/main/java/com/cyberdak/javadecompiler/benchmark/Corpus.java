@@ -0,0 +1,110 @@
+package com.cyberdak.javadecompiler.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cyberdak.javadecompiler.ClassSource;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+/**
+ * 基准测试用的 class 文件集合。
+ * samples 为本仓库里的示例类，jdk 为 rt.jar（java 8）或 jrt 文件系统中 java.base 的部分类（java 9+）。
+ */
+public final class Corpus {
+
+    public static final String SAMPLES = "samples";
+    public static final String JDK = "jdk";
+
+    private static final String[] SAMPLE_CLASSES = {
+            "com/cyberdak/javadecompiler/App",
+            "com/cyberdak/javadecompiler/FullUser",
+            "com/cyberdak/javadecompiler/Simple"
+    };
+
+    // jdk 语料只取这几个包，保证一次迭代的耗时可控
+    private static final String[] JDK_PACKAGES = {"java/lang", "java/util", "java/io"};
+
+    private Corpus() {
+    }
+
+    public static List<byte[]> load(String name) throws IOException {
+        if (SAMPLES.equals(name)) {
+            return samples();
+        }
+        if (JDK.equals(name)) {
+            return jdk();
+        }
+        throw new IllegalArgumentException("unknown corpus " + name);
+    }
+
+    static List<byte[]> samples() throws IOException {
+        ImmutableList.Builder<byte[]> classes = ImmutableList.builder();
+        for (String className : SAMPLE_CLASSES) {
+            InputStream in = Corpus.class.getClassLoader().getResourceAsStream(className + ".class");
+            if (in == null) {
+                throw new IOException("sample class not found: " + className);
+            }
+            try {
+                classes.add(ByteStreams.toByteArray(in));
+            } finally {
+                in.close();
+            }
+        }
+        return classes.build();
+    }
+
+    static List<byte[]> jdk() throws IOException {
+        File rtJar = new File(System.getProperty("java.home"), "lib/rt.jar");
+        if (rtJar.isFile()) {
+            return rtJar(rtJar);
+        }
+        return jrt();
+    }
+
+    private static List<byte[]> rtJar(File rtJar) throws IOException {
+        List<byte[]> classes = new ArrayList<byte[]>();
+        try (ClassSource source = ClassSource.open(rtJar)) {
+            for (String className : source.getClassNames()) {
+                if (inJdkPackages(className)) {
+                    classes.add(source.read(className));
+                }
+            }
+        }
+        return ImmutableList.copyOf(classes);
+    }
+
+    private static List<byte[]> jrt() throws IOException {
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        List<byte[]> classes = new ArrayList<byte[]>();
+        for (String packageName : JDK_PACKAGES) {
+            Path dir = jrt.getPath("/modules/java.base", packageName);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.class")) {
+                for (Path path : stream) {
+                    classes.add(Files.readAllBytes(path));
+                }
+            }
+        }
+        return ImmutableList.copyOf(classes);
+    }
+
+    private static boolean inJdkPackages(String className) {
+        int slash = className.lastIndexOf('/');
+        String packageName = slash < 0 ? "" : className.substring(0, slash);
+        for (String candidate : JDK_PACKAGES) {
+            if (candidate.equals(packageName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
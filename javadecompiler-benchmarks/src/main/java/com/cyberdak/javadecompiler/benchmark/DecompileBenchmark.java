@@ -0,0 +1,50 @@
+package com.cyberdak.javadecompiler.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cyberdak.javadecompiler.ClassParser;
+import com.cyberdak.javadecompiler.ClassReader;
+import com.cyberdak.javadecompiler.Decompiler;
+
+/**
+ * 端到端：从 class 字节解析到输出源码文本。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecompileBenchmark {
+
+    @Param({Corpus.SAMPLES, Corpus.JDK})
+    public String corpus;
+
+    private List<byte[]> classes;
+
+    @Setup
+    public void setup() throws Exception {
+        classes = Corpus.load(corpus);
+    }
+
+    @Benchmark
+    public void decompile(Blackhole bh) throws Exception {
+        for (byte[] bytes : classes) {
+            bh.consume(Decompiler.decompile(ClassParser.parse(ClassReader.wrap(bytes))));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.cyberdak.javadecompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cyberdak.javadecompiler.ClassFile;
+import com.cyberdak.javadecompiler.ClassParser;
+import com.cyberdak.javadecompiler.ClassReader;
+import com.cyberdak.javadecompiler.Decompiler;
+import com.cyberdak.javadecompiler.MethodInfo;
+
+/**
+ * 只看一个方法：语料中方法最多的类，取中间的一个方法。
+ * parseAndDecompile 每次重新解析（方法体延迟解码，缓存不命中），cached 在同一个 ClassFile 上重复请求。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodDecompileBenchmark {
+
+    @Param({Corpus.SAMPLES, Corpus.JDK})
+    public String corpus;
+
+    private byte[] bytes;
+    private ClassFile classFile;
+    private String name;
+    private String descriptor;
+
+    @Setup
+    public void setup() throws Exception {
+        int most = -1;
+        for (byte[] candidate : Corpus.load(corpus)) {
+            ClassFile parsed = ClassParser.parse(ClassReader.wrap(candidate));
+            if (parsed.getMethods().size() > most) {
+                most = parsed.getMethods().size();
+                bytes = candidate;
+                classFile = parsed;
+            }
+        }
+        MethodInfo method = classFile.getMethods().get(most / 2);
+        name = method.getName();
+        descriptor = method.getDescriptor();
+    }
+
+    @Benchmark
+    public String parseAndDecompile() throws Exception {
+        return Decompiler.decompileMethod(ClassParser.parse(ClassReader.wrap(bytes)), name, descriptor);
+    }
+
+    @Benchmark
+    public String cached() {
+        return Decompiler.decompileMethod(classFile, name, descriptor);
+    }
+}
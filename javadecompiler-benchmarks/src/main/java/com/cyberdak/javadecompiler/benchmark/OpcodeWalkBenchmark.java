@@ -0,0 +1,69 @@
+package com.cyberdak.javadecompiler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cyberdak.javadecompiler.ClassFile;
+import com.cyberdak.javadecompiler.ClassParser;
+import com.cyberdak.javadecompiler.ClassReader;
+import com.cyberdak.javadecompiler.CodeAttribute;
+import com.cyberdak.javadecompiler.MethodInfo;
+import com.cyberdak.javadecompiler.OpCode;
+import com.cyberdak.javadecompiler.OpcodeParser;
+
+/**
+ * 指令遍历：在已解析好的 Code 属性上逐条取操作码并计算指令长度，不含类解析本身。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpcodeWalkBenchmark {
+
+    @Param({Corpus.SAMPLES, Corpus.JDK})
+    public String corpus;
+
+    private List<CodeAttribute> codes;
+
+    @Setup
+    public void setup() throws Exception {
+        codes = new ArrayList<CodeAttribute>();
+        for (byte[] bytes : Corpus.load(corpus)) {
+            ClassFile classFile = ClassParser.parse(ClassReader.wrap(bytes));
+            for (MethodInfo method : classFile.getMethods()) {
+                if (method.getCode() != null) {
+                    codes.add(method.getCode());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void walk(Blackhole bh) {
+        for (CodeAttribute code : codes) {
+            ClassReader reader = code.getReader();
+            int codeOffset = code.getCodeOffset();
+            int pc = 0;
+            while (pc < code.getCodeLength()) {
+                bh.consume(OpCode.of(code.getOpcode(pc)));
+                pc += OpcodeParser.length(reader, codeOffset, pc);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.cyberdak.javadecompiler.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.cyberdak.javadecompiler.ClassReader;
+import com.cyberdak.javadecompiler.ConstantPool;
+
+/**
+ * 常量池 UTF-8 条目的解码：ClassReader.readUtf8（Modified UTF-8，ASCII 快速路径）
+ * 和原来的 StandardCharsets.UTF_8.decode 对比，只计解码本身，不含建索引。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8Benchmark {
+
+    @Param({Corpus.SAMPLES, Corpus.JDK})
+    public String corpus;
+
+    private List<ClassReader> readers;
+    private List<ByteBuffer> buffers;
+    // 每个类的 UTF-8 条目，偏移和长度交替存放
+    private List<int[]> entries;
+
+    @Setup
+    public void setup() throws Exception {
+        readers = new ArrayList<>();
+        buffers = new ArrayList<>();
+        entries = new ArrayList<>();
+        for (byte[] bytes : Corpus.load(corpus)) {
+            ClassReader reader = ClassReader.wrap(bytes);
+            reader.skip(8);
+            ConstantPool pool = ConstantPool.read(reader);
+            int count = 0;
+            int[] utf8 = new int[pool.size() * 2];
+            for (int index = 1; index < pool.size(); index++) {
+                if (pool.getTag(index) == ConstantPool.CONSTANT_UTF_8) {
+                    utf8[count++] = pool.getOffset(index) + 2;
+                    utf8[count++] = pool.getUtf8Length(index);
+                }
+            }
+            readers.add(reader);
+            buffers.add(ByteBuffer.wrap(bytes));
+            entries.add(Arrays.copyOf(utf8, count));
+        }
+    }
+
+    @Benchmark
+    public void modifiedUtf8(Blackhole bh) {
+        for (int i = 0; i < readers.size(); i++) {
+            ClassReader reader = readers.get(i);
+            int[] utf8 = entries.get(i);
+            for (int j = 0; j < utf8.length; j += 2) {
+                bh.consume(reader.readUtf8(utf8[j], utf8[j + 1]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void charsetDecode(Blackhole bh) {
+        for (int i = 0; i < buffers.size(); i++) {
+            ByteBuffer buffer = buffers.get(i);
+            int[] utf8 = entries.get(i);
+            for (int j = 0; j < utf8.length; j += 2) {
+                ByteBuffer slice = buffer.duplicate();
+                slice.position(utf8[j]);
+                slice.limit(utf8[j] + utf8[j + 1]);
+                bh.consume(StandardCharsets.UTF_8.decode(slice).toString());
+            }
+        }
+    }
+}
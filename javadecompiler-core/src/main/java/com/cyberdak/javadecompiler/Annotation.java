@@ -0,0 +1,74 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * 一个注解：类型描述符和按声明顺序的 element_value_pairs，不可变。
+ * toString 为源码形式，例如 @javax.persistence.Table(name = "users", indexes = {})。
+ */
+public class Annotation {
+    private final String type;
+    private final Map<String, ElementValue> values;
+
+    public Annotation(String type, Map<String, ElementValue> values) {
+        this.type = type;
+        this.values = ImmutableMap.copyOf(values);
+    }
+
+    /**
+     * 字段描述符形式的注解类型，例如 Ljava/lang/Deprecated;。
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * java 形式的注解类型，例如 java.lang.Deprecated。
+     */
+    public String getTypeName() {
+        return Expression.typeName(type);
+    }
+
+    /**
+     * 显式给出的元素，使用默认值的元素不在其中。
+     */
+    public Map<String, ElementValue> getValues() {
+        return values;
+    }
+
+    public ElementValue getValue(String name) {
+        return values.get(name);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    public void appendTo(StringBuilder sb) {
+        sb.append('@').append(getTypeName());
+        if (values.isEmpty()) {
+            return;
+        }
+        sb.append('(');
+        // 只有一个 value 元素时省略名称
+        if (values.size() == 1 && values.containsKey("value")) {
+            values.get("value").appendTo(sb);
+        } else {
+            boolean first = true;
+            for (Map.Entry<String, ElementValue> entry : values.entrySet()) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                first = false;
+                sb.append(entry.getKey()).append(" = ");
+                entry.getValue().appendTo(sb);
+            }
+        }
+        sb.append(')');
+    }
+}
@@ -0,0 +1,30 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * 注解类型中元素的默认值，访问时才解码。
+ */
+public class AnnotationDefaultAttribute extends Attributes {
+    private final ClassReader reader;
+    private final ConstantPool pool;
+    private volatile ElementValue value;
+
+    public AnnotationDefaultAttribute(int nameIndex, String name, int offset, int length, ClassReader reader, ConstantPool pool) {
+        super(nameIndex, name, offset, length);
+        this.reader = reader;
+        this.pool = pool;
+    }
+
+    public ElementValue getValue() {
+        ElementValue result = value;
+        if (result == null) {
+            result = new AnnotationReader(reader, pool, getOffset()).elementValue();
+            value = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " : " + getValue();
+    }
+}
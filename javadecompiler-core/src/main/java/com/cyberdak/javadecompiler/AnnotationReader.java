@@ -0,0 +1,134 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 从 class 文件中的某个位置解码 annotation 和 element_value，只在注解属性被访问时才创建。
+ * 按绝对偏移读取，不影响解析器的 reader 位置。
+ */
+class AnnotationReader {
+    private final ClassReader reader;
+    private final ConstantPool pool;
+    private int position;
+
+    AnnotationReader(ClassReader reader, ConstantPool pool, int position) {
+        this.reader = reader;
+        this.pool = pool;
+        this.position = position;
+    }
+
+    private int u1() {
+        return reader.readU1(position++);
+    }
+
+    private int u2() {
+        int value = reader.readU2(position);
+        position += 2;
+        return value;
+    }
+
+    /**
+     * num_annotations 加上 annotations[]。
+     */
+    List<Annotation> annotations() {
+        int count = u2();
+        if (count == 0) {
+            return ImmutableList.of();
+        }
+        List<Annotation> annotations = Lists.newArrayListWithCapacity(count);
+        for (int i = 0; i < count; i++) {
+            annotations.add(annotation());
+        }
+        return ImmutableList.copyOf(annotations);
+    }
+
+    Annotation annotation() {
+        String type = pool.getString(u2());
+        int count = u2();
+        Map<String, ElementValue> values = Maps.newLinkedHashMap();
+        for (int i = 0; i < count; i++) {
+            String name = pool.getString(u2());
+            values.put(name, elementValue());
+        }
+        return new Annotation(type, values);
+    }
+
+    ElementValue elementValue() {
+        int tag = u1();
+        switch (tag) {
+            case 'B':
+                return ElementValue.constant(tag, (byte) pool.getInt(u2()));
+            case 'C':
+                return ElementValue.constant(tag, (char) pool.getInt(u2()));
+            case 'S':
+                return ElementValue.constant(tag, (short) pool.getInt(u2()));
+            case 'Z':
+                return ElementValue.constant(tag, pool.getInt(u2()) != 0);
+            case 'I':
+                return ElementValue.constant(tag, pool.getInt(u2()));
+            case 'J':
+                return ElementValue.constant(tag, pool.getLong(u2()));
+            case 'F':
+                return ElementValue.constant(tag, pool.getFloat(u2()));
+            case 'D':
+                return ElementValue.constant(tag, pool.getDouble(u2()));
+            case 's':
+                return ElementValue.constant(tag, pool.getString(u2()));
+            case 'e':
+                String type = pool.getString(u2());
+                return ElementValue.enumConstant(type, pool.getString(u2()));
+            case 'c':
+                return ElementValue.classValue(pool.getString(u2()));
+            case '@':
+                return ElementValue.annotation(annotation());
+            case '[':
+                int count = u2();
+                List<ElementValue> values = Lists.newArrayListWithCapacity(count);
+                for (int i = 0; i < count; i++) {
+                    values.add(elementValue());
+                }
+                return ElementValue.array(values);
+            default:
+                throw new IllegalArgumentException("element_value tag is error.tag value is " + (char) tag);
+        }
+    }
+
+    /**
+     * 跳过一个 annotation，返回它的 type_index。
+     */
+    int skipAnnotation() {
+        int typeIndex = u2();
+        int count = u2();
+        for (int i = 0; i < count; i++) {
+            position += 2;
+            skipElementValue();
+        }
+        return typeIndex;
+    }
+
+    private void skipElementValue() {
+        int tag = u1();
+        switch (tag) {
+            case 'e':
+                position += 4;
+                break;
+            case '@':
+                skipAnnotation();
+                break;
+            case '[':
+                int count = u2();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue();
+                }
+                break;
+            default:
+                // 常量和 c 都是一个 u2 索引
+                position += 2;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * RuntimeVisibleAnnotations 和 RuntimeInvisibleAnnotations。
+ * 解析时只记录属性在 class 文件中的位置，注解在第一次调用 {@link #getAnnotations()} 时才解码。
+ */
+public class AnnotationsAttribute extends Attributes {
+    private final ClassReader reader;
+    private final ConstantPool pool;
+    // 多个线程同时第一次访问时可能各解码一次，结果相同
+    private volatile List<Annotation> annotations;
+
+    public AnnotationsAttribute(int nameIndex, String name, int offset, int length, ClassReader reader, ConstantPool pool) {
+        super(nameIndex, name, offset, length);
+        this.reader = reader;
+        this.pool = pool;
+    }
+
+    public boolean isVisible() {
+        return Constants.RUNTIME_VISIBLE_ANNOTATIONS.equals(getName());
+    }
+
+    /**
+     * num_annotations，不需要解码。
+     */
+    public int size() {
+        return reader.readU2(getOffset());
+    }
+
+    public List<Annotation> getAnnotations() {
+        List<Annotation> result = annotations;
+        if (result == null) {
+            result = new AnnotationReader(reader, pool, getOffset()).annotations();
+            annotations = result;
+        }
+        return result;
+    }
+
+    /**
+     * 是否有某个类型的注解，只比较类型，跳过元素的值，不创建注解对象。
+     *
+     * @param type 描述符形式，例如 Ljavax/persistence/Entity;
+     */
+    public boolean isPresent(String type) {
+        if (annotations != null) {
+            for (Annotation annotation : annotations) {
+                if (type.equals(annotation.getType())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        AnnotationReader annotationReader = new AnnotationReader(reader, pool, getOffset() + 2);
+        for (int i = size(); i > 0; i--) {
+            if (type.equals(pool.getString(annotationReader.skipAnnotation()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 可见和不可见的注解合在一起，可见的在前。
+     */
+    static List<Annotation> annotations(List<Attributes> attributes) {
+        List<Annotation> annotations = null;
+        for (Attributes attribute : attributes) {
+            if (attribute instanceof AnnotationsAttribute) {
+                List<Annotation> decoded = ((AnnotationsAttribute) attribute).getAnnotations();
+                if (annotations == null) {
+                    annotations = decoded;
+                } else {
+                    annotations = ImmutableList.<Annotation>builder().addAll(annotations).addAll(decoded).build();
+                }
+            }
+        }
+        return annotations == null ? ImmutableList.<Annotation>of() : annotations;
+    }
+
+    static boolean isPresent(List<Attributes> attributes, String type) {
+        for (Attributes attribute : attributes) {
+            if (attribute instanceof AnnotationsAttribute && ((AnnotationsAttribute) attribute).isPresent(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " : " + getAnnotations();
+    }
+}
@@ -0,0 +1,22 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * 接收属性事件的基类。
+ * 解析器读到一个属性时先用属性名询问 {@link #acceptAttribute(String)}，
+ * 返回 false 时直接按 attribute_length 跳过，不做任何解码。
+ */
+public abstract class AttributeVisitor {
+
+    /**
+     * 默认不需要任何属性。
+     */
+    public boolean acceptAttribute(String name) {
+        return false;
+    }
+
+    public void visitAttribute(Attributes attribute) {
+    }
+
+    public void visitEnd() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.List;
+
+/**
+ * Created by 58 on 2016/12/27.
+ * attribute_info，没有专门解析的属性只记录名称和它在 class 文件中的位置。
+ */
+public class Attributes {
+    private final int nameIndex;
+    private final String name;
+    // info[] 在 class 文件中的偏移
+    private final int offset;
+    private final int length;
+
+    public Attributes(int nameIndex, String name, int offset, int length) {
+        this.nameIndex = nameIndex;
+        this.name = name;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public int getNameIndex() {
+        return nameIndex;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + length + "]";
+    }
+
+    /**
+     * 按名称查找属性，没有时返回 null。
+     */
+    public static Attributes find(List<Attributes> attributes, String name) {
+        for (Attributes attribute : attributes) {
+            if (name.equals(attribute.getName())) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * README 中的装箱例子，反编译后应能看到 javac 插入的 Long.valueOf 和 longValue。
+ */
+public class Boxing {
+    public void add() {
+        Long l1 = 1L;
+        long l2 = 2L;
+        l1 += l2;
+    }
+}
@@ -0,0 +1,564 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.UnsignedBytes;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 跨 jar 的字段和方法引用索引，回答“谁调用了 X”“谁读写了字段 Y”。
+ * <p>
+ * 每个 jar 一个索引文件，内容是排好序的字符串表和定长的引用记录，查询时用内存映射直接在文件上二分查找，
+ * 不需要读 class 字节，也不需要把索引读进堆里。jar 的大小和修改时间记在索引文件头里，没有变化的 jar 不会重新索引。
+ * <p>
+ * 引用来自方法体中的 getstatic/putstatic/getfield/putfield 和 invokevirtual/invokespecial/invokestatic/invokeinterface，
+ * 以及常量池中的 MethodHandle（方法引用和 lambda 的实现方法），后者记录的调用方法为空字符串，pc 为 -1。
+ * <p>
+ * 文件格式：
+ * <pre>
+ * int magic, int version, long jarLength, long jarModified, int pathLength, jarPath（UTF-8）
+ * int stringCount, int recordCount
+ * int[stringCount + 1] 字符串在字符串区中的偏移
+ * 字符串区，UTF-8，按字节无符号排序
+ * 记录区，每条 20 字节：int target, int callerClass, int callerMethod, int pc, int opcode，按这个顺序排序
+ * </pre>
+ * target 为 "owner.name:descriptor"，callerMethod 为 "name:descriptor"，都是字符串表的下标。
+ */
+public class CallSiteIndex {
+    private static final int MAGIC = 0x4a444349;
+    private static final int FORMAT_VERSION = 1;
+    private static final int RECORD_SIZE = 20;
+    private static final String SUFFIX = ".cidx";
+    // MethodHandle 的 reference_kind 对应的指令，下标为 reference_kind
+    private static final int[] HANDLE_OPCODES = {0, 0xb4, 0xb2, 0xb5, 0xb3, 0xb6, 0xb8, 0xb7, 0xb7, 0xb9};
+
+    private final File dir;
+    // jar 的绝对路径 -> 索引
+    private final Map<String, JarIndex> jars = Maps.newTreeMap();
+
+    public CallSiteIndex(File dir) throws IOException {
+        this.dir = dir;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("can not create index dir " + dir);
+        }
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.getName().endsWith(SUFFIX)) {
+                    continue;
+                }
+                try {
+                    JarIndex index = JarIndex.open(file);
+                    jars.put(index.jarPath, index);
+                } catch (IOException e) {
+                    // 损坏或旧格式的索引，下次 update 时重建
+                    Files.deleteIfExists(file.toPath());
+                }
+            }
+        }
+    }
+
+    /**
+     * 索引一批 jar，只处理新增和有变化的。
+     *
+     * @return 重新索引的 jar 个数
+     */
+    public int update(Collection<File> files) throws IOException {
+        int updated = 0;
+        for (File file : files) {
+            if (update(file)) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * jar 的大小和修改时间与索引中记录的一致时什么也不做，否则重建这个 jar 的索引。
+     *
+     * @return 是否重新索引
+     */
+    public boolean update(File jar) throws IOException {
+        String path = jar.getAbsolutePath();
+        synchronized (this) {
+            JarIndex index = jars.get(path);
+            if (index != null && index.jarLength == jar.length() && index.jarModified == jar.lastModified()) {
+                return false;
+            }
+        }
+        File file = indexFile(path);
+        File tmp = new File(dir, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            write(jar, tmp);
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+        JarIndex index = JarIndex.open(file);
+        synchronized (this) {
+            jars.put(path, index);
+        }
+        return true;
+    }
+
+    /**
+     * 删除 jar 的索引。
+     */
+    public synchronized boolean remove(File jar) throws IOException {
+        String path = jar.getAbsolutePath();
+        if (jars.remove(path) == null) {
+            return false;
+        }
+        Files.deleteIfExists(indexFile(path).toPath());
+        return true;
+    }
+
+    public synchronized List<String> getJars() {
+        return Lists.newArrayList(jars.keySet());
+    }
+
+    /**
+     * 对 owner 中成员的引用。name 为 null 时返回对 owner 所有成员的引用，descriptor 为 null 时匹配所有重载。
+     */
+    public List<CallSite> find(String owner, String name, String descriptor) {
+        String key = owner + ".";
+        if (name != null) {
+            key += name + ":";
+            if (descriptor != null) {
+                key += descriptor;
+            }
+        }
+        // 只有三者都给出时才是精确匹配，否则是前缀匹配
+        boolean exact = name != null && descriptor != null;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        List<JarIndex> indexes;
+        synchronized (this) {
+            indexes = Lists.newArrayList(jars.values());
+        }
+        List<CallSite> result = Lists.newArrayList();
+        for (JarIndex index : indexes) {
+            index.find(bytes, exact, result);
+        }
+        return result;
+    }
+
+    /**
+     * 方法的调用点，不包括字段访问。
+     */
+    public List<CallSite> findCallers(String owner, String name, String descriptor) {
+        List<CallSite> result = Lists.newArrayList();
+        for (CallSite site : find(owner, name, descriptor)) {
+            if (site.isInvoke()) {
+                result.add(site);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 字段的读写位置。
+     */
+    public List<CallSite> findFieldAccesses(String owner, String name) {
+        List<CallSite> result = Lists.newArrayList();
+        for (CallSite site : find(owner, name, null)) {
+            if (!site.isInvoke()) {
+                result.add(site);
+            }
+        }
+        return result;
+    }
+
+    private File indexFile(String jarPath) {
+        return new File(dir, Hashing.sha256().hashString(jarPath, StandardCharsets.UTF_8).toString().substring(0, 32) + SUFFIX);
+    }
+
+    /**
+     * 解析 jar 中的每个类，把引用写成索引文件。解析失败的类跳过。
+     */
+    static void write(File jar, File out) throws IOException {
+        long jarLength = jar.length();
+        long jarModified = jar.lastModified();
+        Map<String, Integer> ids = Maps.newHashMap();
+        List<String> strings = Lists.newArrayList();
+        ControlFlowGraph.IntList records = new ControlFlowGraph.IntList(1024);
+        try (ClassSource source = ClassSource.open(jar)) {
+            for (String name : source.getClassNames()) {
+                ClassFile classFile;
+                try {
+                    classFile = ClassParser.parse(ClassReader.wrap(source.read(name)));
+                } catch (Exception e) {
+                    continue;
+                }
+                collect(classFile, ids, strings, records);
+            }
+        }
+
+        // 字符串按 UTF-8 字节排序，查询时可以直接比较映射文件中的字节
+        final byte[][] encoded = new byte[strings.size()][];
+        Integer[] order = new Integer[strings.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            order[i] = i;
+        }
+        final Comparator<byte[]> bytesComparator = UnsignedBytes.lexicographicalComparator();
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return bytesComparator.compare(encoded[a], encoded[b]);
+            }
+        });
+        int[] remap = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            remap[order[i]] = i;
+        }
+
+        int recordCount = records.size() / 5;
+        final int[] values = records.toArray();
+        for (int i = 0; i < recordCount; i++) {
+            for (int j = 0; j < 3; j++) {
+                values[i * 5 + j] = remap[values[i * 5 + j]];
+            }
+        }
+        Integer[] recordOrder = new Integer[recordCount];
+        for (int i = 0; i < recordCount; i++) {
+            recordOrder[i] = i;
+        }
+        Arrays.sort(recordOrder, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                for (int j = 0; j < 4; j++) {
+                    int c = Integer.compare(values[a * 5 + j], values[b * 5 + j]);
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return 0;
+            }
+        });
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(out)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeLong(jarLength);
+            output.writeLong(jarModified);
+            byte[] path = jar.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+            output.writeInt(path.length);
+            output.write(path);
+            output.writeInt(order.length);
+            output.writeInt(recordCount);
+            int offset = 0;
+            for (Integer id : order) {
+                output.writeInt(offset);
+                offset += encoded[id].length;
+            }
+            output.writeInt(offset);
+            for (Integer id : order) {
+                output.write(encoded[id]);
+            }
+            for (Integer record : recordOrder) {
+                for (int j = 0; j < 5; j++) {
+                    output.writeInt(values[record * 5 + j]);
+                }
+            }
+        }
+    }
+
+    private static void collect(ClassFile classFile, Map<String, Integer> ids, List<String> strings, ControlFlowGraph.IntList records) {
+        ConstantPool pool = classFile.getConstantPool();
+        int callerClass = id(classFile.getName(), ids, strings);
+        for (MethodInfo method : classFile.getMethods()) {
+            CodeAttribute code = method.getCode();
+            if (code == null) {
+                continue;
+            }
+            int callerMethod = id(method.getName() + ":" + method.getDescriptor(), ids, strings);
+            ClassReader reader = code.getReader();
+            int base = code.getCodeOffset();
+            for (int pc = 0; pc < code.getCodeLength(); pc += OpcodeParser.length(reader, base, pc)) {
+                int opcode = reader.readU1(base + pc);
+                if (opcode >= 0xb2 && opcode <= 0xb9) {
+                    int target = id(member(pool, reader.readU2(base + pc + 1)), ids, strings);
+                    records.add(target);
+                    records.add(callerClass);
+                    records.add(callerMethod);
+                    records.add(pc);
+                    records.add(opcode);
+                }
+            }
+        }
+        int emptyMethod = -1;
+        for (int i = 1; i < pool.size(); i++) {
+            if (pool.getTag(i) != ConstantPool.CONSTANT_METHOD_HANDLE) {
+                continue;
+            }
+            if (emptyMethod < 0) {
+                emptyMethod = id("", ids, strings);
+            }
+            int kind = pool.getReferenceKind(i);
+            records.add(id(member(pool, pool.getRef(i, 0)), ids, strings));
+            records.add(callerClass);
+            records.add(emptyMethod);
+            records.add(-1);
+            records.add(kind < HANDLE_OPCODES.length ? HANDLE_OPCODES[kind] : 0);
+        }
+    }
+
+    /**
+     * Fieldref、Methodref、InterfaceMethodref 对应的 "owner.name:descriptor"。
+     */
+    private static String member(ConstantPool pool, int index) {
+        int nameAndType = pool.getRef(index, 1);
+        return pool.getString(pool.getRef(index, 0)) + "." + pool.getString(pool.getRef(nameAndType, 0))
+                + ":" + pool.getString(pool.getRef(nameAndType, 1));
+    }
+
+    private static int id(String value, Map<String, Integer> ids, List<String> strings) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = strings.size();
+            ids.put(value, id);
+            strings.add(value);
+        }
+        return id;
+    }
+
+    /**
+     * 一个引用位置。
+     */
+    public static class CallSite {
+        private final String jar;
+        private final String target;
+        private final String callerClass;
+        private final String callerMethod;
+        private final int pc;
+        private final int opcode;
+
+        CallSite(String jar, String target, String callerClass, String callerMethod, int pc, int opcode) {
+            this.jar = jar;
+            this.target = target;
+            this.callerClass = callerClass;
+            this.callerMethod = callerMethod;
+            this.pc = pc;
+            this.opcode = opcode;
+        }
+
+        public String getJar() {
+            return jar;
+        }
+
+        /**
+         * 被引用的成员，"owner.name:descriptor"。
+         */
+        public String getTarget() {
+            return target;
+        }
+
+        public String getCallerClass() {
+            return callerClass;
+        }
+
+        /**
+         * 引用所在的方法，"name:descriptor"；来自常量池 MethodHandle 时为空字符串。
+         */
+        public String getCallerMethod() {
+            return callerMethod;
+        }
+
+        /**
+         * 指令的 pc，来自常量池 MethodHandle 时为 -1。
+         */
+        public int getPc() {
+            return pc;
+        }
+
+        public int getOpcode() {
+            return opcode;
+        }
+
+        public boolean isInvoke() {
+            return opcode >= 0xb6;
+        }
+
+        @Override
+        public String toString() {
+            String instruction = opcode == 0 ? "?" : OpCode.of(opcode).name().toLowerCase();
+            return callerClass + "." + callerMethod + " @" + pc + " " + instruction + " " + target + " (" + jar + ")";
+        }
+    }
+
+    /**
+     * 一个映射到内存的索引文件，只用绝对位置读取，可以被多个线程同时查询。
+     */
+    static class JarIndex {
+        private final ByteBuffer buffer;
+        private final String jarPath;
+        private final long jarLength;
+        private final long jarModified;
+        private final int stringCount;
+        private final int recordCount;
+        private final int offsetsStart;
+        private final int stringsStart;
+        private final int recordsStart;
+
+        private JarIndex(ByteBuffer buffer) throws IOException {
+            this.buffer = buffer;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("not a call site index");
+            }
+            jarLength = buffer.getLong(8);
+            jarModified = buffer.getLong(16);
+            int pathLength = buffer.getInt(24);
+            jarPath = new String(bytes(28, pathLength), StandardCharsets.UTF_8);
+            int position = 28 + pathLength;
+            stringCount = buffer.getInt(position);
+            recordCount = buffer.getInt(position + 4);
+            offsetsStart = position + 8;
+            stringsStart = offsetsStart + (stringCount + 1) * 4;
+            recordsStart = stringsStart + buffer.getInt(offsetsStart + stringCount * 4);
+            if (recordsStart + (long) recordCount * RECORD_SIZE != buffer.limit()) {
+                throw new IOException("truncated call site index");
+            }
+        }
+
+        static JarIndex open(File file) throws IOException {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return new JarIndex(buffer);
+            } catch (IndexOutOfBoundsException e) {
+                throw new IOException("truncated call site index " + file, e);
+            }
+        }
+
+        String getString(int id) {
+            int start = buffer.getInt(offsetsStart + id * 4);
+            int end = buffer.getInt(offsetsStart + id * 4 + 4);
+            return new String(bytes(stringsStart + start, end - start), StandardCharsets.UTF_8);
+        }
+
+        private byte[] bytes(int position, int length) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(position + i);
+            }
+            return bytes;
+        }
+
+        /**
+         * 第 id 个字符串和 key 按无符号字节比较；prefix 为 true 时只比较前 key.length 个字节。
+         */
+        private int compare(int id, byte[] key, boolean prefix) {
+            int start = stringsStart + buffer.getInt(offsetsStart + id * 4);
+            int length = stringsStart + buffer.getInt(offsetsStart + id * 4 + 4) - start;
+            int n = Math.min(length, key.length);
+            for (int i = 0; i < n; i++) {
+                int c = (buffer.get(start + i) & 0xff) - (key[i] & 0xff);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            if (prefix && length >= key.length) {
+                return 0;
+            }
+            return length - key.length;
+        }
+
+        /**
+         * 第一个大于等于 key 的字符串（upper 为 true 时是第一个大于 key 的）。
+         */
+        private int searchString(byte[] key, boolean prefix, boolean upper) {
+            int low = 0;
+            int high = stringCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int c = compare(middle, key, prefix);
+                if (c < 0 || (upper && c == 0)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * 第一条 target 大于等于 id 的记录。
+         */
+        private int searchRecord(int id) {
+            int low = 0;
+            int high = recordCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (buffer.getInt(recordsStart + middle * RECORD_SIZE) < id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void find(byte[] key, boolean exact, List<CallSite> result) {
+            int first = searchString(key, !exact, false);
+            int last = searchString(key, !exact, true);
+            if (first >= last) {
+                return;
+            }
+            int end = searchRecord(last);
+            for (int record = searchRecord(first); record < end; record++) {
+                int position = recordsStart + record * RECORD_SIZE;
+                result.add(new CallSite(jarPath, getString(buffer.getInt(position)), getString(buffer.getInt(position + 4)),
+                        getString(buffer.getInt(position + 8)), buffer.getInt(position + 12), buffer.getInt(position + 16)));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: CallSiteIndex <index dir> <jar>...");
+            System.err.println("       CallSiteIndex <index dir> -find <owner> [name] [descriptor]");
+            return;
+        }
+        CallSiteIndex index = new CallSiteIndex(new File(args[0]));
+        if ("-find".equals(args[1])) {
+            long start = System.nanoTime();
+            List<CallSite> sites = index.find(args[2], args.length > 3 ? args[3] : null, args.length > 4 ? args[4] : null);
+            long micros = (System.nanoTime() - start) / 1000;
+            for (CallSite site : sites) {
+                System.out.println(site);
+            }
+            System.err.println(sites.size() + " references in " + micros + " us");
+            return;
+        }
+        List<File> files = Lists.newArrayList();
+        for (int i = 1; i < args.length; i++) {
+            files.add(new File(args[i]));
+        }
+        long start = System.nanoTime();
+        int updated = index.update(files);
+        System.err.println("indexed " + updated + " of " + files.size() + " jars in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+}
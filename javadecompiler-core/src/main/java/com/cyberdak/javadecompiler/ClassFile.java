@@ -0,0 +1,157 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * 解析后的 class 文件，由 {@link ClassParser#parse(ClassReader)} 生成，创建后不再修改。
+ */
+public class ClassFile {
+    private final int minorVersion;
+    private final int majorVersion;
+    private final ConstantPool constantPool;
+    private final int accessFlags;
+    private final String name;
+    private final String superName;
+    private final List<String> interfaces;
+    private final List<FieldInfo> fields;
+    private final List<MethodInfo> methods;
+    private final List<Attributes> attributes;
+
+    public ClassFile(int minorVersion, int majorVersion, ConstantPool constantPool, int accessFlags,
+                     String name, String superName, List<String> interfaces,
+                     List<FieldInfo> fields, List<MethodInfo> methods, List<Attributes> attributes) {
+        this.minorVersion = minorVersion;
+        this.majorVersion = majorVersion;
+        this.constantPool = constantPool;
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = ImmutableList.copyOf(interfaces);
+        this.fields = ImmutableList.copyOf(fields);
+        this.methods = ImmutableList.copyOf(methods);
+        this.attributes = ImmutableList.copyOf(attributes);
+    }
+
+    public int getMinorVersion() {
+        return minorVersion;
+    }
+
+    public int getMajorVersion() {
+        return majorVersion;
+    }
+
+    public ConstantPool getConstantPool() {
+        return constantPool;
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    /**
+     * 内部类名，例如 com/cyberdak/javadecompiler/App。
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 父类的内部类名，java/lang/Object 和 module-info 返回 null。
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public List<String> getInterfaces() {
+        return interfaces;
+    }
+
+    public List<FieldInfo> getFields() {
+        return fields;
+    }
+
+    public List<MethodInfo> getMethods() {
+        return methods;
+    }
+
+    public List<Attributes> getAttributes() {
+        return attributes;
+    }
+
+    public Attributes getAttribute(String name) {
+        return Attributes.find(attributes, name);
+    }
+
+    public FieldInfo getField(String name) {
+        for (FieldInfo field : fields) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param descriptor 为 null 时返回第一个同名方法
+     */
+    public MethodInfo getMethod(String name, String descriptor) {
+        for (MethodInfo method : methods) {
+            if (method.getName().equals(name) && (descriptor == null || method.getDescriptor().equals(descriptor))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    public String getSourceFile() {
+        ValueAttribute attribute = (ValueAttribute) getAttribute(Constants.SOURCE_FILE);
+        return attribute == null ? null : attribute.getValue();
+    }
+
+    /**
+     * Signature 属性中的泛型签名，没有时返回 null。
+     */
+    public String getSignature() {
+        ValueAttribute attribute = (ValueAttribute) getAttribute(Constants.SIGNATURE);
+        return attribute == null ? null : attribute.getValue();
+    }
+
+    /**
+     * RuntimeVisibleAnnotations 和 RuntimeInvisibleAnnotations 中的注解，访问时才解码。
+     */
+    public List<Annotation> getAnnotations() {
+        return AnnotationsAttribute.annotations(attributes);
+    }
+
+    /**
+     * 是否有某个类型的注解，不解码注解元素。
+     *
+     * @param type 描述符形式，例如 Ljava/lang/Deprecated;
+     */
+    public boolean isAnnotationPresent(String type) {
+        return AnnotationsAttribute.isPresent(attributes, type);
+    }
+
+    public List<InnerClass> getInnerClasses() {
+        InnerClassesAttribute attribute = (InnerClassesAttribute) getAttribute(Constants.INNER_CLASSES);
+        return attribute == null ? ImmutableList.<InnerClass>of() : attribute.getClasses();
+    }
+
+    public EnclosingMethodAttribute getEnclosingMethod() {
+        return (EnclosingMethodAttribute) getAttribute(Constants.ENCLOSING_METHOD);
+    }
+
+    /**
+     * 估算这个模型占用的内存（字节），用于 {@link ClassFileCache} 按大小淘汰。
+     */
+    public int estimatedSize() {
+        return constantPool.estimatedSize() + (fields.size() + methods.size()) * 64 + attributes.size() * 32;
+    }
+
+    @Override
+    public String toString() {
+        return ClassParser.getFlags(accessFlags, ClassParser.accessFlagMap) + " " + name;
+    }
+}
@@ -0,0 +1,101 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * 接收所有事件并生成完整的 {@link ClassFile}。
+ */
+public class ClassFileBuilder extends ClassVisitor {
+    private int minorVersion;
+    private int majorVersion;
+    private ConstantPool pool;
+    private int accessFlags;
+    private String name;
+    private String superName;
+    private List<String> interfaces;
+    private final List<FieldInfo> fields = Lists.newArrayList();
+    private final List<MethodInfo> methods = Lists.newArrayList();
+    private final List<Attributes> attributes = Lists.newArrayList();
+    private ClassFile classFile;
+
+    @Override
+    public void visit(int minorVersion, int majorVersion, ConstantPool pool, int accessFlags,
+                      String name, String superName, List<String> interfaces) {
+        this.minorVersion = minorVersion;
+        this.majorVersion = majorVersion;
+        this.pool = pool;
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = interfaces;
+    }
+
+    @Override
+    public FieldVisitor visitField(final int accessFlags, final String name, final String descriptor) {
+        return new FieldVisitor() {
+            private final List<Attributes> attributes = Lists.newArrayList();
+
+            @Override
+            public boolean acceptAttribute(String name) {
+                return true;
+            }
+
+            @Override
+            public void visitAttribute(Attributes attribute) {
+                attributes.add(attribute);
+            }
+
+            @Override
+            public void visitEnd() {
+                fields.add(new FieldInfo(accessFlags, name, descriptor, attributes));
+            }
+        };
+    }
+
+    @Override
+    public MethodVisitor visitMethod(final int accessFlags, final String name, final String descriptor) {
+        return new MethodVisitor() {
+            private final List<Attributes> attributes = Lists.newArrayList();
+
+            @Override
+            public boolean acceptAttribute(String name) {
+                return true;
+            }
+
+            @Override
+            public void visitAttribute(Attributes attribute) {
+                attributes.add(attribute);
+            }
+
+            @Override
+            public void visitEnd() {
+                methods.add(new MethodInfo(accessFlags, name, descriptor, attributes));
+            }
+        };
+    }
+
+    @Override
+    public boolean acceptAttribute(String name) {
+        return true;
+    }
+
+    @Override
+    public void visitAttribute(Attributes attribute) {
+        attributes.add(attribute);
+    }
+
+    @Override
+    public void visitEnd() {
+        classFile = new ClassFile(minorVersion, majorVersion, pool, accessFlags, name, superName,
+                interfaces, fields, methods, attributes);
+    }
+
+    /**
+     * visitEnd 之后可用。
+     */
+    public ClassFile getClassFile() {
+        return classFile;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 按内部类名（com/cyberdak/javadecompiler/App）缓存解析好的 {@link ClassFile}，
+ * 反编译时查父类、接口、外部类等不需要重复读取和解析。
+ * 按 {@link ClassFile#estimatedSize()} 加权，总权重超过 maxWeight 时淘汰，可以被多个线程共享。
+ */
+public class ClassFileCache {
+    private final ClassSource source;
+    private final StringInterner interner;
+    private final LoadingCache<String, ClassFile> cache;
+
+    public ClassFileCache(ClassSource source, long maxWeight) {
+        this(source, maxWeight, null);
+    }
+
+    /**
+     * @param interner 解析时使用的字符串驻留表，为 null 时不驻留
+     */
+    public ClassFileCache(ClassSource source, long maxWeight, StringInterner interner) {
+        this.source = source;
+        this.interner = interner;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher(new Weigher<String, ClassFile>() {
+                    @Override
+                    public int weigh(String name, ClassFile classFile) {
+                        return classFile.estimatedSize();
+                    }
+                })
+                .recordStats()
+                .build(new CacheLoader<String, ClassFile>() {
+                    @Override
+                    public ClassFile load(String name) throws Exception {
+                        return parse(name);
+                    }
+                });
+    }
+
+    /**
+     * @return 类不在 source 中时（例如 java/lang/Object）返回 null
+     */
+    public ClassFile get(final String name) throws IOException {
+        if (name == null || Collections.binarySearch(source.getClassNames(), name) < 0) {
+            return null;
+        }
+        try {
+            Metrics metrics = Metrics.current();
+            if (metrics == null) {
+                return cache.get(name);
+            }
+            // 只有未命中时才会调用 loader，借此区分命中和未命中
+            final boolean[] loaded = new boolean[1];
+            ClassFile classFile = cache.get(name, new Callable<ClassFile>() {
+                @Override
+                public ClassFile call() throws Exception {
+                    loaded[0] = true;
+                    return parse(name);
+                }
+            });
+            metrics.add(loaded[0] ? Metrics.Counter.CLASS_CACHE_MISSES : Metrics.Counter.CLASS_CACHE_HITS, 1);
+            return classFile;
+        } catch (ExecutionException e) {
+            throw new IOException("failed to parse " + name, e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw new IOException("failed to parse " + name, e.getCause());
+        }
+    }
+
+    private ClassFile parse(String name) throws Exception {
+        return ClassParser.parse(ClassReader.wrap(source.read(name)), interner);
+    }
+
+    public ClassFile getIfPresent(String name) {
+        return cache.getIfPresent(name);
+    }
+
+    public ClassFile getSuperClass(ClassFile classFile) throws IOException {
+        return get(classFile.getSuperName());
+    }
+
+    /**
+     * 内部类所在的外部类：优先取 EnclosingMethod，其次取 InnerClasses 中自身那一项的 outer_class_info。
+     */
+    public ClassFile getOuterClass(ClassFile classFile) throws IOException {
+        EnclosingMethodAttribute enclosingMethod = classFile.getEnclosingMethod();
+        if (enclosingMethod != null) {
+            return get(enclosingMethod.getClassName());
+        }
+        for (InnerClass innerClass : classFile.getInnerClasses()) {
+            if (classFile.getName().equals(innerClass.getInnerClass())) {
+                return get(innerClass.getOuterClass());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 之前是否缓存了这个类
+     */
+    public boolean invalidate(String name) {
+        // asMap().remove 不计入命中统计
+        return cache.asMap().remove(name) != null;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 命中、未命中、加载耗时和淘汰次数。
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,573 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * class 文件解析器。
+ * 每个实例只解析一个类，解析状态（reader 的位置、常量池）都在实例里，不能被多个线程共享；
+ * 静态的标记表都是不可变的，多个线程可以各自创建解析器同时解析。
+ */
+public class ClassParser {
+    public static final Map<Integer, String> accessFlagMap = ImmutableMap.<Integer, String>builder()
+            .put(0x0001, "ACC_PUBLIC")
+            .put(0x0010, "ACC_FINAL")
+            .put(0x0020, "ACC_SUPER")
+            .put(0x0200, "ACC_INTERFACE")
+            .put(0x0400, "ACC_ABSTRACT")
+            .put(0x1000, "ACC_SYNTHETIC")
+            .put(0x2000, "ACC_ANNOTATION")
+            .put(0x4000, "ACC_ENUM")
+            .build();
+
+    public static final Map<Integer, String> fieldFlagMap = ImmutableMap.<Integer, String>builder()
+            .put(0x0001, "ACC_PUBLIC")
+            .put(0x0002, "ACC_PRIVATE")
+            .put(0x0004, "ACC_PROTECTED")
+            .put(0x0008, "ACC_STATIC")
+            .put(0x0010, "ACC_FINAL")
+            .put(0x0040, "ACC_VOLATILE")
+            .put(0x0080, "ACC_TRANSIENT")
+            .put(0x1000, "ACC_SYNTHETIC")
+            .put(0x4000, "ACC_ENUM")
+            .build();
+
+    public static final Map<Integer, String> methodFlagMap = ImmutableMap.<Integer, String>builder()
+            .put(0x00001, "ACC_PUBLIC")
+            .put(0x0002, "ACC_PRIVATE")
+            .put(0x0004, "ACC_PROTECTED")
+            .put(0x0008, "ACC_STATIC")
+            .put(0x0010, "ACC_FINAL")
+            .put(0x0020, "ACC_SYNCHRONIZED")
+            .put(0x0040, "ACC_BRIDGE")
+            .put(0x0080, "ACC_VARARGS")
+            .put(0x0100, "ACC_NATIVE")
+            .put(0x0400, "ACC_ABSTRACT")
+            .put(0x0800, "ACC_STRICT")
+            .put(0x1000, "ACC_SYNTHETIC")
+            .build();
+
+    public static final Map<Integer, String> innerClassFlagMap = ImmutableMap.<Integer, String>builder()
+            .put(0x0001, "ACC_PUBLIC")
+            .put(0x0002, "ACC_PRIVATE")
+            .put(0x0004, "ACC_PROTECTED")
+            .put(0x0008, "ACC_STATIC")
+            .put(0x0010, "ACC_FINAL")
+            .put(0x200, "ACC_INTERFACE")
+            .put(0x0400, "ACC_ABSTRACT")
+            .put(0x1000, "ACC_SYNTHETIC")
+            .put(0x2000, "ACC_ANNOTATION")
+            .put(0x4000, "ACC_ENUM")
+            .build();
+
+    private final ClassReader input;
+    private final ParseListener listener;
+    private final StringInterner interner;
+    private ConstantPool pool;
+    // 开启 Metrics 时每个阶段的耗时，关闭时为 null
+    private long[] phaseNanos;
+    private long phaseStart;
+    private int attributesParsed;
+    private int attributesSkipped;
+
+    public ClassParser(ClassReader input) {
+        this(input, ParseListener.NONE);
+    }
+
+    /**
+     * @param listener 接收解析过程中的事件，例如 {@link TextPrinter} 输出结构信息
+     */
+    public ClassParser(ClassReader input, ParseListener listener) {
+        this(input, listener, null);
+    }
+
+    /**
+     * @param interner 常量池字符串的驻留表，同一会话中的类共享，为 null 时不驻留
+     */
+    public ClassParser(ClassReader input, ParseListener listener, StringInterner interner) {
+        this.input = input;
+        this.listener = listener;
+        this.interner = interner;
+    }
+
+    /**
+     * 从 reader 当前位置解析属性，常量池已经读出，例如延迟解码的 Code 属性内部的属性。
+     */
+    ClassParser(ClassReader input, ConstantPool pool) {
+        this(input, ParseListener.NONE, null);
+        this.pool = pool;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String path = Thread.currentThread().getContextClassLoader().getResource("com/cyberdak/javadecompiler/Simple.class").getPath().toString();
+        File file = new File(path);
+        TextPrinter printer = new TextPrinter();
+        new ClassParser(ClassReader.open(file), printer).parse();
+        System.out.print(printer.getText());
+    }
+
+    /**
+     * 从 reader 当前位置解析一个完整的 class 文件。
+     */
+    public static ClassFile parse(ClassReader input) throws Exception {
+        return new ClassParser(input).parse();
+    }
+
+    public static ClassFile parse(ClassReader input, StringInterner interner) throws Exception {
+        return new ClassParser(input, ParseListener.NONE, interner).parse();
+    }
+
+    public static void accept(ClassReader input, ClassVisitor visitor) throws Exception {
+        new ClassParser(input).accept(visitor);
+    }
+
+    public ClassFile parse() throws Exception {
+        ClassFileBuilder builder = new ClassFileBuilder();
+        accept(builder);
+        return builder.getClassFile();
+    }
+
+    /**
+     * 解析 class 文件并把结果以事件的形式推给 visitor，解析过程同时推给 listener。
+     * visitor 不需要的字段、方法和属性按长度直接跳过，不会被解码。
+     */
+    public void accept(ClassVisitor visitor) throws Exception {
+        Metrics metrics = Metrics.current();
+        int start = input.position();
+        if (metrics != null) {
+            phaseNanos = new long[Metrics.Phase.values().length];
+            phaseStart = System.nanoTime();
+        }
+        // 魔数（Magic Number）作为Class文件的标志，用来告诉Java虚拟机，这是一个Class文件
+        int magic = input.u4();
+        listener.magic(magic);
+        if (magic != 0xcafebabe) {
+            throw new IllegalArgumentException("invalid class file. magic is " + Integer.toHexString(magic));
+        }
+        phaseEnd(Metrics.Phase.MAGIC);
+        int minorVersion = input.u2();
+        // 33十六进制转10进制 51 , 对应编译器版本为1.7
+        int majorVersion = input.u2();
+        listener.version(minorVersion, majorVersion);
+        phaseEnd(Metrics.Phase.VERSION);
+
+        // 只记录每一项的 tag 和偏移，值在用到时才解析
+        pool = ConstantPool.read(input, interner);
+        listener.constantPool(pool);
+        phaseEnd(Metrics.Phase.CONSTANT_POOL);
+
+        // Class的访问标记Access Flag，0x0021，则该类为public，且ACC_SUPER标记为1
+        int accessFlag = input.u2();
+        phaseEnd(Metrics.Phase.ACCESS_FLAGS);
+        int thisClassIndex = input.u2();
+        int superClassIndex = input.u2();
+        // 如果该类没有实现任何接口，则inferfaceCount为0
+        int interfaceCount = input.u2();
+        List<String> interfaces = Lists.newArrayListWithCapacity(interfaceCount);
+        for (int i = 1; i <= interfaceCount; i++) {
+            int interfaceIndex = input.u2();
+            interfaces.add(pool.getString(interfaceIndex));
+        }
+        listener.classInfo(accessFlag, thisClassIndex, superClassIndex, interfaces);
+        // java/lang/Object 和 module-info 的 super_class 为 0
+        String superName = superClassIndex == 0 ? null : pool.getString(superClassIndex);
+        visitor.visit(minorVersion, majorVersion, pool, accessFlag, pool.getString(thisClassIndex), superName, interfaces);
+        phaseEnd(Metrics.Phase.CLASS_INFO);
+
+        // field
+        int fieldCount = input.u2();
+        listener.fieldCount(fieldCount);
+        for (int i = 1; i <= fieldCount; i++) {
+            int fieldAccessFlags = input.u2();
+            int nameIndex = input.u2();
+            int descriptorIndex = input.u2();
+            int attributesCount = input.u2();
+            listener.field(fieldAccessFlags, nameIndex, descriptorIndex, attributesCount);
+            FieldVisitor fieldVisitor = visitor.visitField(fieldAccessFlags, pool.getString(nameIndex), pool.getString(descriptorIndex));
+            acceptAttributes(attributesCount, fieldVisitor);
+        }
+        phaseEnd(Metrics.Phase.FIELDS);
+        // parse method info
+        int methodCount = input.u2();
+        listener.methodCount(methodCount);
+        for (int i = 1; i <= methodCount; i++) {
+            int methodAccessFlags = input.u2();
+            int methodNameIndex = input.u2();
+            int descriptorIndex = input.u2();
+            int attributesCount = input.u2();
+            listener.method(methodAccessFlags, methodNameIndex, descriptorIndex, attributesCount);
+            MethodVisitor methodVisitor = visitor.visitMethod(methodAccessFlags, pool.getString(methodNameIndex), pool.getString(descriptorIndex));
+            acceptAttributes(attributesCount, methodVisitor);
+        }
+        phaseEnd(Metrics.Phase.METHODS);
+
+        // parse attribute
+        int attributesCount = input.u2();
+        acceptAttributes(attributesCount, visitor);
+        phaseEnd(Metrics.Phase.CLASS_ATTRIBUTES);
+        if (metrics != null) {
+            metrics.parsed(pool.getString(thisClassIndex), input.position() - start, phaseNanos, pool, attributesParsed, attributesSkipped);
+        }
+    }
+
+    private void phaseEnd(Metrics.Phase phase) {
+        if (phaseNanos != null) {
+            long now = System.nanoTime();
+            phaseNanos[phase.ordinal()] += now - phaseStart;
+            phaseStart = now;
+        }
+    }
+
+    /**
+     * visitor 为 null 时跳过全部属性；否则只解码 visitor 接受的属性，其余按 attribute_length 跳过。
+     * 结束时调用 visitor 的 visitEnd。
+     */
+    public void acceptAttributes(int count, AttributeVisitor visitor) throws Exception {
+        for (int i = 1; i <= count; i++) {
+            int attributeStart = input.position();
+            String attributeName = pool.getString(input.readU2(attributeStart));
+            if (visitor != null && visitor.acceptAttribute(attributeName)) {
+                visitor.visitAttribute(parseAttribute());
+                attributesParsed++;
+            } else {
+                attributesSkipped++;
+                // attribute_name_index(u2) + attribute_length(u4) + info
+                input.position(attributeStart + 6 + input.readInt(attributeStart + 2));
+            }
+        }
+        if (visitor != null) {
+            visitor.visitEnd();
+        }
+    }
+
+    public List<Attributes> parseAttributes(int count) throws Exception {
+        List<Attributes> attributes = Lists.newArrayListWithCapacity(count);
+        for (int i = 1; i <= count; i++) {
+            attributes.add(parseAttribute());
+        }
+        return attributes;
+    }
+
+    public Attributes parseAttribute() throws Exception {
+        int attributeNameIndex = input.u2();
+        int attributeLength = input.u4();
+        int attributeOffset = input.position();
+        // 属性结束位置，解析完成后直接定位到这里，未识别的属性也不会导致错位
+        int attributeEnd = attributeOffset + attributeLength;
+        String attributeName = pool.getString(attributeNameIndex);
+        listener.attributeStart(attributeNameIndex, attributeName, attributeLength);
+
+        Attributes attribute = new Attributes(attributeNameIndex, attributeName, attributeOffset, attributeLength);
+        if(attributeName == null){
+            input.position(attributeEnd);
+            listener.attributeEnd(attribute);
+            return attribute;
+        }
+        switch (attributeName) {
+            case Constants.CONSTANT_VALUE:
+                int constantValueIndex = input.u2();
+                String constantValue = pool.getString(constantValueIndex);
+                attribute = new ValueAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, constantValueIndex, constantValue);
+                break;
+            case Constants.DEPRECATED:
+                break;
+            case Constants.STACK_MAP_TABLE:
+                int numberOfEntries = input.u2();
+                List<StackMapFrame> frames = Lists.newArrayListWithCapacity(numberOfEntries);
+                int framePc = -1;
+                for (int i = 1; i <= numberOfEntries; i++) {
+                    int frameType = input.u1();
+                    StackMapFrame.Kind kind;
+                    int offsetDelta;
+                    int chopCount = 0;
+                    List<VerificationType> frameLocals = Collections.emptyList();
+                    List<VerificationType> frameStack = Collections.emptyList();
+                    if (frameType < 64) {
+                        // same_frame
+                        kind = StackMapFrame.Kind.SAME;
+                        offsetDelta = frameType;
+                    } else if (frameType < 128) {
+                        // same_locals_1_stack_item_frame
+                        kind = StackMapFrame.Kind.SAME_LOCALS_1_STACK_ITEM;
+                        offsetDelta = frameType - 64;
+                        frameStack = Collections.singletonList(parseVerificationType());
+                    } else if (frameType < 247) {
+                        // 128-246 保留
+                        throw new IllegalStateException("reserved stack map frame type " + frameType);
+                    } else if (frameType == 247) {
+                        // same_locals_1_stack_item_frame_extended
+                        kind = StackMapFrame.Kind.SAME_LOCALS_1_STACK_ITEM;
+                        offsetDelta = input.u2();
+                        frameStack = Collections.singletonList(parseVerificationType());
+                    } else if (frameType < 251) {
+                        // chop_frame
+                        kind = StackMapFrame.Kind.CHOP;
+                        offsetDelta = input.u2();
+                        chopCount = 251 - frameType;
+                    } else if (frameType == 251) {
+                        // same_frame_extended
+                        kind = StackMapFrame.Kind.SAME;
+                        offsetDelta = input.u2();
+                    } else if (frameType < 255) {
+                        // append_frame
+                        kind = StackMapFrame.Kind.APPEND;
+                        offsetDelta = input.u2();
+                        frameLocals = parseVerificationTypes(frameType - 251);
+                    } else {
+                        // full_frame
+                        kind = StackMapFrame.Kind.FULL;
+                        offsetDelta = input.u2();
+                        frameLocals = parseVerificationTypes(input.u2());
+                        frameStack = parseVerificationTypes(input.u2());
+                    }
+                    // 第一帧的 pc 就是 offset_delta，之后每帧是前一帧 pc + offset_delta + 1
+                    framePc += offsetDelta + 1;
+                    frames.add(new StackMapFrame(frameType, kind, framePc, chopCount, frameLocals, frameStack));
+                }
+                attribute = new StackMapTable(attributeNameIndex, attributeName, attributeOffset, attributeLength, frames);
+                break;
+            case Constants.INNER_CLASSES:
+                int numberOfClasses = input.u2();
+                List<InnerClass> innerClasses = Lists.newArrayListWithCapacity(numberOfClasses);
+                for (int g = 1; g <= numberOfClasses; g++) {
+                    int innerClassInfoIndex = input.u2();
+                    int outerClassInfoIndex = input.u2();
+                    int innerNameIndex = input.u2();
+                    int innerClassAccessFlag = input.u2();
+                    innerClasses.add(new InnerClass(pool.getString(innerClassInfoIndex), pool.getString(outerClassInfoIndex),
+                            pool.getString(innerNameIndex), innerClassAccessFlag));
+                }
+                attribute = new InnerClassesAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, innerClasses);
+                break;
+            case Constants.ENCLOSING_METHOD:
+                int classIndex = input.u2();
+                int methodIndex = input.u2();
+                String methodName = null;
+                String methodDescriptor = null;
+                if (methodIndex != 0) {
+                    methodName = pool.getString(pool.getRef(methodIndex, 0));
+                    methodDescriptor = pool.getString(pool.getRef(methodIndex, 1));
+                }
+                attribute = new EnclosingMethodAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength,
+                        pool.getString(classIndex), methodName, methodDescriptor);
+                break;
+            case Constants.SYNTHETIC:
+                break;
+            case Constants.SIGNATURE:
+                int signatureIndex = input.u2();
+                String signature = pool.getString(signatureIndex);
+                attribute = new ValueAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, signatureIndex, signature);
+                break;
+            case Constants.SOURCE_FILE:
+                int sourceFileIndex = input.u2();
+                String sourceFile = pool.getString(sourceFileIndex);
+                attribute = new ValueAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, sourceFileIndex, sourceFile);
+                break;
+            case Constants.SOURCE_DEBUG_EXTENSION:
+                input.skip(attributeLength);
+                break;
+            case Constants.LINE_NUMBER_TABLE:
+                int lineNumberTableLength = input.u2();
+                int[] startPcs = new int[lineNumberTableLength];
+                int[] lineNumbers = new int[lineNumberTableLength];
+                for (int l = 0; l < lineNumberTableLength; l++) {
+                    int startPc = input.u2();
+                    int lineNumber = input.u2();
+                    startPcs[l] = startPc;
+                    lineNumbers[l] = lineNumber;
+                }
+                attribute = new LineNumberTable(attributeNameIndex, attributeName, attributeOffset, attributeLength, startPcs, lineNumbers);
+                break;
+            case Constants.LOCAL_VARIABLE_TABLE:
+                int localVariableTable = input.u2();
+                List<LocalVariable> variables = Lists.newArrayListWithCapacity(localVariableTable);
+                for (int l = 1; l <= localVariableTable; l++) {
+                    int startPc = input.u2();
+                    int length = input.u2();
+                    int nameIndex = input.u2();
+                    int descriptorIndex = input.u2();
+                    int vIndex = input.u2();
+                    variables.add(new LocalVariable(startPc, length, pool.getString(nameIndex), pool.getString(descriptorIndex), vIndex));
+                }
+                attribute = new LocalVariableTable(attributeNameIndex, attributeName, attributeOffset, attributeLength, variables);
+                break;
+            case Constants.LOCAL_VARIABLE_TYPE_TABLE:
+                int localVariableTypeTable = input.u2();
+                List<LocalVariable> typeVariables = Lists.newArrayListWithCapacity(localVariableTypeTable);
+                for (int l = 1; l <= localVariableTypeTable; l++) {
+                    int startPc = input.u2();
+                    int length = input.u2();
+                    int nameIndex = input.u2();
+                    int signatureIndex1 = input.u2();
+                    int vindex = input.u2();
+                    typeVariables.add(new LocalVariable(startPc, length, pool.getString(nameIndex), pool.getString(signatureIndex1), vindex));
+                }
+                attribute = new LocalVariableTable(attributeNameIndex, attributeName, attributeOffset, attributeLength, typeVariables);
+                break;
+            case Constants.RUNTIME_VISIBLE_ANNOTATIONS:
+            case Constants.RUNTIME_INVISIBLE_ANNOTATIONS:
+                // 注解只记录位置，用到时才解码；只有需要输出结构信息时才在这里遍历
+                if (listener != ParseListener.NONE) {
+                    int numberOfAnnotations = input.u2();
+                    for (int i = 1; i <= numberOfAnnotations; i++) {
+                        parseAnnotation();
+                    }
+                }
+                attribute = new AnnotationsAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, input, pool);
+                break;
+            case Constants.RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS:
+            case Constants.RUNTIME_INVISIBLE_PARAMETER_ANNOTATIONS:
+                if (listener != ParseListener.NONE) {
+                    int numParameters = input.u1();
+                    for (int i = 0; i < numParameters; i++) {
+                        int numAnnotations = input.u2();
+                        for (int j = 1; j <= numAnnotations; j++) {
+                            parseAnnotation();
+                        }
+                    }
+                }
+                attribute = new ParameterAnnotationsAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, input, pool);
+                break;
+            case Constants.ANNOTATION_DEFAULT:
+                if (listener != ParseListener.NONE) {
+                    parseElementValue();
+                }
+                attribute = new AnnotationDefaultAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, input, pool);
+                break;
+            case Constants.BOOTSTRAP_METHODS:
+                int bootstrapMethodsNum = input.u2();
+                for (int i = 1; i <= bootstrapMethodsNum; i++) {
+                    input.u2();
+                    int numberBootstrapArguments = input.u2();
+                    for (int j = 1; j <= numberBootstrapArguments; j++) {
+                        input.u2();
+                    }
+                }
+                break;
+            case Constants.EXCEPTIONS:
+                int numberOfExceptions = input.u2();
+                List<String> exceptions = Lists.newArrayListWithCapacity(numberOfExceptions);
+                for (int i = 1; i <= numberOfExceptions; i++) {
+                    int exceptionIndex = input.u2();
+                    exceptions.add(pool.getString(exceptionIndex));
+                }
+                attribute = new ExceptionsAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, exceptions);
+                break;
+            case Constants.CODE:
+                int maxStack = input.u2();
+                int maxLocals = input.u2();
+                int codeLength = input.u4();
+                int codeOffset = input.position();
+                if (listener == ParseListener.NONE) {
+                    // 异常表和内部属性等到访问时再解码
+                    attribute = new CodeAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, input, pool,
+                            maxStack, maxLocals, codeOffset, codeLength);
+                    break;
+                }
+                input.position(codeOffset + codeLength);
+                int exceptionTableLength = input.u2();
+                List<ExceptionHandler> exceptionTable = Lists.newArrayListWithCapacity(exceptionTableLength);
+                for (int p = 1; p <= exceptionTableLength; p++) {
+                    int startPc = input.u2();
+                    int endPc = input.u2();
+                    int handlerPc = input.u2();
+                    int catchType = input.u2();
+                    // catch_type 为 0 表示 finally，捕获所有异常
+                    exceptionTable.add(new ExceptionHandler(startPc, endPc, handlerPc, catchType == 0 ? null : pool.getString(catchType)));
+                }
+                int attCount = input.u2();
+                listener.code(input, maxStack, maxLocals, codeOffset, codeLength, exceptionTable, attCount);
+                List<Attributes> codeAttributes = parseAttributes(attCount);
+                attribute = new CodeAttribute(attributeNameIndex, attributeName, attributeOffset, attributeLength, input,
+                        maxStack, maxLocals, codeOffset, codeLength, exceptionTable, codeAttributes);
+                break;
+        }
+        input.position(attributeEnd);
+        listener.attributeEnd(attribute);
+        return attribute;
+    }
+
+    public List<VerificationType> parseVerificationTypes(int count) {
+        List<VerificationType> types = Lists.newArrayListWithCapacity(count);
+        for (int i = 0; i < count; i++) {
+            types.add(parseVerificationType());
+        }
+        return types;
+    }
+
+    public VerificationType parseVerificationType() {
+        int tag = input.u1();
+        switch (tag) {
+            case VerificationType.OBJECT:
+                return VerificationType.object(pool.getString(input.u2()));
+            case VerificationType.UNINITIALIZED:
+                return VerificationType.uninitialized(input.u2());
+            default:
+                return VerificationType.of(tag);
+        }
+    }
+
+    public void parseAnnotation() throws Exception {
+        int typeIndex = input.u2();
+        listener.annotation(typeIndex);
+        int numElementValuePairs = input.u2();
+        for (int i = 1; i <= numElementValuePairs; i++) {
+            int elementNameIndex = input.u2();
+            listener.elementName(elementNameIndex);
+            parseElementValue();
+        }
+    }
+
+    public void parseElementValue() throws Exception {
+        int tag = input.u1();
+        switch (tag) {
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'Z':
+            case 's':
+                int constValueIndex = input.u2();
+                listener.elementValue(tag, constValueIndex, 0);
+                break;
+            case 'e':
+                int typeNameIndex = input.u2();
+                int constNameIndex = input.u2();
+                listener.elementValue(tag, typeNameIndex, constNameIndex);
+                break;
+            case 'c':
+                int classInfoIndex = input.u2();
+                listener.elementValue(tag, classInfoIndex, 0);
+                break;
+            case '@':
+                parseAnnotation();
+                break;
+            case '[':
+                int numValues = input.u2();
+                for (int i = 1; i <= numValues; i++) {
+                    parseElementValue();
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("element_value tag is error.tag value is " + (char) tag);
+        }
+    }
+
+    public static final List<String> getFlags(int flags,Map<Integer,String> flagMap){
+        List<String> flagList = Lists.newArrayList();
+        for(Integer mask : flagMap.keySet()){
+            if((flags & mask) == mask){
+                flagList.add(flagMap.get(mask));
+            }
+        }
+        return flagList;
+    }
+}
@@ -0,0 +1,222 @@
+package com.cyberdak.javadecompiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * class 文件读取器。
+ * 底层是一个 ByteBuffer（文件时为 MappedByteBuffer），所有读取都按绝对偏移进行，
+ * 不经过流，也不产生中间数组。顺序读取时由 position 记录当前位置。
+ */
+public class ClassReader {
+    private final ByteBuffer buffer;
+    private int position;
+
+    public ClassReader(ByteBuffer buffer) {
+        // slice 之后下标 0 即 class 文件开头，class 文件统一为大端序
+        this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    public static ClassReader open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // 映射在 channel 关闭后依然有效
+            return new ClassReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static ClassReader wrap(byte[] bytes) {
+        return new ClassReader(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * 共享同一份数据、position 独立的 reader。
+     */
+    public ClassReader duplicate() {
+        return new ClassReader(buffer);
+    }
+
+    public int length() {
+        return buffer.limit();
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public void position(int position) {
+        this.position = position;
+    }
+
+    public void skip(int n) {
+        position += n;
+    }
+
+    // 顺序读取，读取后 position 后移
+
+    public int u1() {
+        int value = readU1(position);
+        position += 1;
+        return value;
+    }
+
+    public int u2() {
+        int value = readU2(position);
+        position += 2;
+        return value;
+    }
+
+    public int u4() {
+        int value = readInt(position);
+        position += 4;
+        return value;
+    }
+
+    public long u8() {
+        long value = readLong(position);
+        position += 8;
+        return value;
+    }
+
+    // 绝对偏移读取，不影响 position
+
+    public int readU1(int offset) {
+        return buffer.get(offset) & 0xFF;
+    }
+
+    public byte readByte(int offset) {
+        return buffer.get(offset);
+    }
+
+    public int readU2(int offset) {
+        return buffer.getShort(offset) & 0xFFFF;
+    }
+
+    public short readShort(int offset) {
+        return buffer.getShort(offset);
+    }
+
+    public int readInt(int offset) {
+        return buffer.getInt(offset);
+    }
+
+    public long readLong(int offset) {
+        return buffer.getLong(offset);
+    }
+
+    public float readFloat(int offset) {
+        return buffer.getFloat(offset);
+    }
+
+    public double readDouble(int offset) {
+        return buffer.getDouble(offset);
+    }
+
+    /**
+     * 解码 CONSTANT_Utf8_info 的 bytes。class 文件用的是 Modified UTF-8（JVMS 4.4.7），
+     * 和标准 UTF-8 不同：NUL 编码为 0xC0 0x80，补充平面字符按两个代理各自编码成三字节，不会出现四字节形式。
+     * <p>
+     * 常量池里绝大多数字符串是纯 ASCII，先每次检查 8 个字节的最高位，全是 ASCII 时按 ISO-8859-1 直接构造，
+     * 不用逐字符解码（java 9 以后 String 内部就是 Latin-1 字节，只复制一次数组）。
+     *
+     * @throws IllegalArgumentException 不是合法的 Modified UTF-8
+     */
+    public String readUtf8(int offset, int length) {
+        if (isAscii(offset, length)) {
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+            }
+            byte[] bytes = new byte[length];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(offset);
+            slice.get(bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        return decodeModifiedUtf8(offset, length);
+    }
+
+    private boolean isAscii(int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        for (; i + 8 <= end; i += 8) {
+            if ((buffer.getLong(i) & 0x8080808080808080L) != 0) {
+                return false;
+            }
+        }
+        for (; i < end; i++) {
+            if (buffer.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decodeModifiedUtf8(int offset, int length) {
+        // 每个字符至少一个字节，length 个 char 足够
+        char[] chars = new char[length];
+        int count = 0;
+        int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            int b = buffer.get(i) & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+                i++;
+            } else if ((b & 0xE0) == 0xC0) {
+                int b2 = continuation(i + 1, end);
+                chars[count++] = (char) (((b & 0x1F) << 6) | b2);
+                i += 2;
+            } else if ((b & 0xF0) == 0xE0) {
+                int b2 = continuation(i + 1, end);
+                int b3 = continuation(i + 2, end);
+                chars[count++] = (char) (((b & 0x0F) << 12) | (b2 << 6) | b3);
+                i += 3;
+            } else {
+                throw malformedUtf8(i);
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * 多字节字符的后续字节 10xxxxxx，返回低 6 位。
+     */
+    private int continuation(int offset, int end) {
+        if (offset >= end) {
+            throw malformedUtf8(offset);
+        }
+        int b = buffer.get(offset) & 0xFF;
+        if ((b & 0xC0) != 0x80) {
+            throw malformedUtf8(offset);
+        }
+        return b & 0x3F;
+    }
+
+    private static IllegalArgumentException malformedUtf8(int offset) {
+        return new IllegalArgumentException("malformed modified UTF-8 at " + offset);
+    }
+
+    public static final short byteArrayToShort(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getShort();
+    }
+
+    public static final int byteArrayToInt(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getInt();
+    }
+
+    public static final float byteArrayToFloat(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getFloat();
+    }
+
+    public static double byteArrayToDouble(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getDouble();
+    }
+
+    public static final long byteArrayToLong(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
@@ -0,0 +1,51 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * 类的泛型签名：类型参数、父类和接口，由 {@link SignatureParser#parseClass(String)} 生成，不可变。
+ */
+public class ClassSignature {
+    private final List<TypeSignature.TypeParameter> typeParameters;
+    private final TypeSignature superclass;
+    private final List<TypeSignature> interfaces;
+
+    public ClassSignature(List<TypeSignature.TypeParameter> typeParameters, TypeSignature superclass, List<TypeSignature> interfaces) {
+        this.typeParameters = ImmutableList.copyOf(typeParameters);
+        this.superclass = superclass;
+        this.interfaces = ImmutableList.copyOf(interfaces);
+    }
+
+    public List<TypeSignature.TypeParameter> getTypeParameters() {
+        return typeParameters;
+    }
+
+    public TypeSignature getSuperclass() {
+        return superclass;
+    }
+
+    public List<TypeSignature> getInterfaces() {
+        return interfaces;
+    }
+
+    public String typeParametersToString() {
+        StringBuilder sb = new StringBuilder();
+        TypeSignature.TypeParameter.appendList(sb, typeParameters);
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        TypeSignature.TypeParameter.appendList(sb, typeParameters);
+        sb.append(" extends ");
+        superclass.appendTo(sb);
+        if (!interfaces.isEmpty()) {
+            sb.append(" implements ");
+            TypeSignature.appendList(sb, interfaces);
+        }
+        return sb.toString();
+    }
+}
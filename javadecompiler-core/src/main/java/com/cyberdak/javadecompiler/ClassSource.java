@@ -0,0 +1,111 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 一组 class 文件：一个 jar，或者一个 classes 目录。
+ * 名称为内部类名（com/cyberdak/javadecompiler/App），按名称排序，read 可以被多个线程同时调用。
+ */
+public abstract class ClassSource implements Closeable {
+
+    public static ClassSource open(File file) throws IOException {
+        if (file.isDirectory()) {
+            return new DirectorySource(file);
+        }
+        return new JarSource(new JarFile(file));
+    }
+
+    public abstract List<String> getClassNames();
+
+    public abstract byte[] read(String className) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    private static class JarSource extends ClassSource {
+        private final JarFile jar;
+        private final List<String> names = Lists.newArrayList();
+
+        JarSource(JarFile jar) {
+            this.jar = jar;
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(".class")) {
+                    names.add(name.substring(0, name.length() - ".class".length()));
+                }
+            }
+            Collections.sort(names);
+        }
+
+        @Override
+        public List<String> getClassNames() {
+            return names;
+        }
+
+        @Override
+        public byte[] read(String className) throws IOException {
+            JarEntry entry = jar.getJarEntry(className + ".class");
+            if (entry == null) {
+                throw new IOException(className + " not found in " + jar.getName());
+            }
+            try (InputStream in = jar.getInputStream(entry)) {
+                return ByteStreams.toByteArray(in);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            jar.close();
+        }
+    }
+
+    private static class DirectorySource extends ClassSource {
+        private final File root;
+        private final List<String> names = Lists.newArrayList();
+
+        DirectorySource(File root) {
+            this.root = root;
+            collect(root, "");
+            Collections.sort(names);
+        }
+
+        private void collect(File dir, String prefix) {
+            File[] files = dir.listFiles();
+            if (files == null) {
+                return;
+            }
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    collect(file, prefix + file.getName() + "/");
+                } else if (file.getName().endsWith(".class")) {
+                    String name = file.getName();
+                    names.add(prefix + name.substring(0, name.length() - ".class".length()));
+                }
+            }
+        }
+
+        @Override
+        public List<String> getClassNames() {
+            return names;
+        }
+
+        @Override
+        public byte[] read(String className) throws IOException {
+            return Files.readAllBytes(new File(root, className + ".class").toPath());
+        }
+    }
+}
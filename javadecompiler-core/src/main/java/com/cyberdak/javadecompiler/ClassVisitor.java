@@ -0,0 +1,28 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.List;
+
+/**
+ * 由 {@link ClassParser#accept(ClassReader, ClassVisitor)} 驱动的类事件。
+ * 调用顺序：visit、visitField*、visitMethod*、visitAttribute*（类属性）、visitEnd。
+ */
+public abstract class ClassVisitor extends AttributeVisitor {
+
+    public void visit(int minorVersion, int majorVersion, ConstantPool pool, int accessFlags,
+                      String name, String superName, List<String> interfaces) {
+    }
+
+    /**
+     * @return 返回 null 时跳过该字段的所有属性
+     */
+    public FieldVisitor visitField(int accessFlags, String name, String descriptor) {
+        return null;
+    }
+
+    /**
+     * @return 返回 null 时跳过该方法的所有属性（包括 Code）
+     */
+    public MethodVisitor visitMethod(int accessFlags, String name, String descriptor) {
+        return null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Code 属性。字节码不复制，通过 reader 和 codeOffset 直接访问 class 文件中的 code[]。
+ * <p>
+ * 由 {@link ClassParser} 不带 ParseListener 解析时，异常表和内部属性（LineNumberTable、StackMapTable 等）
+ * 只记录位置，第一次访问时才解码，只看某一个方法时其他方法的方法体不会被解析。
+ */
+public class CodeAttribute extends Attributes {
+    private final ClassReader reader;
+    private final int maxStack;
+    private final int maxLocals;
+    private final int codeOffset;
+    private final int codeLength;
+    // 延迟解码时使用，已经解码时为 null
+    private final ConstantPool pool;
+    // 多个线程同时第一次访问时可能各解码一次，结果相同
+    private volatile Body body;
+
+    public CodeAttribute(int nameIndex, String name, int offset, int length, ClassReader reader,
+                         int maxStack, int maxLocals, int codeOffset, int codeLength,
+                         List<ExceptionHandler> exceptionTable, List<Attributes> attributes) {
+        super(nameIndex, name, offset, length);
+        this.reader = reader;
+        this.maxStack = maxStack;
+        this.maxLocals = maxLocals;
+        this.codeOffset = codeOffset;
+        this.codeLength = codeLength;
+        this.pool = null;
+        this.body = new Body(exceptionTable, attributes);
+    }
+
+    /**
+     * 延迟解码：异常表和内部属性在 code[] 之后，第一次访问时用 pool 解析。
+     */
+    public CodeAttribute(int nameIndex, String name, int offset, int length, ClassReader reader, ConstantPool pool,
+                         int maxStack, int maxLocals, int codeOffset, int codeLength) {
+        super(nameIndex, name, offset, length);
+        this.reader = reader;
+        this.maxStack = maxStack;
+        this.maxLocals = maxLocals;
+        this.codeOffset = codeOffset;
+        this.codeLength = codeLength;
+        this.pool = pool;
+    }
+
+    public ClassReader getReader() {
+        return reader;
+    }
+
+    public int getMaxStack() {
+        return maxStack;
+    }
+
+    public int getMaxLocals() {
+        return maxLocals;
+    }
+
+    public int getCodeOffset() {
+        return codeOffset;
+    }
+
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /**
+     * pc 处的无符号操作码。
+     */
+    public int getOpcode(int pc) {
+        return reader.readU1(codeOffset + pc);
+    }
+
+    /**
+     * 复制一份 code[]。
+     */
+    public byte[] getBytecode() {
+        byte[] code = new byte[codeLength];
+        for (int i = 0; i < codeLength; i++) {
+            code[i] = reader.readByte(codeOffset + i);
+        }
+        return code;
+    }
+
+    public List<ExceptionHandler> getExceptionTable() {
+        return body().exceptionTable;
+    }
+
+    public List<Attributes> getAttributes() {
+        return body().attributes;
+    }
+
+    public Attributes getAttribute(String name) {
+        return find(getAttributes(), name);
+    }
+
+    /**
+     * 异常表和内部属性是否已经解码。
+     */
+    boolean isDecoded() {
+        return body != null;
+    }
+
+    private Body body() {
+        Body result = body;
+        if (result == null) {
+            result = decode();
+            body = result;
+        }
+        return result;
+    }
+
+    private Body decode() {
+        // 用独立的 reader 顺序读取，不影响其他线程和解析器共用的 reader 的位置
+        ClassReader input = reader.duplicate();
+        input.position(codeOffset + codeLength);
+        int exceptionTableLength = input.u2();
+        List<ExceptionHandler> exceptionTable = Lists.newArrayListWithCapacity(exceptionTableLength);
+        for (int i = 0; i < exceptionTableLength; i++) {
+            int startPc = input.u2();
+            int endPc = input.u2();
+            int handlerPc = input.u2();
+            int catchType = input.u2();
+            exceptionTable.add(new ExceptionHandler(startPc, endPc, handlerPc, catchType == 0 ? null : pool.getString(catchType)));
+        }
+        int attributesCount = input.u2();
+        try {
+            return new Body(exceptionTable, new ClassParser(input, pool).parseAttributes(attributesCount));
+        } catch (Exception e) {
+            throw new IllegalStateException("bad Code attribute at " + getOffset(), e);
+        }
+    }
+
+    private static class Body {
+        final List<ExceptionHandler> exceptionTable;
+        final List<Attributes> attributes;
+
+        Body(List<ExceptionHandler> exceptionTable, List<Attributes> attributes) {
+            this.exceptionTable = ImmutableList.copyOf(exceptionTable);
+            this.attributes = ImmutableList.copyOf(attributes);
+        }
+    }
+
+    public LineNumberTable getLineNumberTable() {
+        return (LineNumberTable) getAttribute(Constants.LINE_NUMBER_TABLE);
+    }
+
+    public LocalVariableTable getLocalVariableTable() {
+        return (LocalVariableTable) getAttribute(Constants.LOCAL_VARIABLE_TABLE);
+    }
+
+    /**
+     * 版本 50 以前的 class 文件没有 StackMapTable，返回 null。
+     */
+    public StackMapTable getStackMapTable() {
+        return (StackMapTable) getAttribute(Constants.STACK_MAP_TABLE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * Created by 58 on 2016/12/27.
+ * 常量池中一项的只读视图，由 {@link ConstantPool#getConstant(int)} 返回。
+ */
+public class Constant {
+    private final int index;
+    private final int tag;
+    private final Object value;
+    private final int valueIndex;
+
+    public Constant(int index, int tag, Object value, int valueIndex) {
+        this.index = index;
+        this.tag = tag;
+        this.value = value;
+        this.valueIndex = valueIndex;
+    }
+
+    /**
+     * 引用类型常量所引用的第一个常量池索引，非引用类型为 0。
+     */
+    public int getValueIndex() {
+        return valueIndex;
+    }
+
+    public int getTag() {
+        return tag;
+    }
+
+    public String getType() {
+        return ConstantPool.getTagName(tag);
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + index + "\t=\t" + getType() + "\t" + value;
+    }
+}
@@ -0,0 +1,268 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * 常量池。
+ * 读取时只扫描一遍，记录每一项的 tag 和数据在 class 文件中的偏移，
+ * 具体的值在第一次访问时才解码/解析，并缓存起来。
+ */
+public class ConstantPool {
+    public static final int CONSTANT_UTF_8 = 1;
+    public static final int CONSTANT_INTEGER = 3;
+    public static final int CONSTANT_FLOAT = 4;
+    public static final int CONSTANT_LONG = 5;
+    public static final int CONSTANT_DOUBLE = 6;
+    public static final int CONSTANT_CLASS = 7;
+    public static final int CONSTANT_STRING = 8;
+    public static final int CONSTANT_FIELDREF = 9;
+    public static final int CONSTANT_METHODREF = 10;
+    public static final int CONSTANT_INTERFACE = 11;
+    public static final int CONSTANT_NAME_AND_TYPE = 12;
+    public static final int CONSTANT_METHOD_HANDLE = 15;
+    public static final int CONSTANT_METHOD_TYPE = 16;
+    public static final int CONSTANT_DYNAMIC = 17;
+    public static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    public static final int CONSTANT_MODULE = 19;
+    public static final int CONSTANT_PACKAGE = 20;
+
+    private static final String[] TAG_NAMES = new String[21];
+
+    static {
+        TAG_NAMES[CONSTANT_UTF_8] = "CONSTANT_UTF_8";
+        TAG_NAMES[CONSTANT_INTEGER] = "CONSTANT_INTEGER";
+        TAG_NAMES[CONSTANT_FLOAT] = "CONSTANT_FLOAT";
+        TAG_NAMES[CONSTANT_LONG] = "CONSTANT_LONG";
+        TAG_NAMES[CONSTANT_DOUBLE] = "CONSTANT_DOUBLE";
+        TAG_NAMES[CONSTANT_CLASS] = "CONSTANT_CLASS";
+        TAG_NAMES[CONSTANT_STRING] = "CONSTANT_STRING";
+        TAG_NAMES[CONSTANT_FIELDREF] = "CONSTANT_FIELDREF";
+        TAG_NAMES[CONSTANT_METHODREF] = "CONSTANT_METHODREF";
+        TAG_NAMES[CONSTANT_INTERFACE] = "CONSTANT_INTERFACE";
+        TAG_NAMES[CONSTANT_NAME_AND_TYPE] = "CONSTANT_NAME_AND_TYPE";
+        TAG_NAMES[CONSTANT_METHOD_HANDLE] = "CONSTANT_METHOD_HANDLE";
+        TAG_NAMES[CONSTANT_METHOD_TYPE] = "CONSTANT_METHOD_TYPE";
+        TAG_NAMES[CONSTANT_DYNAMIC] = "CONSTANT_DYNAMIC";
+        TAG_NAMES[CONSTANT_INVOKE_DYNAMIC] = "CONSTANT_INVOKE_DYNAMIC";
+        TAG_NAMES[CONSTANT_MODULE] = "CONSTANT_MODULE";
+        TAG_NAMES[CONSTANT_PACKAGE] = "CONSTANT_PACKAGE";
+    }
+
+    private final ClassReader reader;
+    private final int count;
+    private final byte[] tags;
+    // 每一项数据（tag 之后）的偏移
+    private final int[] offsets;
+    // 已解析的字符串，按常量池索引存放
+    private final String[] strings;
+    // 为 null 时每个类各自解码 UTF-8 字符串
+    private final StringInterner interner;
+
+    private ConstantPool(ClassReader reader, int count, StringInterner interner) {
+        this.reader = reader;
+        this.count = count;
+        this.interner = interner;
+        this.tags = new byte[count];
+        this.offsets = new int[count];
+        this.strings = new String[count];
+    }
+
+    /**
+     * 从 reader 当前位置（constant_pool_count）开始读取常量池，读完后 reader 停在常量池之后。
+     */
+    public static ConstantPool read(ClassReader reader) {
+        return read(reader, null);
+    }
+
+    /**
+     * @param interner UTF-8 字符串解码时经过它驻留，多个类共享相同的 String，为 null 时不驻留
+     */
+    public static ConstantPool read(ClassReader reader, StringInterner interner) {
+        int count = reader.u2();
+        ConstantPool pool = new ConstantPool(reader, count, interner);
+        // 常量池从1开始，索引0的位置为预留
+        for (int index = 1; index < count; index++) {
+            int tag = reader.u1();
+            pool.tags[index] = (byte) tag;
+            pool.offsets[index] = reader.position();
+            switch (tag) {
+                case CONSTANT_UTF_8:
+                    reader.skip(2 + reader.readU2(reader.position()));
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    reader.skip(2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    reader.skip(3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    reader.skip(4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    reader.skip(8);
+                    // long 和 double 占两个索引位置
+                    index++;
+                    break;
+                default:
+                    throw new IllegalArgumentException("constant_pool_tag is error.tag value is " + tag);
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * 估算常量池占用的内存：引用的 class 字节，tag/偏移/字符串引用三个数组，
+     * 以及全部字符串解码后的 char 数组（按 class 字节长度粗略估计）。
+     */
+    public int estimatedSize() {
+        return reader.length() * 2 + count * (1 + 4 + 4);
+    }
+
+    /**
+     * constant_pool_count，有效索引为 1 到 size() - 1。
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getTag(int index) {
+        return tags[index];
+    }
+
+    public int getOffset(int index) {
+        return offsets[index];
+    }
+
+    public static String getTagName(int tag) {
+        return tag > 0 && tag < TAG_NAMES.length ? TAG_NAMES[tag] : null;
+    }
+
+    /**
+     * 第 n 个 u2 引用，例如 CONSTANT_METHODREF 的 class_index(0) 和 name_and_type_index(1)。
+     */
+    public int getRef(int index, int n) {
+        int offset = offsets[index] + 2 * n;
+        if (tags[index] == CONSTANT_METHOD_HANDLE) {
+            // reference_kind 占一个字节
+            offset++;
+        }
+        return reader.readU2(offset);
+    }
+
+    /**
+     * CONSTANT_METHOD_HANDLE 的 reference_kind，1 到 9。
+     */
+    public int getReferenceKind(int index) {
+        return reader.readU1(offsets[index]);
+    }
+
+    public int getUtf8Length(int index) {
+        return reader.readU2(offsets[index]);
+    }
+
+    /**
+     * 常量的字符串形式，引用类型会被解析成所引用的字符串，例如 Methodref 为 "java/lang/Object:&lt;init&gt;:()V"。
+     */
+    public String getString(int index) {
+        if (index <= 0 || index >= count || tags[index] == 0) {
+            return null;
+        }
+        String value = strings[index];
+        if (value == null) {
+            value = resolve(index);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    public String getUtf8(int index) {
+        return getString(index);
+    }
+
+    public int getInt(int index) {
+        return reader.readInt(offsets[index]);
+    }
+
+    public float getFloat(int index) {
+        return reader.readFloat(offsets[index]);
+    }
+
+    public long getLong(int index) {
+        return reader.readLong(offsets[index]);
+    }
+
+    public double getDouble(int index) {
+        return reader.readDouble(offsets[index]);
+    }
+
+    private String resolve(int index) {
+        int tag = tags[index];
+        switch (tag) {
+            case CONSTANT_UTF_8:
+                if (interner != null) {
+                    return interner.intern(reader, offsets[index] + 2, getUtf8Length(index));
+                }
+                return reader.readUtf8(offsets[index] + 2, getUtf8Length(index));
+            case CONSTANT_INTEGER:
+                return String.valueOf(getInt(index));
+            case CONSTANT_FLOAT:
+                return String.valueOf(getFloat(index));
+            case CONSTANT_LONG:
+                return String.valueOf(getLong(index));
+            case CONSTANT_DOUBLE:
+                return String.valueOf(getDouble(index));
+            case CONSTANT_CLASS:
+            case CONSTANT_STRING:
+            case CONSTANT_METHOD_TYPE:
+            case CONSTANT_MODULE:
+            case CONSTANT_PACKAGE:
+            case CONSTANT_METHOD_HANDLE:
+                return getString(getRef(index, 0));
+            case CONSTANT_FIELDREF:
+            case CONSTANT_METHODREF:
+            case CONSTANT_INTERFACE:
+            case CONSTANT_NAME_AND_TYPE:
+                return getString(getRef(index, 0)) + ":" + getString(getRef(index, 1));
+            case CONSTANT_DYNAMIC:
+            case CONSTANT_INVOKE_DYNAMIC:
+                // bootstrap_method_attr_index 不在常量池中，只解析 name_and_type
+                return getString(getRef(index, 1));
+            default:
+                throw new IllegalArgumentException("constant_pool_tag is error.tag value is " + tag);
+        }
+    }
+
+    /**
+     * 常量的对象视图，数值类型会被装箱，解析器内部不走这里。
+     */
+    public Constant getConstant(int index) {
+        int tag = tags[index];
+        switch (tag) {
+            case CONSTANT_INTEGER:
+                return new Constant(index, tag, getInt(index), 0);
+            case CONSTANT_FLOAT:
+                return new Constant(index, tag, getFloat(index), 0);
+            case CONSTANT_LONG:
+                return new Constant(index, tag, getLong(index), 0);
+            case CONSTANT_DOUBLE:
+                return new Constant(index, tag, getDouble(index), 0);
+            case CONSTANT_UTF_8:
+                return new Constant(index, tag, getString(index), 0);
+            case CONSTANT_DYNAMIC:
+            case CONSTANT_INVOKE_DYNAMIC:
+                return new Constant(index, tag, getString(index), getRef(index, 1));
+            default:
+                return new Constant(index, tag, getString(index), getRef(index, 0));
+        }
+    }
+}
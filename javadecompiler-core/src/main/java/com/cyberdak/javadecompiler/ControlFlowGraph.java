@@ -0,0 +1,599 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Code 属性的控制流图：基本块、支配树和局部变量活跃性。
+ * 块按起始 pc 排序编号，0 号块为入口；边用 CSR（偏移数组 + 目标数组）存放在 int 数组里，
+ * 不为每个块、每条边创建对象，接近 64KB 的方法也只占几个数组。
+ * <p>
+ * 异常边从 try 范围内的每个块指向 handler 所在块，和普通边分开存放，支配树和活跃性都会考虑异常边。
+ * 创建后不再修改，可以被多个线程共享。
+ */
+public class ControlFlowGraph {
+    private static final int IINC = 0x84;
+    private static final int GOTO = 0xa7;
+    private static final int JSR = 0xa8;
+    private static final int RET = 0xa9;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int ATHROW = 0xbf;
+    private static final int WIDE = 0xc4;
+    private static final int IFNULL = 0xc6;
+    private static final int IFNONNULL = 0xc7;
+    private static final int GOTO_W = 0xc8;
+    private static final int JSR_W = 0xc9;
+
+    private final int codeLength;
+    // 块 i 的范围为 [starts[i], starts[i + 1])，最后一项为 codeLength
+    private final int[] starts;
+    private final int[] successorOffsets;
+    private final int[] successors;
+    private final int[] handlerOffsets;
+    private final int[] handlers;
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+    // 逆后序编号，不可达的块为 -1
+    private final int[] rpoNumbers;
+    private final int[] idoms;
+    // 支配树上的先序、后序编号，用于 O(1) 判断支配关系
+    private final int[] preorder;
+    private final int[] postorder;
+    private final BitSet[] liveIn;
+    private final BitSet[] liveOut;
+
+    private ControlFlowGraph(int codeLength, int[] starts, IntList successors, int[] successorOffsets,
+                             IntList handlers, int[] handlerOffsets) {
+        this.codeLength = codeLength;
+        this.starts = starts;
+        this.successorOffsets = successorOffsets;
+        this.successors = successors.toArray();
+        this.handlerOffsets = handlerOffsets;
+        this.handlers = handlers.toArray();
+        int blockCount = starts.length - 1;
+
+        // 前驱：先数入度再按偏移填充
+        predecessorOffsets = new int[blockCount + 1];
+        for (int edge : this.successors) {
+            predecessorOffsets[edge + 1]++;
+        }
+        for (int edge : this.handlers) {
+            predecessorOffsets[edge + 1]++;
+        }
+        for (int i = 0; i < blockCount; i++) {
+            predecessorOffsets[i + 1] += predecessorOffsets[i];
+        }
+        predecessors = new int[predecessorOffsets[blockCount]];
+        int[] fill = Arrays.copyOf(predecessorOffsets, blockCount);
+        for (int block = 0; block < blockCount; block++) {
+            for (int i = successorOffsets[block]; i < successorOffsets[block + 1]; i++) {
+                predecessors[fill[this.successors[i]]++] = block;
+            }
+            for (int i = handlerOffsets[block]; i < handlerOffsets[block + 1]; i++) {
+                predecessors[fill[this.handlers[i]]++] = block;
+            }
+        }
+
+        rpoNumbers = new int[blockCount];
+        int[] rpo = reversePostorder();
+        idoms = dominators(rpo);
+        preorder = new int[blockCount];
+        postorder = new int[blockCount];
+        numberDominatorTree();
+        liveIn = new BitSet[blockCount];
+        liveOut = new BitSet[blockCount];
+    }
+
+    /**
+     * 按 code[] 中的跳转指令和异常表划分基本块并计算支配树和活跃性。
+     */
+    public static ControlFlowGraph build(CodeAttribute code) {
+        ClassReader reader = code.getReader();
+        int codeOffset = code.getCodeOffset();
+        int codeLength = code.getCodeLength();
+        List<ExceptionHandler> exceptionTable = code.getExceptionTable();
+
+        BitSet instructions = new BitSet(codeLength);
+        BitSet leaders = new BitSet(codeLength + 1);
+        leaders.set(0);
+        IntList targets = new IntList(4);
+        for (int pc = 0; pc < codeLength; ) {
+            instructions.set(pc);
+            int next = pc + OpcodeParser.length(reader, codeOffset, pc);
+            targets.clear();
+            if (branchTargets(reader, codeOffset, pc, targets)) {
+                for (int i = 0; i < targets.size(); i++) {
+                    leaders.set(targets.get(i));
+                }
+                leaders.set(next);
+            }
+            pc = next;
+        }
+        for (ExceptionHandler handler : exceptionTable) {
+            leaders.set(handler.getStartPc());
+            leaders.set(handler.getEndPc());
+            leaders.set(handler.getHandlerPc());
+        }
+        leaders.clear(codeLength, leaders.length());
+
+        int blockCount = leaders.cardinality();
+        int[] starts = new int[blockCount + 1];
+        for (int pc = leaders.nextSetBit(0), i = 0; pc >= 0; pc = leaders.nextSetBit(pc + 1), i++) {
+            starts[i] = pc;
+        }
+        starts[blockCount] = codeLength;
+
+        IntList successors = new IntList(blockCount * 2);
+        int[] successorOffsets = new int[blockCount + 1];
+        IntList handlers = new IntList(exceptionTable.isEmpty() ? 0 : blockCount);
+        int[] handlerOffsets = new int[blockCount + 1];
+        for (int block = 0; block < blockCount; block++) {
+            int end = starts[block + 1];
+            int last = instructions.previousSetBit(end - 1);
+            targets.clear();
+            boolean branch = branchTargets(reader, codeOffset, last, targets);
+            for (int i = 0; i < targets.size(); i++) {
+                addUnique(successors, successorOffsets[block], blockAt(starts, targets.get(i)));
+            }
+            if ((!branch || fallsThrough(reader.readU1(codeOffset + last))) && end < codeLength) {
+                addUnique(successors, successorOffsets[block], block + 1);
+            }
+            successorOffsets[block + 1] = successors.size();
+
+            // 块不会跨越 try 范围的边界，判断起点即可
+            int start = starts[block];
+            for (ExceptionHandler handler : exceptionTable) {
+                if (start >= handler.getStartPc() && start < handler.getEndPc()) {
+                    addUnique(handlers, handlerOffsets[block], blockAt(starts, handler.getHandlerPc()));
+                }
+            }
+            handlerOffsets[block + 1] = handlers.size();
+        }
+
+        ControlFlowGraph graph = new ControlFlowGraph(codeLength, starts, successors, successorOffsets, handlers, handlerOffsets);
+        graph.computeLiveness(reader, codeOffset, code.getMaxLocals(), instructions);
+        return graph;
+    }
+
+    private static void addUnique(IntList list, int from, int value) {
+        for (int i = from; i < list.size(); i++) {
+            if (list.get(i) == value) {
+                return;
+            }
+        }
+        list.add(value);
+    }
+
+    private static int blockAt(int[] starts, int pc) {
+        int index = Arrays.binarySearch(starts, 0, starts.length - 1, pc);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * 把 pc 处指令的跳转目标加入 targets。
+     *
+     * @return 是否为结束基本块的指令（跳转、switch、返回、athrow、ret）
+     */
+    static boolean branchTargets(ClassReader reader, int codeOffset, int pc, IntList targets) {
+        int opcode = reader.readU1(codeOffset + pc);
+        if ((opcode >= 0x99 && opcode <= JSR) || opcode == IFNULL || opcode == IFNONNULL) {
+            targets.add(pc + reader.readShort(codeOffset + pc + 1));
+            return true;
+        }
+        switch (opcode) {
+            case GOTO_W:
+            case JSR_W:
+                targets.add(pc + reader.readInt(codeOffset + pc + 1));
+                return true;
+            case TABLESWITCH: {
+                int base = pc + 1 + OpcodeParser.padding(pc);
+                targets.add(pc + reader.readInt(codeOffset + base));
+                int low = reader.readInt(codeOffset + base + 4);
+                int high = reader.readInt(codeOffset + base + 8);
+                for (int i = 0; i <= high - low; i++) {
+                    targets.add(pc + reader.readInt(codeOffset + base + 12 + 4 * i));
+                }
+                return true;
+            }
+            case LOOKUPSWITCH: {
+                int base = pc + 1 + OpcodeParser.padding(pc);
+                targets.add(pc + reader.readInt(codeOffset + base));
+                int npairs = reader.readInt(codeOffset + base + 4);
+                for (int i = 0; i < npairs; i++) {
+                    targets.add(pc + reader.readInt(codeOffset + base + 12 + 8 * i));
+                }
+                return true;
+            }
+            case RET:
+            case ATHROW:
+                return true;
+            default:
+                // ireturn 到 return
+                return opcode >= 0xac && opcode <= 0xb1;
+        }
+    }
+
+    /**
+     * 条件跳转不成立时以及 jsr 返回后，会继续执行下一条指令。
+     */
+    private static boolean fallsThrough(int opcode) {
+        return (opcode >= 0x99 && opcode < GOTO) || opcode == JSR || opcode == IFNULL || opcode == IFNONNULL || opcode == JSR_W;
+    }
+
+    private int[] reversePostorder() {
+        int blockCount = getBlockCount();
+        Arrays.fill(rpoNumbers, -1);
+        int[] postorderBlocks = new int[blockCount];
+        int visited = 0;
+        // 显式栈：块号和下一个要访问的后继序号（普通后继在前，异常后继在后）
+        int[] stack = new int[blockCount];
+        int[] cursor = new int[blockCount];
+        BitSet seen = new BitSet(blockCount);
+        int top = 0;
+        stack[top] = 0;
+        cursor[top] = 0;
+        seen.set(0);
+        while (top >= 0) {
+            int block = stack[top];
+            int normal = successorOffsets[block + 1] - successorOffsets[block];
+            int total = normal + handlerOffsets[block + 1] - handlerOffsets[block];
+            if (cursor[top] < total) {
+                int i = cursor[top]++;
+                int next = i < normal ? successors[successorOffsets[block] + i] : handlers[handlerOffsets[block] + i - normal];
+                if (!seen.get(next)) {
+                    seen.set(next);
+                    top++;
+                    stack[top] = next;
+                    cursor[top] = 0;
+                }
+            } else {
+                postorderBlocks[visited++] = block;
+                top--;
+            }
+        }
+        int[] rpo = new int[visited];
+        for (int i = 0; i < visited; i++) {
+            rpo[i] = postorderBlocks[visited - 1 - i];
+            rpoNumbers[rpo[i]] = i;
+        }
+        return rpo;
+    }
+
+    /**
+     * Cooper, Harvey, Kennedy: A Simple, Fast Dominance Algorithm。
+     */
+    private int[] dominators(int[] rpo) {
+        int[] idom = new int[getBlockCount()];
+        Arrays.fill(idom, -1);
+        idom[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int r = 1; r < rpo.length; r++) {
+                int block = rpo[r];
+                int newIdom = -1;
+                for (int i = predecessorOffsets[block]; i < predecessorOffsets[block + 1]; i++) {
+                    int predecessor = predecessors[i];
+                    if (idom[predecessor] == -1) {
+                        continue;
+                    }
+                    newIdom = newIdom == -1 ? predecessor : intersect(idom, predecessor, newIdom);
+                }
+                if (idom[block] != newIdom) {
+                    idom[block] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+        return idom;
+    }
+
+    private int intersect(int[] idom, int a, int b) {
+        while (a != b) {
+            while (rpoNumbers[a] > rpoNumbers[b]) {
+                a = idom[a];
+            }
+            while (rpoNumbers[b] > rpoNumbers[a]) {
+                b = idom[b];
+            }
+        }
+        return a;
+    }
+
+    private void numberDominatorTree() {
+        int blockCount = getBlockCount();
+        Arrays.fill(preorder, -1);
+        Arrays.fill(postorder, -1);
+        // 支配树的孩子，同样用 CSR 存放
+        int[] childOffsets = new int[blockCount + 1];
+        for (int block = 1; block < blockCount; block++) {
+            if (idoms[block] >= 0) {
+                childOffsets[idoms[block] + 1]++;
+            }
+        }
+        for (int i = 0; i < blockCount; i++) {
+            childOffsets[i + 1] += childOffsets[i];
+        }
+        int[] children = new int[childOffsets[blockCount]];
+        int[] fill = Arrays.copyOf(childOffsets, blockCount);
+        for (int block = 1; block < blockCount; block++) {
+            if (idoms[block] >= 0) {
+                children[fill[idoms[block]]++] = block;
+            }
+        }
+        int[] stack = new int[blockCount];
+        int[] cursor = new int[blockCount];
+        int top = 0;
+        int pre = 0;
+        int post = 0;
+        stack[0] = 0;
+        preorder[0] = pre++;
+        while (top >= 0) {
+            int block = stack[top];
+            if (childOffsets[block] + cursor[top] < childOffsets[block + 1]) {
+                int child = children[childOffsets[block] + cursor[top]++];
+                top++;
+                stack[top] = child;
+                cursor[top] = 0;
+                preorder[child] = pre++;
+            } else {
+                postorder[block] = post++;
+                top--;
+            }
+        }
+    }
+
+    private void computeLiveness(ClassReader reader, int codeOffset, int maxLocals, BitSet instructions) {
+        int blockCount = getBlockCount();
+        BitSet[] use = new BitSet[blockCount];
+        BitSet[] def = new BitSet[blockCount];
+        for (int block = 0; block < blockCount; block++) {
+            use[block] = new BitSet(maxLocals);
+            def[block] = new BitSet(maxLocals);
+            for (int pc = starts[block]; pc >= 0 && pc < starts[block + 1]; pc = instructions.nextSetBit(pc + 1)) {
+                localAccess(reader, codeOffset, pc, use[block], def[block]);
+            }
+            liveIn[block] = new BitSet(maxLocals);
+            liveOut[block] = new BitSet(maxLocals);
+        }
+        // 后向数据流，按逆后序的倒序迭代收敛最快，不可达的块放在最后
+        int[] order = new int[blockCount];
+        int[] byRpo = new int[blockCount];
+        int reachable = 0;
+        for (int block = 0; block < blockCount; block++) {
+            if (rpoNumbers[block] >= 0) {
+                byRpo[rpoNumbers[block]] = block;
+                reachable++;
+            }
+        }
+        int n = 0;
+        for (int r = reachable - 1; r >= 0; r--) {
+            order[n++] = byRpo[r];
+        }
+        for (int block = 0; block < blockCount; block++) {
+            if (rpoNumbers[block] < 0) {
+                order[n++] = block;
+            }
+        }
+
+        BitSet scratch = new BitSet(maxLocals);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int block : order) {
+                BitSet out = liveOut[block];
+                for (int i = successorOffsets[block]; i < successorOffsets[block + 1]; i++) {
+                    out.or(liveIn[successors[i]]);
+                }
+                scratch.clear();
+                scratch.or(out);
+                scratch.andNot(def[block]);
+                scratch.or(use[block]);
+                // 异常可能在块中任意一条指令处抛出，handler 入口活跃的变量在整个块内都活跃
+                for (int i = handlerOffsets[block]; i < handlerOffsets[block + 1]; i++) {
+                    scratch.or(liveIn[handlers[i]]);
+                }
+                if (!scratch.equals(liveIn[block])) {
+                    liveIn[block].clear();
+                    liveIn[block].or(scratch);
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录 pc 处指令对局部变量的读（在本块中先写后读的不算）和写，long/double 占两个位置。
+     */
+    private static void localAccess(ClassReader reader, int codeOffset, int pc, BitSet use, BitSet def) {
+        int opcode = reader.readU1(codeOffset + pc);
+        int index;
+        if (opcode == WIDE) {
+            opcode = reader.readU1(codeOffset + pc + 1);
+            index = reader.readU2(codeOffset + pc + 2);
+        } else {
+            index = opcode == IINC || opcode == RET || (opcode >= 0x15 && opcode <= 0x19) || (opcode >= 0x36 && opcode <= 0x3a)
+                    ? reader.readU1(codeOffset + pc + 1) : -1;
+        }
+        if (opcode >= 0x15 && opcode <= 0x19) {
+            // iload lload fload dload aload
+            read(use, def, index, opcode == 0x16 || opcode == 0x18 ? 2 : 1);
+        } else if (opcode >= 0x1a && opcode <= 0x2d) {
+            // iload_0 到 aload_3，按 i l f d a 每种 4 个
+            int type = (opcode - 0x1a) / 4;
+            read(use, def, (opcode - 0x1a) % 4, type == 1 || type == 3 ? 2 : 1);
+        } else if (opcode >= 0x36 && opcode <= 0x3a) {
+            write(def, index, opcode == 0x37 || opcode == 0x39 ? 2 : 1);
+        } else if (opcode >= 0x3b && opcode <= 0x4e) {
+            int type = (opcode - 0x3b) / 4;
+            write(def, (opcode - 0x3b) % 4, type == 1 || type == 3 ? 2 : 1);
+        } else if (opcode == IINC) {
+            read(use, def, index, 1);
+            write(def, index, 1);
+        } else if (opcode == RET) {
+            read(use, def, index, 1);
+        }
+    }
+
+    private static void read(BitSet use, BitSet def, int index, int width) {
+        for (int i = index; i < index + width; i++) {
+            if (!def.get(i)) {
+                use.set(i);
+            }
+        }
+    }
+
+    private static void write(BitSet def, int index, int width) {
+        def.set(index, index + width);
+    }
+
+    public int getBlockCount() {
+        return starts.length - 1;
+    }
+
+    public int getBlockStart(int block) {
+        return starts[block];
+    }
+
+    /**
+     * 块结束位置（不包含）。
+     */
+    public int getBlockEnd(int block) {
+        return starts[block + 1];
+    }
+
+    /**
+     * pc 所在的块。
+     */
+    public int getBlockAt(int pc) {
+        if (pc < 0 || pc >= codeLength) {
+            throw new IndexOutOfBoundsException("pc " + pc + " out of code length " + codeLength);
+        }
+        return blockAt(starts, pc);
+    }
+
+    public int getSuccessorCount(int block) {
+        return successorOffsets[block + 1] - successorOffsets[block];
+    }
+
+    public int getSuccessor(int block, int i) {
+        return successors[successorOffsets[block] + i];
+    }
+
+    public int getHandlerCount(int block) {
+        return handlerOffsets[block + 1] - handlerOffsets[block];
+    }
+
+    /**
+     * 块的第 i 个异常后继（handler 所在的块），顺序与异常表一致。
+     */
+    public int getHandler(int block, int i) {
+        return handlers[handlerOffsets[block] + i];
+    }
+
+    /**
+     * 包含普通边和异常边。
+     */
+    public int getPredecessorCount(int block) {
+        return predecessorOffsets[block + 1] - predecessorOffsets[block];
+    }
+
+    public int getPredecessor(int block, int i) {
+        return predecessors[predecessorOffsets[block] + i];
+    }
+
+    public boolean isReachable(int block) {
+        return rpoNumbers[block] >= 0;
+    }
+
+    /**
+     * @return 直接支配者，入口块和不可达的块返回 -1
+     */
+    public int getImmediateDominator(int block) {
+        return block == 0 ? -1 : idoms[block];
+    }
+
+    /**
+     * a 是否支配 b（每个可达的块都支配自己）。
+     */
+    public boolean dominates(int a, int b) {
+        if (preorder[a] < 0 || preorder[b] < 0) {
+            return false;
+        }
+        return preorder[a] <= preorder[b] && postorder[b] <= postorder[a];
+    }
+
+    /**
+     * 回边：目标支配源的边，对应一个循环。
+     */
+    public boolean isBackEdge(int from, int to) {
+        return dominates(to, from);
+    }
+
+    /**
+     * 块入口处活跃的局部变量（按 slot 编号），返回副本。
+     */
+    public BitSet getLiveIn(int block) {
+        return (BitSet) liveIn[block].clone();
+    }
+
+    public BitSet getLiveOut(int block) {
+        return (BitSet) liveOut[block].clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int block = 0; block < getBlockCount(); block++) {
+            sb.append('B').append(block).append(" [").append(starts[block]).append(", ").append(starts[block + 1]).append(')');
+            sb.append(" ->");
+            for (int i = 0; i < getSuccessorCount(block); i++) {
+                sb.append(" B").append(getSuccessor(block, i));
+            }
+            for (int i = 0; i < getHandlerCount(block); i++) {
+                sb.append(" !B").append(getHandler(block, i));
+            }
+            sb.append(" idom ").append(getImmediateDominator(block));
+            sb.append(" in ").append(liveIn[block]).append(" out ").append(liveOut[block]);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 可增长的 int 数组，避免 List&lt;Integer&gt; 装箱。
+     */
+    static final class IntList {
+        private int[] values;
+        private int size;
+
+        IntList(int capacity) {
+            values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
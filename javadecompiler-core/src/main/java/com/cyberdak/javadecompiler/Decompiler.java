@@ -0,0 +1,414 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 把 {@link ClassFile} 还原成 java 源码形式的文本。
+ */
+public class Decompiler {
+    /**
+     * 输出格式的版本，反编译结果有任何变化时都要修改，{@link DiskCache} 用它区分旧版本缓存的结果。
+     */
+    public static final String VERSION = "6";
+
+    private static final String LINE = "\r\n";
+
+    private static final int[] CLASS_MASKS = {0x0001, 0x0400, 0x0010};
+    private static final String[] CLASS_MODIFIERS = {"public", "abstract", "final"};
+    private static final int[] FIELD_MASKS = {0x0001, 0x0002, 0x0004, 0x0008, 0x0010, 0x0040, 0x0080};
+    private static final String[] FIELD_MODIFIERS = {"public", "private", "protected", "static", "final", "volatile", "transient"};
+    private static final int[] METHOD_MASKS = {0x0001, 0x0002, 0x0004, 0x0400, 0x0008, 0x0010, 0x0020, 0x0100, 0x0800};
+    private static final String[] METHOD_MODIFIERS = {"public", "private", "protected", "abstract", "static", "final", "synchronized", "native", "strictfp"};
+
+    // 单个方法的反编译结果，按 MethodInfo 实例缓存，所在的 ClassFile 被回收后条目随之失效
+    private static final Cache<MethodInfo, String> METHODS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(4096)
+            .build();
+
+    // 方法个数达到这个值并且在 ForkJoinPool 中时，方法并行反编译
+    private static final int PARALLEL_METHODS = 32;
+    // 子任务中方法的字节码总长度不超过它时不再拆分
+    private static final int SEQUENTIAL_CODE_LENGTH = 4096;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+
+    public static String decompile(ClassFile classFile) {
+        Metrics metrics = Metrics.current();
+        long start = metrics == null ? 0 : System.nanoTime();
+        StringBuilder sb = new StringBuilder();
+        if (classFile.getSourceFile() != null) {
+            sb.append("// source : ").append(classFile.getSourceFile()).append(LINE);
+        }
+        for (Annotation annotation : classFile.getAnnotations()) {
+            sb.append(annotation).append(LINE);
+        }
+        int flags = classFile.getAccessFlags();
+        boolean isInterface = (flags & ACC_INTERFACE) != 0;
+        // 接口本身带 ACC_ABSTRACT，不需要再输出 abstract
+        sb.append(modifiers(isInterface ? flags & ~0x0400 : flags, CLASS_MASKS, CLASS_MODIFIERS));
+        if ((flags & ACC_ANNOTATION) != 0) {
+            sb.append("@interface ");
+        } else if (isInterface) {
+            sb.append("interface ");
+        } else if ((flags & ACC_ENUM) != 0) {
+            sb.append("enum ");
+        } else {
+            sb.append("class ");
+        }
+        sb.append(javaName(classFile.getName()));
+        ClassSignature signature = classSignature(classFile);
+        if (signature != null) {
+            sb.append(signature.typeParametersToString());
+            TypeSignature superclass = signature.getSuperclass();
+            if (!"Ljava/lang/Object;".equals(superclass.getDescriptor()) && !isInterface) {
+                sb.append(" extends ").append(superclass);
+            }
+            List<TypeSignature> interfaces = signature.getInterfaces();
+            for (int i = 0; i < interfaces.size(); i++) {
+                sb.append(i == 0 ? (isInterface ? " extends " : " implements ") : ", ").append(interfaces.get(i));
+            }
+        } else {
+            if (classFile.getSuperName() != null && !"java/lang/Object".equals(classFile.getSuperName())) {
+                sb.append(" extends ").append(javaName(classFile.getSuperName()));
+            }
+            List<String> interfaces = classFile.getInterfaces();
+            for (int i = 0; i < interfaces.size(); i++) {
+                sb.append(i == 0 ? (isInterface ? " extends " : " implements ") : ", ").append(javaName(interfaces.get(i)));
+            }
+        }
+        sb.append(" {").append(LINE);
+
+        for (FieldInfo field : classFile.getFields()) {
+            for (Annotation annotation : field.getAnnotations()) {
+                sb.append("    ").append(annotation).append(LINE);
+            }
+            sb.append("    ").append(modifiers(field.getAccessFlags(), FIELD_MASKS, FIELD_MODIFIERS))
+                    .append(fieldType(field)).append(' ').append(field.getName());
+            if (field.getConstantValue() != null) {
+                sb.append(" = ");
+                Expression.Literal.constant(field.getDescriptor(), field.getConstantValue()).appendTo(sb);
+            }
+            sb.append(';').append(LINE);
+        }
+        // 方法（代码模拟和方法文本）单独计时，其余都算作输出
+        List<MethodInfo> methods = classFile.getMethods();
+        String[] texts = new String[methods.size()];
+        long[] instructions = metrics == null ? null : new long[methods.size()];
+        long methodsStart = metrics == null ? 0 : System.nanoTime();
+        MethodsTask task = new MethodsTask(classFile, texts, instructions, 0, methods.size());
+        if (methods.size() >= PARALLEL_METHODS && ForkJoinTask.inForkJoinPool()) {
+            // 已经在 ForkJoinPool 中（例如 JarDecompiler 的任务），方法拆成子任务，空闲的线程会来窃取
+            task.invoke();
+        } else {
+            task.decompileMethods(0, methods.size());
+        }
+        long codeNanos = metrics == null ? 0 : System.nanoTime() - methodsStart;
+        for (String text : texts) {
+            sb.append(LINE).append(text).append(LINE);
+        }
+        sb.append('}').append(LINE);
+        String result = sb.toString();
+        if (metrics != null) {
+            long total = 0;
+            for (long count : instructions) {
+                total += count;
+            }
+            metrics.decompiled(classFile.getName(), (int) total, codeNanos, System.nanoTime() - start - codeNanos);
+        }
+        return result;
+    }
+
+    /**
+     * 在 pool 中反编译，方法多的类按方法拆成子任务并行，输出与 {@link #decompile(ClassFile)} 完全相同。
+     */
+    public static String decompile(final ClassFile classFile, ForkJoinPool pool) {
+        return pool.invoke(new RecursiveTask<String>() {
+            @Override
+            protected String compute() {
+                return decompile(classFile);
+            }
+        });
+    }
+
+    /**
+     * 只反编译一个方法，其他方法的方法体不会被解码。结果被缓存，同一个 ClassFile 上再次请求时直接返回。
+     *
+     * @param descriptor 为 null 时取第一个同名方法
+     * @return 没有这个方法时返回 null
+     */
+    public static String decompileMethod(final ClassFile classFile, String name, String descriptor) {
+        final MethodInfo methodInfo = classFile.getMethod(name, descriptor);
+        if (methodInfo == null) {
+            return null;
+        }
+        try {
+            return METHODS.get(methodInfo, new Callable<String>() {
+                @Override
+                public String call() {
+                    return toMethod(classFile, methodInfo).toString();
+                }
+            });
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw unchecked(e.getCause());
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable cause) {
+        Throwables.throwIfUnchecked(cause);
+        return new RuntimeException(cause);
+    }
+
+    public static Method toMethod(ClassFile classFile, MethodInfo methodInfo) {
+        Method method = new Method();
+        method.setFlag(modifiers(methodInfo.getAccessFlags(), METHOD_MASKS, METHOD_MODIFIERS).trim());
+        method.setName(methodInfo.getName());
+        MethodSignature descriptor = SignatureParser.parseMethod(methodInfo.getDescriptor());
+        MethodSignature generic = methodSignature(methodInfo);
+        // 内部类构造方法等的签名会省略编译器加入的参数，个数不一致时参数只能用描述符中的
+        List<TypeSignature> parameters = generic != null && generic.getParameters().size() == descriptor.getParameters().size()
+                ? generic.getParameters() : descriptor.getParameters();
+        List<String> params = Lists.newArrayListWithCapacity(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            StringBuilder param = new StringBuilder();
+            for (Annotation annotation : methodInfo.getParameterAnnotations(i)) {
+                annotation.appendTo(param);
+                param.append(' ');
+            }
+            params.add(param.append(parameters.get(i)).toString());
+        }
+        method.setAnnotations(annotations(methodInfo.getAnnotations()));
+        method.setEnterParam(params);
+        method.setParamNames(paramNames(methodInfo, descriptor));
+        if (generic != null) {
+            method.setTypeParameters(generic.typeParametersToString());
+        }
+        method.setReturnParam((generic != null ? generic : descriptor).getReturnType().toString());
+        // 签名中只有抛出类型变量等泛型异常时才会有 throws 部分，否则取 Exceptions 属性
+        List<String> exceptions = Lists.newArrayList();
+        if (generic != null && !generic.getExceptions().isEmpty()) {
+            for (TypeSignature exception : generic.getExceptions()) {
+                exceptions.add(exception.toString());
+            }
+        } else {
+            for (String exception : methodInfo.getExceptions()) {
+                exceptions.add(javaName(exception));
+            }
+        }
+        method.setExceptions(exceptions);
+        ElementValue defaultValue = methodInfo.getAnnotationDefault();
+        if (defaultValue != null) {
+            method.setDefaultValue(defaultValue.toString());
+        }
+        CodeAttribute code = methodInfo.getCode();
+        method.setCode(code == null ? "" : body(classFile, methodInfo));
+        return method;
+    }
+
+    /**
+     * 参数名，取自 LocalVariableTable；没有时与方法体中一样按 slot 命名为 var1、var2…。
+     */
+    private static List<String> paramNames(MethodInfo methodInfo, MethodSignature descriptor) {
+        CodeAttribute code = methodInfo.getCode();
+        LocalVariableTable table = code == null ? null : code.getLocalVariableTable();
+        List<String> names = Lists.newArrayListWithCapacity(descriptor.getParameters().size());
+        int slot = (methodInfo.getAccessFlags() & 0x0008) != 0 ? 0 : 1;
+        for (TypeSignature parameter : descriptor.getParameters()) {
+            LocalVariable variable = table == null ? null : table.getVariable(slot, 0);
+            names.add(variable != null ? variable.getName() : "var" + slot);
+            slot += parameter.isWide() ? 2 : 1;
+        }
+        return names;
+    }
+
+    /**
+     * 注解的源码形式，例如 @java.lang.Deprecated，按声明顺序。
+     */
+    private static List<String> annotations(List<Annotation> annotations) {
+        List<String> result = Lists.newArrayListWithCapacity(annotations.size());
+        for (Annotation annotation : annotations) {
+            result.add(annotation.toString());
+        }
+        return result;
+    }
+
+    /**
+     * 字段的类型，有泛型签名时用签名。
+     */
+    public static String fieldType(FieldInfo field) {
+        String signature = field.getSignature();
+        if (signature != null) {
+            try {
+                return SignatureParser.parseType(signature).toString();
+            } catch (IllegalArgumentException e) {
+                // 签名格式错误时退回到描述符
+            }
+        }
+        return SignatureParser.parseType(field.getDescriptor()).toString();
+    }
+
+    private static ClassSignature classSignature(ClassFile classFile) {
+        String signature = classFile.getSignature();
+        if (signature == null) {
+            return null;
+        }
+        try {
+            return SignatureParser.parseClass(signature);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static MethodSignature methodSignature(MethodInfo methodInfo) {
+        String signature = methodInfo.getSignature();
+        if (signature == null) {
+            return null;
+        }
+        try {
+            return SignatureParser.parseMethod(signature);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 通过栈模拟还原出的方法体，模拟失败时退回到按指令输出。
+     */
+    public static String body(ClassFile classFile, MethodInfo methodInfo) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (Statement statement : StackSimulator.simulate(classFile, methodInfo)) {
+                sb.append("        ");
+                statement.appendTo(sb);
+                sb.append(LINE);
+            }
+            return sb.toString();
+        } catch (RuntimeException e) {
+            return "        // stack simulation failed: " + e.getMessage() + LINE
+                    + code(classFile.getConstantPool(), methodInfo.getCode());
+        }
+    }
+
+    /**
+     * 按指令逐行输出方法体，常量池操作数解析成对应的字符串，跳转指令输出目标 pc。
+     */
+    public static String code(ConstantPool pool, CodeAttribute code) {
+        StringBuilder sb = new StringBuilder();
+        ClassReader reader = code.getReader();
+        int base = code.getCodeOffset();
+        for (int pc = 0; pc < code.getCodeLength(); pc += OpcodeParser.length(reader, base, pc)) {
+            int opcode = code.getOpcode(pc);
+            OpCode opCode = OpCode.of(opcode);
+            sb.append("        ").append(pc).append(": ").append(opCode.name().toLowerCase());
+            if (opcode == 0x12) {
+                // ldc
+                appendConstant(sb, pool, reader.readU1(base + pc + 1));
+            } else if (opcode == 0x13 || opcode == 0x14 || (opcode >= 0xb2 && opcode <= 0xbb)
+                    || opcode == 0xbd || opcode == 0xc0 || opcode == 0xc1 || opcode == 0xc5) {
+                appendConstant(sb, pool, reader.readU2(base + pc + 1));
+            } else if ((opcode >= 0x99 && opcode <= 0xa8) || opcode == 0xc6 || opcode == 0xc7) {
+                sb.append(' ').append(pc + reader.readShort(base + pc + 1));
+            } else if (opcode == 0xc8 || opcode == 0xc9) {
+                sb.append(' ').append(pc + reader.readInt(base + pc + 1));
+            } else if (opcode == 0x10) {
+                sb.append(' ').append(reader.readByte(base + pc + 1));
+            } else if (opcode == 0x11) {
+                sb.append(' ').append(reader.readShort(base + pc + 1));
+            } else if (opcode == 0x84) {
+                sb.append(' ').append(reader.readU1(base + pc + 1)).append(", ").append(reader.readByte(base + pc + 2));
+            } else if (opCode.getParamSize() == 1) {
+                sb.append(' ').append(reader.readU1(base + pc + 1));
+            }
+            sb.append(LINE);
+        }
+        return sb.toString();
+    }
+
+    private static void appendConstant(StringBuilder sb, ConstantPool pool, int index) {
+        sb.append(" #").append(index).append(" // ").append(pool.getString(index));
+    }
+
+    public static String modifiers(int flags, int[] masks, String[] names) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < masks.length; i++) {
+            if ((flags & masks[i]) != 0) {
+                sb.append(names[i]).append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    public static String javaName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    /**
+     * 反编译 [start, end) 范围内的方法，结果按方法下标写入 texts，拼接顺序与线程调度无关。
+     * 每个方法只读共享的 ClassFile，模拟器是每个线程一个，方法之间没有共享的可变状态。
+     */
+    private static class MethodsTask extends RecursiveAction {
+        private final ClassFile classFile;
+        private final String[] texts;
+        // 每个方法模拟的指令数，不统计时为 null
+        private final long[] instructions;
+        private final int start;
+        private final int end;
+
+        MethodsTask(ClassFile classFile, String[] texts, long[] instructions, int start, int end) {
+            this.classFile = classFile;
+            this.texts = texts;
+            this.instructions = instructions;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1 || codeLength() <= SEQUENTIAL_CODE_LENGTH) {
+                decompileMethods(start, end);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new MethodsTask(classFile, texts, instructions, start, middle),
+                    new MethodsTask(classFile, texts, instructions, middle, end));
+        }
+
+        private int codeLength() {
+            int length = 0;
+            for (int i = start; i < end; i++) {
+                CodeAttribute code = classFile.getMethods().get(i).getCode();
+                if (code != null) {
+                    length += code.getCodeLength();
+                }
+            }
+            return length;
+        }
+
+        void decompileMethods(int from, int to) {
+            List<MethodInfo> methods = classFile.getMethods();
+            for (int i = from; i < to; i++) {
+                long before = instructions == null ? 0 : StackSimulator.instructionCount();
+                texts[i] = toMethod(classFile, methods.get(i)).toString();
+                if (instructions != null) {
+                    instructions[i] = StackSimulator.instructionCount() - before;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,554 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.Lists;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 常驻的反编译服务，只监听 127.0.0.1，编辑器和构建插件通过它反编译，省去每次启动 JVM 和 JIT 预热的时间。
+ * 每个 jar 解析出的 {@link ClassFile}（{@link ClassFileCache}，带各自的字符串驻留表）以及 class 字节的反编译结果在请求之间共享。
+ * <p>
+ * 协议为大端序，字符串是 int 长度加 UTF-8 字节：
+ * <ul>
+ * <li>请求：int n，随后 n 项。每项先是一个字节的类型，{@link #CLASS_BYTES} 后跟 int 长度和 class 字节，
+ * {@link #JAR_CLASS} 后跟 jar（或 classes 目录）路径和内部类名</li>
+ * <li>响应：int n，随后 n 个字符串，顺序与请求相同，失败的项为 "// failed to decompile" 开头的错误信息</li>
+ * <li>n 为 {@link #STATS} 时返回一个 json 字符串的运行统计，为 {@link #SHUTDOWN} 时关闭服务</li>
+ * </ul>
+ * 一个连接可以连续发送多个批次，批次中的各项由 ForkJoinPool 并行处理。
+ */
+public class DecompilerDaemon implements Closeable {
+    public static final int CLASS_BYTES = 1;
+    public static final int JAR_CLASS = 2;
+    public static final int STATS = -1;
+    public static final int SHUTDOWN = -2;
+
+    // 单个字符串或 class 字节的上限，防止错误的长度让服务分配过大的数组
+    private static final int MAX_FRAME = 64 * 1024 * 1024;
+    private static final int MAX_BATCH = 65536;
+    private static final int MAX_JARS = 16;
+    private static final long JAR_CACHE_WEIGHT = 64L * 1024 * 1024;
+    private static final long OUTPUT_CACHE_CHARS = 32L * 1024 * 1024;
+
+    private final ServerSocket server;
+    private final ForkJoinPool workers;
+    private final ExecutorService connections;
+    // 按规范路径缓存打开的 jar，淘汰时关闭，它的解析结果和驻留的字符串随之释放
+    private final Cache<String, Jar> jars;
+    // class 字节请求的反编译结果，key 为 DiskCache.key
+    private final Cache<String, String> outputs;
+    private final Object jarLock = new Object();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    // 已经淘汰的 jar 的驻留表统计
+    private final AtomicLong retiredInternerHits = new AtomicLong();
+    private final AtomicLong retiredInternerSavedBytes = new AtomicLong();
+    private final Latency latency = new Latency();
+    private volatile boolean closed;
+
+    /**
+     * @param port 为 0 时由系统分配，用 {@link #getPort()} 取得
+     */
+    public DecompilerDaemon(int port, int parallelism) throws IOException {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.workers = new ForkJoinPool(parallelism);
+        this.connections = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "decompiler-daemon-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.jars = CacheBuilder.newBuilder()
+                .maximumSize(MAX_JARS)
+                .removalListener(new RemovalListener<String, Jar>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<String, Jar> notification) {
+                        // 正在读这个 jar 的请求会失败并返回错误信息，不影响其他请求
+                        Jar jar = notification.getValue();
+                        closeQuietly(jar.source);
+                        retiredInternerHits.addAndGet(jar.interner.getHitCount());
+                        retiredInternerSavedBytes.addAndGet(jar.interner.getSavedBytes());
+                        Metrics metrics = Metrics.current();
+                        if (metrics != null) {
+                            metrics.addInterner(jar.interner);
+                        }
+                    }
+                })
+                .build();
+        this.outputs = CacheBuilder.newBuilder()
+                .maximumWeight(OUTPUT_CACHE_CHARS)
+                .weigher(new Weigher<String, String>() {
+                    @Override
+                    public int weigh(String key, String output) {
+                        return output.length();
+                    }
+                })
+                .build();
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * 在后台线程中开始接受连接。
+     */
+    public void start() {
+        connections.execute(new Runnable() {
+            @Override
+            public void run() {
+                acceptLoop();
+            }
+        });
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            final Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                // close() 关闭 server 时 accept 抛出 SocketException
+                if (!closed) {
+                    System.err.println("accept failed : " + e);
+                }
+                continue;
+            }
+            connections.execute(new Runnable() {
+                @Override
+                public void run() {
+                    serve(socket);
+                }
+            });
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (!closed) {
+                int count;
+                try {
+                    count = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (count == STATS) {
+                    writeString(out, stats());
+                } else if (count == SHUTDOWN) {
+                    out.writeInt(0);
+                    out.flush();
+                    close();
+                    return;
+                } else if (count >= 0 && count <= MAX_BATCH) {
+                    batch(in, out, count);
+                } else {
+                    throw new IOException("bad batch size " + count);
+                }
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // 客户端断开
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("connection failed : " + e);
+            }
+        } finally {
+            closeQuietly(socket);
+        }
+    }
+
+    private void batch(DataInputStream in, DataOutputStream out, int count) throws IOException {
+        // 先读完整个批次再提交，各项并行处理，按请求顺序写回
+        List<ForkJoinTask<String>> tasks = Lists.newArrayListWithCapacity(count);
+        for (int i = 0; i < count; i++) {
+            int kind = in.readUnsignedByte();
+            final byte[] bytes;
+            final String jarPath;
+            final String className;
+            if (kind == CLASS_BYTES) {
+                bytes = readBytes(in);
+                jarPath = null;
+                className = null;
+            } else if (kind == JAR_CLASS) {
+                bytes = null;
+                jarPath = readString(in);
+                className = readString(in);
+            } else {
+                throw new IOException("bad request kind " + kind);
+            }
+            final long submitted = System.nanoTime();
+            tasks.add(workers.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    try {
+                        return decompile(bytes, jarPath, className);
+                    } finally {
+                        latency.record(System.nanoTime() - submitted);
+                    }
+                }
+            }));
+            updateMaxQueueDepth();
+        }
+        batches.incrementAndGet();
+        requests.addAndGet(count);
+        out.writeInt(count);
+        for (ForkJoinTask<String> task : tasks) {
+            String result;
+            try {
+                result = task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted");
+            } catch (ExecutionException e) {
+                errors.incrementAndGet();
+                result = failure("request", e.getCause());
+            }
+            writeString(out, result);
+        }
+    }
+
+    private void updateMaxQueueDepth() {
+        int depth = getQueueDepth();
+        int max = maxQueueDepth.get();
+        while (depth > max && !maxQueueDepth.compareAndSet(max, depth)) {
+            max = maxQueueDepth.get();
+        }
+    }
+
+    /**
+     * 已经提交但还没有开始处理的请求数。
+     */
+    public int getQueueDepth() {
+        return workers.getQueuedSubmissionCount();
+    }
+
+    String decompile(byte[] bytes, String jarPath, String className) {
+        try {
+            if (bytes != null) {
+                String key = DiskCache.key(bytes);
+                String cached = outputs.getIfPresent(key);
+                Metrics metrics = Metrics.current();
+                if (metrics != null) {
+                    metrics.add(cached != null ? Metrics.Counter.OUTPUT_CACHE_HITS : Metrics.Counter.OUTPUT_CACHE_MISSES, 1);
+                }
+                if (cached != null) {
+                    return cached;
+                }
+                // 只缓存反编译结果，解析结果用完就丢弃，不驻留字符串
+                String result = Decompiler.decompile(ClassParser.parse(ClassReader.wrap(bytes)));
+                outputs.put(key, result);
+                return result;
+            }
+            return Decompiler.decompile(jar(jarPath).models.get(className));
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            return failure(className != null ? className : "class bytes", e);
+        }
+    }
+
+    private static String failure(String name, Throwable e) {
+        StringWriter error = new StringWriter();
+        e.printStackTrace(new PrintWriter(error));
+        return "// failed to decompile " + name + "\r\n/*\r\n" + error + "*/\r\n";
+    }
+
+    /**
+     * 打开过的 jar 被修改（长度或修改时间变化）后重新打开，旧的解析结果一起丢弃。
+     */
+    private Jar jar(String path) throws IOException {
+        File file = new File(path).getCanonicalFile();
+        String key = file.getPath();
+        Jar jar = jars.getIfPresent(key);
+        if (jar != null && jar.isCurrent()) {
+            return jar;
+        }
+        synchronized (jarLock) {
+            jar = jars.getIfPresent(key);
+            if (jar == null || !jar.isCurrent()) {
+                jar = new Jar(file);
+                jars.put(key, jar);
+            }
+            return jar;
+        }
+    }
+
+    /**
+     * 运行统计，json 格式，延迟单位为微秒。驻留表的命中次数和省下的内存包括已经淘汰的 jar，字符串个数只算缓存中的 jar。
+     */
+    public String stats() {
+        long internedStrings = 0;
+        long internerHits = retiredInternerHits.get();
+        long internerSavedBytes = retiredInternerSavedBytes.get();
+        for (Jar jar : jars.asMap().values()) {
+            internedStrings += jar.interner.size();
+            internerHits += jar.interner.getHitCount();
+            internerSavedBytes += jar.interner.getSavedBytes();
+        }
+        return "{\"batches\":" + batches.get()
+                + ",\"requests\":" + requests.get()
+                + ",\"errors\":" + errors.get()
+                + ",\"queueDepth\":" + getQueueDepth()
+                + ",\"maxQueueDepth\":" + maxQueueDepth.get()
+                + ",\"latencyMicros\":" + latency.toJson()
+                + ",\"jars\":" + jars.size()
+                + ",\"cachedOutputs\":" + outputs.size()
+                + ",\"internedStrings\":" + internedStrings
+                + ",\"internerHits\":" + internerHits
+                + ",\"internerSavedBytes\":" + internerSavedBytes + "}";
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closeQuietly(server);
+        workers.shutdown();
+        connections.shutdown();
+        jars.invalidateAll();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // 忽略
+        }
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FRAME) {
+            throw new IOException("bad length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        DecompilerDaemon daemon = new DecompilerDaemon(port, threads);
+        daemon.start();
+        System.out.println("listening on 127.0.0.1:" + daemon.getPort());
+        while (!daemon.awaitTermination(1, TimeUnit.MINUTES)) {
+            // 直到收到 SHUTDOWN
+        }
+        System.err.println(daemon.stats());
+    }
+
+    private static class Jar {
+        final File file;
+        final long length;
+        final long modified;
+        final ClassSource source;
+        // 只被这个 jar 的解析结果引用，jar 淘汰或重新打开时一起丢弃
+        final StringInterner interner = new StringInterner();
+        final ClassFileCache models;
+
+        Jar(File file) throws IOException {
+            this.file = file;
+            this.length = file.length();
+            this.modified = file.lastModified();
+            this.source = ClassSource.open(file);
+            this.models = new ClassFileCache(source, JAR_CACHE_WEIGHT, interner);
+        }
+
+        boolean isCurrent() {
+            return file.length() == length && file.lastModified() == modified;
+        }
+    }
+
+    /**
+     * 请求从提交到完成的延迟，按微秒的 2 的幂分桶，百分位取所在桶的上界。
+     */
+    static class Latency {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(40);
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+            long micros = Math.max(1, nanos / 1000);
+            buckets.incrementAndGet(Math.min(buckets.length() - 1, 63 - Long.numberOfLeadingZeros(micros)));
+        }
+
+        long getCount() {
+            return count.get();
+        }
+
+        /**
+         * @param percent 例如 99 表示 p99
+         */
+        long percentileMicros(int percent) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long target = (total * percent + 99) / 100;
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return 1L << (i + 1);
+                }
+            }
+            return maxNanos.get() / 1000;
+        }
+
+        String toJson() {
+            long total = count.get();
+            return "{\"count\":" + total
+                    + ",\"mean\":" + (total == 0 ? 0 : totalNanos.get() / total / 1000)
+                    + ",\"p50\":" + percentileMicros(50)
+                    + ",\"p99\":" + percentileMicros(99)
+                    + ",\"max\":" + maxNanos.get() / 1000 + "}";
+        }
+    }
+
+    /**
+     * 连接服务的客户端，一个实例对应一个连接，不能被多个线程同时使用。
+     */
+    public static class Client implements Closeable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        public Client(int port) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        /**
+         * 一次发送一批请求，按请求顺序返回源码或错误信息。
+         */
+        public List<String> decompile(List<Request> requests) throws IOException {
+            out.writeInt(requests.size());
+            for (Request request : requests) {
+                if (request.bytes != null) {
+                    out.writeByte(CLASS_BYTES);
+                    writeBytes(out, request.bytes);
+                } else {
+                    out.writeByte(JAR_CLASS);
+                    writeString(out, request.jarPath);
+                    writeString(out, request.className);
+                }
+            }
+            out.flush();
+            int count = in.readInt();
+            List<String> results = Lists.newArrayListWithCapacity(count);
+            for (int i = 0; i < count; i++) {
+                results.add(readString(in));
+            }
+            return results;
+        }
+
+        public String stats() throws IOException {
+            out.writeInt(STATS);
+            out.flush();
+            return readString(in);
+        }
+
+        public void shutdown() throws IOException {
+            out.writeInt(SHUTDOWN);
+            out.flush();
+            in.readInt();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    public static class Request {
+        private final byte[] bytes;
+        private final String jarPath;
+        private final String className;
+
+        private Request(byte[] bytes, String jarPath, String className) {
+            this.bytes = bytes;
+            this.jarPath = jarPath;
+            this.className = className;
+        }
+
+        public static Request ofBytes(byte[] classBytes) {
+            return new Request(classBytes, null, null);
+        }
+
+        /**
+         * @param className 内部类名，例如 com/google/common/base/Strings
+         */
+        public static Request ofClass(String jarPath, String className) {
+            return new Request(null, jarPath, className);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 反编译结果的磁盘缓存，key 为 class 字节加上 {@link Decompiler#VERSION} 的 sha256，内容相同的类只反编译一次。
+ * 每个条目保存反编译输出和 class 字节，{@link ClassFile} 本身就是 class 字节上的视图，需要时由 {@link #getClassFile(String)} 重新建出。
+ * <p>
+ * 总大小超过 maxBytes 时按最近最少使用淘汰。使用时间记在文件的修改时间上，下次打开缓存目录时恢复 LRU 顺序。
+ * 多个线程可以同时读写。
+ */
+public class DiskCache {
+    private static final int MAGIC = 0x4a444331;
+    private static final String SUFFIX = ".jdc";
+
+    private final File dir;
+    private final long maxBytes;
+    // key -> 文件大小，按访问顺序排列，第一个为最久未使用
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DiskCache(File dir, long maxBytes) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("can not create cache dir " + dir);
+        }
+        load();
+    }
+
+    private void load() {
+        List<File> files = new ArrayList<File>();
+        File[] buckets = dir.listFiles();
+        if (buckets != null) {
+            for (File bucket : buckets) {
+                File[] children = bucket.isDirectory() ? bucket.listFiles() : null;
+                if (children == null) {
+                    continue;
+                }
+                for (File file : children) {
+                    if (file.getName().endsWith(SUFFIX)) {
+                        files.add(file);
+                    }
+                }
+            }
+        }
+        Collections.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        synchronized (this) {
+            for (File file : files) {
+                String name = file.getName();
+                entries.put(name.substring(0, name.length() - SUFFIX.length()), file.length());
+                totalBytes += file.length();
+            }
+            evict();
+        }
+    }
+
+    public static String key(byte[] classBytes) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putBytes(classBytes);
+        hasher.putString(Decompiler.VERSION, StandardCharsets.UTF_8);
+        return hasher.hash().toString();
+    }
+
+    private File file(String key) {
+        return new File(new File(dir, key.substring(0, 2)), key + SUFFIX);
+    }
+
+    /**
+     * @return 缓存的反编译输出，没有时返回 null
+     */
+    public String get(String key) {
+        Entry entry = read(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.output;
+    }
+
+    /**
+     * 从缓存的 class 字节建出 ClassFile，没有时返回 null。
+     */
+    public ClassFile getClassFile(String key) throws Exception {
+        Entry entry = read(key);
+        return entry == null ? null : ClassParser.parse(ClassReader.wrap(entry.classBytes));
+    }
+
+    private Entry read(String key) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                return null;
+            }
+        }
+        File file = file(key);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file.toPath()))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("bad cache entry " + file);
+            }
+            byte[] output = new byte[in.readInt()];
+            in.readFully(output);
+            byte[] classBytes = new byte[in.readInt()];
+            in.readFully(classBytes);
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(new String(output, StandardCharsets.UTF_8), classBytes);
+        } catch (IOException e) {
+            // 文件被删除或者损坏，当作没有缓存
+            remove(key);
+            return null;
+        }
+    }
+
+    public void put(String key, byte[] classBytes, String output) throws IOException {
+        byte[] text = output.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(12 + text.length + classBytes.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(text.length);
+        out.write(text);
+        out.writeInt(classBytes.length);
+        out.write(classBytes);
+        out.flush();
+
+        File file = file(key);
+        File bucket = file.getParentFile();
+        if (!bucket.isDirectory() && !bucket.mkdirs() && !bucket.isDirectory()) {
+            throw new IOException("can not create cache dir " + bucket);
+        }
+        // 先写临时文件再改名，其他线程或进程不会读到写了一半的条目
+        File tmp = File.createTempFile(key, ".tmp", bucket);
+        try {
+            Files.write(tmp.toPath(), bytes.toByteArray());
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp.toPath());
+        }
+        synchronized (this) {
+            Long old = entries.put(key, (long) bytes.size());
+            if (old != null) {
+                totalBytes -= old;
+            }
+            totalBytes += bytes.size();
+            evict();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            file(eldest.getKey()).delete();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    public synchronized int count() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DiskCache{dir=" + dir + ", entries=" + count() + ", bytes=" + size() + "/" + maxBytes
+                + ", hits=" + hitCount() + ", misses=" + missCount() + ", evictions=" + evictionCount() + "}";
+    }
+
+    private static class Entry {
+        final String output;
+        final byte[] classBytes;
+
+        Entry(String output, byte[] classBytes) {
+            this.output = output;
+            this.classBytes = classBytes;
+        }
+    }
+}
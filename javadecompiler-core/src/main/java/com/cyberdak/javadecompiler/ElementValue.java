@@ -0,0 +1,117 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * 注解元素的值（JVMS 4.7.16.1 element_value），不可变。
+ * tag 为 B C D F I J S Z s 时是常量，e 是枚举常量，c 是类字面量，@ 是嵌套注解，[ 是数组。
+ */
+public class ElementValue {
+    private final int tag;
+    // 常量为 Integer、Long、String 等包装类型，e 为常量名，c 为返回值描述符，@ 为 Annotation，[ 为 List<ElementValue>
+    private final Object value;
+    // 只有 e 使用：枚举类型的描述符
+    private final String enumType;
+
+    private ElementValue(int tag, Object value, String enumType) {
+        this.tag = tag;
+        this.value = value;
+        this.enumType = enumType;
+    }
+
+    public static ElementValue constant(int tag, Object value) {
+        return new ElementValue(tag, value, null);
+    }
+
+    public static ElementValue enumConstant(String type, String name) {
+        return new ElementValue('e', name, type);
+    }
+
+    public static ElementValue classValue(String descriptor) {
+        return new ElementValue('c', descriptor, null);
+    }
+
+    public static ElementValue annotation(Annotation annotation) {
+        return new ElementValue('@', annotation, null);
+    }
+
+    public static ElementValue array(List<ElementValue> values) {
+        return new ElementValue('[', ImmutableList.copyOf(values), null);
+    }
+
+    public int getTag() {
+        return tag;
+    }
+
+    /**
+     * 常量的值，例如 I 为 Integer，Z 为 Boolean，s 为 String；e 时为枚举常量名，c 时为类的描述符。
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    public String getEnumType() {
+        return enumType;
+    }
+
+    public Annotation getAnnotation() {
+        return (Annotation) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<ElementValue> getValues() {
+        return (List<ElementValue>) value;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    public void appendTo(StringBuilder sb) {
+        switch (tag) {
+            case 's':
+                sb.append(Expression.Literal.of((String) value));
+                break;
+            case 'C':
+                Expression.Literal.ofChar((Character) value).appendTo(sb);
+                break;
+            case 'J':
+                sb.append(value).append('L');
+                break;
+            case 'F':
+                Expression.Literal.ofFloat((Float) value).appendTo(sb);
+                break;
+            case 'D':
+                Expression.Literal.ofDouble((Double) value).appendTo(sb);
+                break;
+            case 'e':
+                sb.append(Expression.typeName(enumType)).append('.').append(value);
+                break;
+            case 'c':
+                sb.append(Expression.typeName((String) value)).append(".class");
+                break;
+            case '@':
+                ((Annotation) value).appendTo(sb);
+                break;
+            case '[':
+                List<ElementValue> values = getValues();
+                sb.append('{');
+                for (int i = 0; i < values.size(); i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    values.get(i).appendTo(sb);
+                }
+                sb.append('}');
+                break;
+            default:
+                // B I S Z
+                sb.append(value);
+        }
+    }
+}
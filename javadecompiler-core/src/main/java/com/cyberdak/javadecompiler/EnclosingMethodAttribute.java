@@ -0,0 +1,36 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * EnclosingMethod 属性，局部类和匿名类所在的类和方法。
+ * 不在方法中（例如在字段初始化中）时 methodName 和 methodDescriptor 为 null。
+ */
+public class EnclosingMethodAttribute extends Attributes {
+    private final String className;
+    private final String methodName;
+    private final String methodDescriptor;
+
+    public EnclosingMethodAttribute(int nameIndex, String name, int offset, int length,
+                                    String className, String methodName, String methodDescriptor) {
+        super(nameIndex, name, offset, length);
+        this.className = className;
+        this.methodName = methodName;
+        this.methodDescriptor = methodDescriptor;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getMethodDescriptor() {
+        return methodDescriptor;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " : " + className + "." + methodName + methodDescriptor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * Code 属性中 exception_table 的一项。
+ */
+public class ExceptionHandler {
+    private final int startPc;
+    private final int endPc;
+    private final int handlerPc;
+    // 为 null 表示捕获所有异常（finally）
+    private final String catchType;
+
+    public ExceptionHandler(int startPc, int endPc, int handlerPc, String catchType) {
+        this.startPc = startPc;
+        this.endPc = endPc;
+        this.handlerPc = handlerPc;
+        this.catchType = catchType;
+    }
+
+    public int getStartPc() {
+        return startPc;
+    }
+
+    public int getEndPc() {
+        return endPc;
+    }
+
+    public int getHandlerPc() {
+        return handlerPc;
+    }
+
+    public String getCatchType() {
+        return catchType;
+    }
+
+    @Override
+    public String toString() {
+        return "startPc:" + startPc + ",endPc:" + endPc + ",handlerPc:" + handlerPc + ",catchType:" + catchType;
+    }
+}
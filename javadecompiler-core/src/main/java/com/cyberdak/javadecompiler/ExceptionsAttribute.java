@@ -0,0 +1,26 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * 方法声明抛出的异常。
+ */
+public class ExceptionsAttribute extends Attributes {
+    private final List<String> exceptions;
+
+    public ExceptionsAttribute(int nameIndex, String name, int offset, int length, List<String> exceptions) {
+        super(nameIndex, name, offset, length);
+        this.exceptions = ImmutableList.copyOf(exceptions);
+    }
+
+    public List<String> getExceptions() {
+        return exceptions;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " : " + exceptions;
+    }
+}
@@ -0,0 +1,723 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link StackSimulator} 还原出的表达式树，创建后不再修改。
+ * type 为字段描述符形式的类型（I、J、Ljava/lang/Long; 等），未知时为 null。
+ */
+public abstract class Expression {
+    private static final Set<String> WRAPPERS = ImmutableSet.of("java/lang/Integer", "java/lang/Long", "java/lang/Short",
+            "java/lang/Byte", "java/lang/Character", "java/lang/Boolean", "java/lang/Float", "java/lang/Double");
+
+    private final String type;
+
+    protected Expression(String type) {
+        this.type = type;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * long 和 double 在操作数栈上占两个位置。
+     */
+    public boolean isWide() {
+        return "J".equals(type) || "D".equals(type);
+    }
+
+    public List<Expression> getChildren() {
+        return ImmutableList.of();
+    }
+
+    /**
+     * 表达式中是否读了第 index 个局部变量。
+     */
+    public boolean uses(int index) {
+        for (Expression child : getChildren()) {
+            if (child.uses(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否有副作用：方法调用和构造对象，从栈上丢弃时要保留成语句。
+     */
+    public boolean hasSideEffects() {
+        for (Expression child : getChildren()) {
+            if (child.hasSideEffects()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 复制到栈上多处时不需要先存到临时变量的表达式。
+     */
+    public boolean isSimple() {
+        return false;
+    }
+
+    public abstract void appendTo(StringBuilder sb);
+
+    /**
+     * 作为二元运算的操作数时，优先级较低的表达式需要加括号。
+     */
+    void appendOperand(StringBuilder sb) {
+        if (this instanceof Binary || this instanceof Cast || this instanceof InstanceOf) {
+            sb.append('(');
+            appendTo(sb);
+            sb.append(')');
+        } else {
+            appendTo(sb);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    /**
+     * 把描述符转成 java 源码中的类型名，例如 [Ljava/lang/String; 转成 java.lang.String[]。
+     */
+    public static String typeName(String descriptor) {
+        switch (descriptor.charAt(0)) {
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'D':
+                return "double";
+            case 'F':
+                return "float";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'S':
+                return "short";
+            case 'Z':
+                return "boolean";
+            case 'V':
+                return "void";
+            case 'L':
+                return Decompiler.javaName(descriptor.substring(1, descriptor.length() - 1));
+            case '[':
+                return typeName(descriptor.substring(1)) + "[]";
+            default:
+                throw new IllegalArgumentException("bad descriptor " + descriptor);
+        }
+    }
+
+    /**
+     * CONSTANT_Class 中的名称转成描述符：数组本身就是描述符，其余为内部类名。
+     */
+    public static String classDescriptor(String internalName) {
+        return internalName.startsWith("[") ? internalName : "L" + internalName + ";";
+    }
+
+    public static class Literal extends Expression {
+        private final String text;
+
+        public Literal(String type, String text) {
+            super(type);
+            this.text = text;
+        }
+
+        public static Literal of(String value) {
+            StringBuilder sb = new StringBuilder("\"");
+            for (int i = 0; i < value.length(); i++) {
+                appendEscaped(sb, value.charAt(i), '"');
+            }
+            return new Literal("Ljava/lang/String;", sb.append('"').toString());
+        }
+
+        public static Literal ofChar(char value) {
+            StringBuilder sb = new StringBuilder("'");
+            appendEscaped(sb, value, '\'');
+            return new Literal("C", sb.append('\'').toString());
+        }
+
+        public static Literal ofFloat(float value) {
+            String text = Float.isNaN(value) ? "Float.NaN" : Float.isInfinite(value)
+                    ? (value > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY") : value + "f";
+            return new Literal("F", text);
+        }
+
+        public static Literal ofDouble(double value) {
+            String text = Double.isNaN(value) ? "Double.NaN" : Double.isInfinite(value)
+                    ? (value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY") : String.valueOf(value);
+            return new Literal("D", text);
+        }
+
+        /**
+         * 字段 ConstantValue 属性的源码形式。value 是常量池中的文本，数值常量为 String.valueOf 的结果，
+         * boolean、char 在常量池中也是 int，按字段描述符还原。
+         */
+        public static Literal constant(String descriptor, String value) {
+            switch (descriptor.charAt(0)) {
+                case 'J':
+                    return new Literal(descriptor, value + "L");
+                case 'F':
+                    return ofFloat(Float.parseFloat(value));
+                case 'D':
+                    return ofDouble(Double.parseDouble(value));
+                case 'Z':
+                    return new Literal(descriptor, "0".equals(value) ? "false" : "true");
+                case 'C':
+                    return ofChar((char) Integer.parseInt(value));
+                case 'L':
+                    return of(value);
+                default:
+                    return new Literal(descriptor, value);
+            }
+        }
+
+        private static void appendEscaped(StringBuilder sb, char c, char quote) {
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c == quote) {
+                        sb.append('\\').append(c);
+                    } else if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+
+        @Override
+        public boolean isSimple() {
+            return true;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append(text);
+        }
+    }
+
+    public static class Local extends Expression {
+        private final int index;
+        private final String name;
+
+        public Local(String type, int index, String name) {
+            super(type);
+            this.index = index;
+            this.name = name;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean uses(int index) {
+            return this.index == index;
+        }
+
+        @Override
+        public boolean isSimple() {
+            return true;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append(name);
+        }
+    }
+
+    /**
+     * 分支汇合或 dup 时，栈上的值先存到的临时变量。
+     */
+    public static class StackVar extends Expression {
+        private final String name;
+        private final int slot;
+
+        public StackVar(String type, String name) {
+            this(type, name, -1);
+        }
+
+        /**
+         * @param slot 保存的栈位置，不是栈位置的临时变量为 -1
+         */
+        public StackVar(String type, String name, int slot) {
+            super(type);
+            this.name = name;
+            this.slot = slot;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        @Override
+        public boolean isSimple() {
+            return true;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append(name);
+        }
+    }
+
+    /**
+     * 异常处理器入口处栈上的异常对象。
+     */
+    public static class Caught extends Expression {
+
+        public Caught(String type) {
+            super(type);
+        }
+
+        @Override
+        public boolean isSimple() {
+            return true;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append("caughtException");
+        }
+    }
+
+    public static class Field extends Expression {
+        private final Expression target;
+        private final String owner;
+        private final String name;
+
+        /**
+         * @param target 静态字段为 null
+         */
+        public Field(Expression target, String owner, String name, String type) {
+            super(type);
+            this.target = target;
+            this.owner = owner;
+            this.name = name;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return target == null ? ImmutableList.<Expression>of() : ImmutableList.of(target);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            if (target == null) {
+                sb.append(Decompiler.javaName(owner));
+            } else {
+                target.appendOperand(sb);
+            }
+            sb.append('.').append(name);
+        }
+    }
+
+    public static class Invoke extends Expression {
+        private final Expression target;
+        private final String owner;
+        private final String name;
+        private final String descriptor;
+        private final List<Expression> arguments;
+        private final boolean special;
+        private final String currentClass;
+
+        /**
+         * @param target       静态方法和 invokedynamic 为 null
+         * @param special      invokespecial，构造方法调用输出为 super(...)/this(...)
+         * @param currentClass 当前类，用于区分 this(...) 和 super(...)
+         */
+        public Invoke(Expression target, String owner, String name, String descriptor, String returnType,
+                      List<Expression> arguments, boolean special, String currentClass) {
+            super(returnType);
+            this.target = target;
+            this.owner = owner;
+            this.name = name;
+            this.descriptor = descriptor;
+            this.arguments = ImmutableList.copyOf(arguments);
+            this.special = special;
+            this.currentClass = currentClass;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        public List<Expression> getArguments() {
+            return arguments;
+        }
+
+        /**
+         * javac 自动装箱生成的 Integer.valueOf(int) 等调用。
+         */
+        public boolean isBoxing() {
+            return target == null && "valueOf".equals(name) && WRAPPERS.contains(owner)
+                    && descriptor.length() == owner.length() + 5 && descriptor.charAt(1) != 'L' && descriptor.charAt(1) != '[';
+        }
+
+        /**
+         * javac 自动拆箱生成的 Long.longValue() 等调用。
+         */
+        public boolean isUnboxing() {
+            return target != null && WRAPPERS.contains(owner) && name.endsWith("Value") && descriptor.startsWith("()")
+                    && descriptor.length() == 3;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            if (target == null) {
+                return arguments;
+            }
+            return ImmutableList.<Expression>builder().add(target).addAll(arguments).build();
+        }
+
+        @Override
+        public boolean hasSideEffects() {
+            return true;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            if ("<init>".equals(name)) {
+                sb.append(owner.equals(currentClass) ? "this" : "super");
+            } else {
+                if (target == null) {
+                    sb.append(Decompiler.javaName(owner));
+                } else if (special && target instanceof Local && ((Local) target).getIndex() == 0 && !owner.equals(currentClass)) {
+                    // invokespecial 调用父类方法
+                    sb.append("super");
+                } else {
+                    target.appendOperand(sb);
+                }
+                sb.append('.').append(name);
+            }
+            appendArguments(sb, arguments);
+        }
+    }
+
+    static void appendArguments(StringBuilder sb, List<Expression> arguments) {
+        sb.append('(');
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            arguments.get(i).appendTo(sb);
+        }
+        sb.append(')');
+    }
+
+    /**
+     * new 指令之后、构造方法调用之前的对象。
+     */
+    public static class Uninitialized extends Expression {
+        private final String owner;
+
+        public Uninitialized(String owner) {
+            super("L" + owner + ";");
+            this.owner = owner;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSimple() {
+            return true;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append("new ").append(Decompiler.javaName(owner));
+        }
+    }
+
+    public static class New extends Expression {
+        private final String owner;
+        private final List<Expression> arguments;
+
+        public New(String owner, List<Expression> arguments) {
+            super("L" + owner + ";");
+            this.owner = owner;
+            this.arguments = ImmutableList.copyOf(arguments);
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return arguments;
+        }
+
+        @Override
+        public boolean hasSideEffects() {
+            return true;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append("new ").append(Decompiler.javaName(owner));
+            appendArguments(sb, arguments);
+        }
+    }
+
+    public static class NewArray extends Expression {
+        private final List<Expression> dimensions;
+
+        /**
+         * @param type 数组的描述符，维数可以多于 dimensions
+         */
+        public NewArray(String type, List<Expression> dimensions) {
+            super(type);
+            this.dimensions = ImmutableList.copyOf(dimensions);
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return dimensions;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            String element = getType();
+            while (element.startsWith("[")) {
+                element = element.substring(1);
+            }
+            sb.append("new ").append(typeName(element));
+            for (Expression dimension : dimensions) {
+                sb.append('[');
+                dimension.appendTo(sb);
+                sb.append(']');
+            }
+            for (int i = dimensions.size(); i < getType().lastIndexOf('[') + 1; i++) {
+                sb.append("[]");
+            }
+        }
+    }
+
+    public static class ArrayElement extends Expression {
+        private final Expression array;
+        private final Expression index;
+
+        public ArrayElement(String type, Expression array, Expression index) {
+            super(type);
+            this.array = array;
+            this.index = index;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return ImmutableList.of(array, index);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            array.appendOperand(sb);
+            sb.append('[');
+            index.appendTo(sb);
+            sb.append(']');
+        }
+    }
+
+    public static class ArrayLength extends Expression {
+        private final Expression array;
+
+        public ArrayLength(Expression array) {
+            super("I");
+            this.array = array;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return ImmutableList.of(array);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            array.appendOperand(sb);
+            sb.append(".length");
+        }
+    }
+
+    public static class Binary extends Expression {
+        private final String operator;
+        private final Expression left;
+        private final Expression right;
+
+        public Binary(String type, String operator, Expression left, Expression right) {
+            super(type);
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        public String getOperator() {
+            return operator;
+        }
+
+        public Expression getLeft() {
+            return left;
+        }
+
+        public Expression getRight() {
+            return right;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return ImmutableList.of(left, right);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            left.appendOperand(sb);
+            sb.append(' ').append(operator).append(' ');
+            right.appendOperand(sb);
+        }
+    }
+
+    /**
+     * lcmp、fcmpl 等比较指令的结果，只会被紧接着的 if 指令使用。
+     */
+    public static class Compare extends Expression {
+        private final Expression left;
+        private final Expression right;
+
+        public Compare(Expression left, Expression right) {
+            super("I");
+            this.left = left;
+            this.right = right;
+        }
+
+        public Expression getLeft() {
+            return left;
+        }
+
+        public Expression getRight() {
+            return right;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return ImmutableList.of(left, right);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append("compare(");
+            left.appendTo(sb);
+            sb.append(", ");
+            right.appendTo(sb);
+            sb.append(')');
+        }
+    }
+
+    public static class Unary extends Expression {
+        private final String operator;
+        private final Expression operand;
+
+        public Unary(String type, String operator, Expression operand) {
+            super(type);
+            this.operator = operator;
+            this.operand = operand;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return ImmutableList.of(operand);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append(operator);
+            operand.appendOperand(sb);
+        }
+    }
+
+    public static class Cast extends Expression {
+        private final Expression operand;
+
+        public Cast(String type, Expression operand) {
+            super(type);
+            this.operand = operand;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return ImmutableList.of(operand);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append('(').append(typeName(getType())).append(") ");
+            operand.appendOperand(sb);
+        }
+    }
+
+    public static class InstanceOf extends Expression {
+        private final Expression operand;
+        private final String className;
+
+        public InstanceOf(Expression operand, String className) {
+            super("Z");
+            this.operand = operand;
+            this.className = className;
+        }
+
+        @Override
+        public List<Expression> getChildren() {
+            return ImmutableList.of(operand);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            operand.appendOperand(sb);
+            sb.append(" instanceof ").append(typeName(classDescriptor(className)));
+        }
+    }
+}
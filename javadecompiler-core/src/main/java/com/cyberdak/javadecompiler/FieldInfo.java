@@ -0,0 +1,79 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * field_info。
+ */
+public class FieldInfo {
+    private final int accessFlags;
+    private final String name;
+    private final String descriptor;
+    private final List<Attributes> attributes;
+
+    public FieldInfo(int accessFlags, String name, String descriptor, List<Attributes> attributes) {
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.attributes = ImmutableList.copyOf(attributes);
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    public List<Attributes> getAttributes() {
+        return attributes;
+    }
+
+    public Attributes getAttribute(String name) {
+        return Attributes.find(attributes, name);
+    }
+
+    /**
+     * static final 字段的常量值（常量池中的字符串形式），没有时返回 null。
+     */
+    public String getConstantValue() {
+        ValueAttribute attribute = (ValueAttribute) getAttribute(Constants.CONSTANT_VALUE);
+        return attribute == null ? null : attribute.getValue();
+    }
+
+    /**
+     * Signature 属性中的泛型签名，没有时返回 null。
+     */
+    public String getSignature() {
+        ValueAttribute attribute = (ValueAttribute) getAttribute(Constants.SIGNATURE);
+        return attribute == null ? null : attribute.getValue();
+    }
+
+    /**
+     * RuntimeVisibleAnnotations 和 RuntimeInvisibleAnnotations 中的注解，访问时才解码。
+     */
+    public List<Annotation> getAnnotations() {
+        return AnnotationsAttribute.annotations(attributes);
+    }
+
+    /**
+     * 是否有某个类型的注解，不解码注解元素。
+     *
+     * @param type 描述符形式，例如 Ljava/lang/Deprecated;
+     */
+    public boolean isAnnotationPresent(String type) {
+        return AnnotationsAttribute.isPresent(attributes, type);
+    }
+
+    @Override
+    public String toString() {
+        return ClassParser.getFlags(accessFlags, ClassParser.fieldFlagMap) + " " + name + " " + descriptor;
+    }
+}
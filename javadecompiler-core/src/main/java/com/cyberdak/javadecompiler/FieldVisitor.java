@@ -0,0 +1,7 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * 字段事件，由 {@link ClassVisitor#visitField} 返回。
+ */
+public abstract class FieldVisitor extends AttributeVisitor {
+}
@@ -0,0 +1,39 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * InnerClasses 属性中的一项，outerClass 和 innerName 可能为 null（局部类、匿名类）。
+ */
+public class InnerClass {
+    private final String innerClass;
+    private final String outerClass;
+    private final String innerName;
+    private final int accessFlags;
+
+    public InnerClass(String innerClass, String outerClass, String innerName, int accessFlags) {
+        this.innerClass = innerClass;
+        this.outerClass = outerClass;
+        this.innerName = innerName;
+        this.accessFlags = accessFlags;
+    }
+
+    public String getInnerClass() {
+        return innerClass;
+    }
+
+    public String getOuterClass() {
+        return outerClass;
+    }
+
+    public String getInnerName() {
+        return innerName;
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    @Override
+    public String toString() {
+        return "innerClassInfo " + innerClass + ",outerClassInfo: " + outerClass + ",innerClassName :" + innerName;
+    }
+}
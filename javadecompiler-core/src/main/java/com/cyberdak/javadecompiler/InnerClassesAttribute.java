@@ -0,0 +1,21 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * InnerClasses 属性。
+ */
+public class InnerClassesAttribute extends Attributes {
+    private final List<InnerClass> classes;
+
+    public InnerClassesAttribute(int nameIndex, String name, int offset, int length, List<InnerClass> classes) {
+        super(nameIndex, name, offset, length);
+        this.classes = ImmutableList.copyOf(classes);
+    }
+
+    public List<InnerClass> getClasses() {
+        return classes;
+    }
+}
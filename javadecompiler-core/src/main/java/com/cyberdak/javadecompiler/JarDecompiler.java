@@ -0,0 +1,214 @@
+package com.cyberdak.javadecompiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 反编译整个 jar 或 classes 目录。
+ * 类按名称排序后分批（window）交给 ForkJoinPool，每批内部递归二分成子任务由工作线程互相窃取；
+ * 一批完成后按顺序写出再处理下一批，所以内存中最多只保留一批的结果，输出顺序与线程数无关。
+ * 方法很多的类（例如生成的解析器）在任务内部再按方法拆分，见 {@link Decompiler#decompile(ClassFile)}。
+ */
+public class JarDecompiler {
+    private static final int DEFAULT_WINDOW_PER_THREAD = 64;
+    // 单个任务处理的类个数阈值，小于等于它时不再拆分
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+    private static final long DEFAULT_CACHE_MB = 512;
+    // 设置后运行结束时把 Metrics 的汇总写到这个文件
+    private static final String METRICS_PROPERTY = "javadecompiler.metrics";
+    // 设置为 true 时驻留常量池字符串，运行结束时输出省下的内存
+    private static final String INTERN_PROPERTY = "javadecompiler.intern";
+
+    private final ForkJoinPool pool;
+    private final int windowSize;
+    private final DiskCache cache;
+    // 为 null 时不驻留：每个类反编译完就丢弃，驻留只会让字符串一直留在堆上
+    private final StringInterner interner;
+
+    public JarDecompiler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public JarDecompiler(int parallelism) {
+        this(new ForkJoinPool(parallelism), parallelism * DEFAULT_WINDOW_PER_THREAD);
+    }
+
+    public JarDecompiler(ForkJoinPool pool, int windowSize) {
+        this(pool, windowSize, null);
+    }
+
+    /**
+     * @param cache 反编译结果的磁盘缓存，为 null 时不使用缓存
+     */
+    public JarDecompiler(ForkJoinPool pool, int windowSize, DiskCache cache) {
+        this(pool, windowSize, cache, null);
+    }
+
+    /**
+     * @param interner 常量池字符串的驻留表，为 null 时不驻留，只有调用方还要保留解析结果时才有意义
+     */
+    public JarDecompiler(ForkJoinPool pool, int windowSize, DiskCache cache, StringInterner interner) {
+        this.pool = pool;
+        this.windowSize = windowSize;
+        this.cache = cache;
+        this.interner = interner;
+    }
+
+    public void decompile(File file, Writer out) throws IOException {
+        try (ClassSource source = ClassSource.open(file)) {
+            decompile(source, out);
+        }
+    }
+
+    public void decompile(ClassSource source, Writer out) throws IOException {
+        List<String> names = source.getClassNames();
+        for (int start = 0; start < names.size(); start += windowSize) {
+            int end = Math.min(names.size(), start + windowSize);
+            String[] results = new String[end - start];
+            pool.invoke(new DecompileTask(source, cache, interner, names, start, end, start, results));
+            for (String result : results) {
+                out.write(result);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * @return 没有驻留时为 null
+     */
+    public StringInterner getInterner() {
+        return interner;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 反编译单个类，失败时输出错误信息而不是中断整个 jar。
+     */
+    public static String decompileClass(ClassSource source, String name) {
+        return decompileClass(source, name, null, null);
+    }
+
+    /**
+     * 先按 class 字节查缓存，命中时不再解析。
+     *
+     * @param interner 常量池字符串的驻留表，为 null 时不驻留
+     */
+    public static String decompileClass(ClassSource source, String name, DiskCache cache, StringInterner interner) {
+        try {
+            byte[] bytes = source.read(name);
+            String key = null;
+            if (cache != null) {
+                key = DiskCache.key(bytes);
+                String cached = cache.get(key);
+                Metrics metrics = Metrics.current();
+                if (metrics != null) {
+                    metrics.add(cached != null ? Metrics.Counter.DISK_CACHE_HITS : Metrics.Counter.DISK_CACHE_MISSES, 1);
+                }
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            ClassFile classFile = ClassParser.parse(ClassReader.wrap(bytes), interner);
+            String result = Decompiler.decompile(classFile);
+            if (cache != null) {
+                cache.put(key, bytes, result);
+            }
+            return result;
+        } catch (Exception e) {
+            StringWriter error = new StringWriter();
+            e.printStackTrace(new PrintWriter(error));
+            return "// failed to decompile " + name + "\r\n/*\r\n" + error + "*/\r\n";
+        }
+    }
+
+    private static class DecompileTask extends RecursiveAction {
+        private final ClassSource source;
+        private final DiskCache cache;
+        private final StringInterner interner;
+        private final List<String> names;
+        private final int start;
+        private final int end;
+        private final int base;
+        private final String[] results;
+
+        DecompileTask(ClassSource source, DiskCache cache, StringInterner interner, List<String> names,
+                      int start, int end, int base, String[] results) {
+            this.source = source;
+            this.cache = cache;
+            this.interner = interner;
+            this.names = names;
+            this.start = start;
+            this.end = end;
+            this.base = base;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    results[i - base] = decompileClass(source, names.get(i), cache, interner);
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new DecompileTask(source, cache, interner, names, start, middle, base, results),
+                    new DecompileTask(source, cache, interner, names, middle, end, base, results));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: JarDecompiler <jar|classes dir> [threads] [cache dir] [cache size MB]");
+            System.err.println("  -D" + METRICS_PROPERTY + "=<file> writes per-phase metrics as json after the run");
+            System.err.println("  -D" + INTERN_PROPERTY + "=true interns constant-pool strings and reports the memory saved");
+            return;
+        }
+        String metricsFile = System.getProperty(METRICS_PROPERTY);
+        if (metricsFile != null) {
+            Metrics.enable();
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        DiskCache cache = null;
+        if (args.length > 2) {
+            long maxBytes = (args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_CACHE_MB) * 1024 * 1024;
+            cache = new DiskCache(new File(args[2]), maxBytes);
+        }
+        StringInterner interner = Boolean.getBoolean(INTERN_PROPERTY) ? new StringInterner() : null;
+        JarDecompiler decompiler = new JarDecompiler(new ForkJoinPool(threads), threads * DEFAULT_WINDOW_PER_THREAD, cache, interner);
+        Writer out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        try {
+            decompiler.decompile(new File(args[0]), out);
+        } finally {
+            out.flush();
+            decompiler.shutdown();
+            if (cache != null) {
+                System.err.println(cache);
+            }
+            if (interner != null) {
+                System.err.println(interner);
+            }
+            Metrics metrics = Metrics.disable();
+            if (metrics != null) {
+                if (interner != null) {
+                    metrics.addInterner(interner);
+                }
+                Files.write(Paths.get(metricsFile), metrics.toJson().getBytes(StandardCharsets.UTF_8));
+                System.err.print(metrics);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cyberdak.javadecompiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 把 {@link Metrics} 的每类汇总作为 JFR 事件提交，只由 Metrics 通过反射加载。
+ * 录制时开启 com.cyberdak.javadecompiler.* 事件即可，例如
+ * java -XX:StartFlightRecording=filename=decompile.jfr ... 然后 jfr print --events ClassParse decompile.jfr。
+ */
+class JfrMetricsSink implements Metrics.Sink {
+
+    @Name("com.cyberdak.javadecompiler.ClassParse")
+    @Label("Class Parse")
+    @Category("Java Decompiler")
+    @Description("一个 class 文件各解析阶段的耗时")
+    @StackTrace(false)
+    static class ClassParseEvent extends Event {
+        @Label("Class")
+        String className;
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+        @Label("Header")
+        @Description("magic、version、访问标记、当前类、父类和接口")
+        @Timespan(Timespan.NANOSECONDS)
+        long header;
+        @Label("Constant Pool")
+        @Timespan(Timespan.NANOSECONDS)
+        long constantPool;
+        @Label("Fields")
+        @Timespan(Timespan.NANOSECONDS)
+        long fields;
+        @Label("Methods")
+        @Timespan(Timespan.NANOSECONDS)
+        long methods;
+        @Label("Class Attributes")
+        @Timespan(Timespan.NANOSECONDS)
+        long classAttributes;
+    }
+
+    @Name("com.cyberdak.javadecompiler.ClassDecompile")
+    @Label("Class Decompile")
+    @Category("Java Decompiler")
+    @Description("一个类的代码模拟和输出耗时")
+    @StackTrace(false)
+    static class ClassDecompileEvent extends Event {
+        @Label("Class")
+        String className;
+        @Label("Instructions")
+        long instructions;
+        @Label("Code")
+        @Timespan(Timespan.NANOSECONDS)
+        long code;
+        @Label("Output")
+        @Timespan(Timespan.NANOSECONDS)
+        long output;
+    }
+
+    @Override
+    public void parsed(String className, int bytes, long[] phaseNanos) {
+        ClassParseEvent event = new ClassParseEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.className = className;
+        event.bytes = bytes;
+        event.header = phaseNanos[Metrics.Phase.MAGIC.ordinal()] + phaseNanos[Metrics.Phase.VERSION.ordinal()]
+                + phaseNanos[Metrics.Phase.ACCESS_FLAGS.ordinal()] + phaseNanos[Metrics.Phase.CLASS_INFO.ordinal()];
+        event.constantPool = phaseNanos[Metrics.Phase.CONSTANT_POOL.ordinal()];
+        event.fields = phaseNanos[Metrics.Phase.FIELDS.ordinal()];
+        event.methods = phaseNanos[Metrics.Phase.METHODS.ordinal()];
+        event.classAttributes = phaseNanos[Metrics.Phase.CLASS_ATTRIBUTES.ordinal()];
+        event.commit();
+    }
+
+    @Override
+    public void decompiled(String className, int instructions, long codeNanos, long outputNanos) {
+        ClassDecompileEvent event = new ClassDecompileEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.className = className;
+        event.instructions = instructions;
+        event.code = codeNanos;
+        event.output = outputNanos;
+        event.commit();
+    }
+}
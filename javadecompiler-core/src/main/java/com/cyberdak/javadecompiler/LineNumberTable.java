@@ -0,0 +1,42 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * LineNumberTable 属性，startPc 和 lineNumber 分别存放在两个 int 数组里。
+ */
+public class LineNumberTable extends Attributes {
+    private final int[] startPcs;
+    private final int[] lineNumbers;
+
+    public LineNumberTable(int nameIndex, String name, int offset, int length, int[] startPcs, int[] lineNumbers) {
+        super(nameIndex, name, offset, length);
+        this.startPcs = startPcs;
+        this.lineNumbers = lineNumbers;
+    }
+
+    public int size() {
+        return startPcs.length;
+    }
+
+    public int getStartPc(int i) {
+        return startPcs[i];
+    }
+
+    public int getLineNumber(int i) {
+        return lineNumbers[i];
+    }
+
+    /**
+     * pc 所在的源码行号，找不到时返回 -1。
+     */
+    public int getLineNumberAt(int pc) {
+        int line = -1;
+        int bestPc = -1;
+        for (int i = 0; i < startPcs.length; i++) {
+            if (startPcs[i] <= pc && startPcs[i] > bestPc) {
+                bestPc = startPcs[i];
+                line = lineNumbers[i];
+            }
+        }
+        return line;
+    }
+}
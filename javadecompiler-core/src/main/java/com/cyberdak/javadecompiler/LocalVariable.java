@@ -0,0 +1,46 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * LocalVariableTable / LocalVariableTypeTable 中的一项。
+ * 对 LocalVariableTypeTable 来说 descriptor 是泛型签名。
+ */
+public class LocalVariable {
+    private final int startPc;
+    private final int length;
+    private final String name;
+    private final String descriptor;
+    private final int index;
+
+    public LocalVariable(int startPc, int length, String name, String descriptor, int index) {
+        this.startPc = startPc;
+        this.length = length;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.index = index;
+    }
+
+    public int getStartPc() {
+        return startPc;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "startPc:" + startPc + ",length:" + length + ",name:" + name + ",descriptor:" + descriptor + ",index:" + index;
+    }
+}
@@ -0,0 +1,33 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * LocalVariableTable 和 LocalVariableTypeTable 属性。
+ */
+public class LocalVariableTable extends Attributes {
+    private final List<LocalVariable> variables;
+
+    public LocalVariableTable(int nameIndex, String name, int offset, int length, List<LocalVariable> variables) {
+        super(nameIndex, name, offset, length);
+        this.variables = ImmutableList.copyOf(variables);
+    }
+
+    public List<LocalVariable> getVariables() {
+        return variables;
+    }
+
+    /**
+     * 在 pc 处有效的第 index 个局部变量，没有时返回 null。
+     */
+    public LocalVariable getVariable(int index, int pc) {
+        for (LocalVariable variable : variables) {
+            if (variable.getIndex() == index && pc >= variable.getStartPc() && pc < variable.getStartPc() + variable.getLength()) {
+                return variable;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.base.Joiner;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created by 58 on 2017/1/4.
+ */
+public class Method {
+    private List<String> annotations = Collections.emptyList();
+    private String flag;
+    private String name;
+    private String typeParameters = "";
+    private String returnParam;
+    private List<String> enterParam;
+    private List<String> paramNames;
+    private List<String> exceptions;
+    private String defaultValue;
+    private String code;
+
+    /**
+     * 方法上的注解，源码形式，每个一行输出在方法头之前。
+     */
+    public List<String> getAnnotations() {
+        return annotations;
+    }
+
+    public void setAnnotations(List<String> annotations) {
+        this.annotations = annotations;
+    }
+
+    public String getFlag() {
+        return flag;
+    }
+
+    public void setFlag(String flag) {
+        this.flag = flag;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 方法的类型参数，例如 &lt;T&gt;，没有时为空字符串。
+     */
+    public String getTypeParameters() {
+        return typeParameters;
+    }
+
+    public void setTypeParameters(String typeParameters) {
+        this.typeParameters = typeParameters;
+    }
+
+    public String getReturnParam() {
+        return returnParam;
+    }
+
+    public void setReturnParam(String returnParam) {
+        this.returnParam = returnParam;
+    }
+
+    /**
+     * 参数类型，参数有注解时注解在类型之前，例如 "@javax.annotation.Nullable java.lang.String"。
+     */
+    public List<String> getEnterParam() {
+        return enterParam;
+    }
+
+    public void setEnterParam(List<String> enterParam) {
+        this.enterParam = enterParam;
+    }
+
+    /**
+     * 参数名，与 enterParam 一一对应；为 null 时只输出类型。
+     */
+    public List<String> getParamNames() {
+        return paramNames;
+    }
+
+    public void setParamNames(List<String> paramNames) {
+        this.paramNames = paramNames;
+    }
+
+    public List<String> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(List<String> exceptions) {
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * 注解类型中元素的默认值，源码形式，没有时为 null。
+     */
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public void setDefaultValue(String defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (String annotation : annotations) {
+            sb.append(annotation).append("\r\n");
+        }
+        if (flag != null && !flag.isEmpty()) {
+            sb.append(flag).append(' ');
+        }
+        if (!typeParameters.isEmpty()) {
+            sb.append(typeParameters).append(' ');
+        }
+        sb.append(returnParam).append(' ').append(name).append('(');
+        for (int i = 0; i < enterParam.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(enterParam.get(i));
+            if (paramNames != null) {
+                sb.append(' ').append(paramNames.get(i));
+            }
+        }
+        sb.append(')');
+        if (exceptions != null && !exceptions.isEmpty()) {
+            sb.append(" throws ");
+            Joiner.on(", ").appendTo(sb, exceptions);
+        }
+        if (defaultValue != null) {
+            sb.append(" default ").append(defaultValue);
+        }
+        return sb.append("{\r\n").append(code).append('}').toString();
+    }
+
+    /**
+     * 方法描述符或签名中的参数列表，源码形式，例如 (ILjava/lang/String;)V 为 "int, java.lang.String"。
+     */
+    public static String translateParam(String desc) {
+        return Joiner.on(", ").join(SignatureParser.parseMethod(desc).getParameters());
+    }
+
+}
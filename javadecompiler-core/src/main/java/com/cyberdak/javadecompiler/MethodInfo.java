@@ -0,0 +1,107 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * method_info。
+ */
+public class MethodInfo {
+    private final int accessFlags;
+    private final String name;
+    private final String descriptor;
+    private final List<Attributes> attributes;
+
+    public MethodInfo(int accessFlags, String name, String descriptor, List<Attributes> attributes) {
+        this.accessFlags = accessFlags;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.attributes = ImmutableList.copyOf(attributes);
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    public List<Attributes> getAttributes() {
+        return attributes;
+    }
+
+    public Attributes getAttribute(String name) {
+        return Attributes.find(attributes, name);
+    }
+
+    /**
+     * 方法体，abstract 和 native 方法返回 null。
+     */
+    public CodeAttribute getCode() {
+        return (CodeAttribute) getAttribute(Constants.CODE);
+    }
+
+    public List<String> getExceptions() {
+        ExceptionsAttribute attribute = (ExceptionsAttribute) getAttribute(Constants.EXCEPTIONS);
+        return attribute == null ? Collections.<String>emptyList() : attribute.getExceptions();
+    }
+
+    /**
+     * Signature 属性中的泛型签名，没有时返回 null。
+     */
+    public String getSignature() {
+        ValueAttribute attribute = (ValueAttribute) getAttribute(Constants.SIGNATURE);
+        return attribute == null ? null : attribute.getValue();
+    }
+
+    /**
+     * RuntimeVisibleAnnotations 和 RuntimeInvisibleAnnotations 中的注解，访问时才解码。
+     */
+    public List<Annotation> getAnnotations() {
+        return AnnotationsAttribute.annotations(attributes);
+    }
+
+    /**
+     * 是否有某个类型的注解，不解码注解元素。
+     *
+     * @param type 描述符形式，例如 Ljava/lang/Deprecated;
+     */
+    public boolean isAnnotationPresent(String type) {
+        return AnnotationsAttribute.isPresent(attributes, type);
+    }
+
+    /**
+     * 第 parameter 个参数的注解，可见的在前。
+     */
+    public List<Annotation> getParameterAnnotations(int parameter) {
+        List<Annotation> annotations = Lists.newArrayList();
+        for (String name : new String[]{Constants.RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS, Constants.RUNTIME_INVISIBLE_PARAMETER_ANNOTATIONS}) {
+            ParameterAnnotationsAttribute attribute = (ParameterAnnotationsAttribute) getAttribute(name);
+            if (attribute != null) {
+                annotations.addAll(attribute.getAnnotations(parameter));
+            }
+        }
+        return annotations;
+    }
+
+    /**
+     * 注解类型中元素的默认值，没有时返回 null。
+     */
+    public ElementValue getAnnotationDefault() {
+        AnnotationDefaultAttribute attribute = (AnnotationDefaultAttribute) getAttribute(Constants.ANNOTATION_DEFAULT);
+        return attribute == null ? null : attribute.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return ClassParser.getFlags(accessFlags, ClassParser.methodFlagMap) + " " + name + descriptor;
+    }
+}
@@ -0,0 +1,78 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * 方法描述符或方法的泛型签名，由 {@link SignatureParser#parseMethod(String)} 生成并缓存，不可变。
+ * 描述符解析出来的没有类型参数和 throws。
+ */
+public class MethodSignature {
+    private final List<TypeSignature.TypeParameter> typeParameters;
+    private final List<TypeSignature> parameters;
+    private final TypeSignature returnType;
+    private final List<TypeSignature> exceptions;
+
+    public MethodSignature(List<TypeSignature.TypeParameter> typeParameters, List<TypeSignature> parameters,
+                           TypeSignature returnType, List<TypeSignature> exceptions) {
+        this.typeParameters = ImmutableList.copyOf(typeParameters);
+        this.parameters = ImmutableList.copyOf(parameters);
+        this.returnType = returnType;
+        this.exceptions = ImmutableList.copyOf(exceptions);
+    }
+
+    public List<TypeSignature.TypeParameter> getTypeParameters() {
+        return typeParameters;
+    }
+
+    public List<TypeSignature> getParameters() {
+        return parameters;
+    }
+
+    public TypeSignature getReturnType() {
+        return returnType;
+    }
+
+    public List<TypeSignature> getExceptions() {
+        return exceptions;
+    }
+
+    /**
+     * 参数占用的局部变量 slot 个数，不包括 this。
+     */
+    public int getParameterSlots() {
+        int slots = 0;
+        for (TypeSignature parameter : parameters) {
+            slots += parameter.isWide() ? 2 : 1;
+        }
+        return slots;
+    }
+
+    /**
+     * 类型参数的源码形式，例如 &lt;K, V extends java.lang.Comparable&lt;V&gt;&gt;，没有时为空字符串。
+     */
+    public String typeParametersToString() {
+        StringBuilder sb = new StringBuilder();
+        TypeSignature.TypeParameter.appendList(sb, typeParameters);
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        TypeSignature.TypeParameter.appendList(sb, typeParameters);
+        if (!typeParameters.isEmpty()) {
+            sb.append(' ');
+        }
+        returnType.appendTo(sb);
+        sb.append(" (");
+        TypeSignature.appendList(sb, parameters);
+        sb.append(')');
+        if (!exceptions.isEmpty()) {
+            sb.append(" throws ");
+            TypeSignature.appendList(sb, exceptions);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,8 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * 方法事件，由 {@link ClassVisitor#visitMethod} 返回。
+ * Code 也是一个属性，只有 acceptAttribute("Code") 返回 true 时才会解码方法体。
+ */
+public abstract class MethodVisitor extends AttributeVisitor {
+}
@@ -0,0 +1,240 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 解析和反编译各阶段的耗时与计数。
+ * 默认关闭，{@link #current()} 返回 null，解析器每个类只多一次 volatile 读和几次 null 判断；
+ * {@link #enable()} 之后所有线程的数据汇总到同一个实例，运行结束后用 {@link #toJson()} 输出。
+ * <p>
+ * 运行在支持 JFR 的 JVM 上时，每个类的解析和反编译还会各提交一个 JFR 事件（见 JfrMetricsSink），
+ * 只有录制中开启了这些事件时才真正写入。
+ */
+public class Metrics {
+
+    /**
+     * 解析阶段与 {@link TextPrinter} 输出的 1 到 7 节对应，之后是类属性和反编译的两个阶段。
+     */
+    public enum Phase {
+        MAGIC("1. magic"),
+        VERSION("2. version"),
+        CONSTANT_POOL("3. constant pool"),
+        ACCESS_FLAGS("4. 访问标记"),
+        CLASS_INFO("5. 当前类、父类和接口"),
+        FIELDS("6. 字段"),
+        METHODS("7. 方法基本结构"),
+        CLASS_ATTRIBUTES("类属性"),
+        CODE("代码模拟"),
+        OUTPUT("输出");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum Counter {
+        CLASSES_PARSED,
+        CLASSES_DECOMPILED,
+        BYTES_READ,
+        INSTRUCTIONS,
+        ATTRIBUTES_PARSED,
+        ATTRIBUTES_SKIPPED,
+        DISK_CACHE_HITS,
+        DISK_CACHE_MISSES,
+        // ClassFileCache 中解析好的类
+        CLASS_CACHE_HITS,
+        CLASS_CACHE_MISSES,
+        // DecompilerDaemon 按 class 字节缓存的反编译结果
+        OUTPUT_CACHE_HITS,
+        OUTPUT_CACHE_MISSES,
+        INTERNER_HITS,
+        INTERNER_MISSES,
+        INTERNER_SAVED_BYTES;
+
+        String key() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * 每个类结束时收到一次汇总，实现必须是线程安全的。
+     */
+    interface Sink {
+        void parsed(String className, int bytes, long[] phaseNanos);
+
+        void decompiled(String className, int instructions, long codeNanos, long outputNanos);
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Counter[] COUNTERS = Counter.values();
+
+    private static volatile Metrics current;
+
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(PHASES.length);
+    private final AtomicLongArray counters = new AtomicLongArray(COUNTERS.length);
+    private final AtomicLongArray constants = new AtomicLongArray(ConstantPool.CONSTANT_PACKAGE + 1);
+    private final Sink sink = loadSink();
+
+    /**
+     * @return 关闭时为 null
+     */
+    public static Metrics current() {
+        return current;
+    }
+
+    /**
+     * 开始统计，已经开启时返回原来的实例。
+     */
+    public static synchronized Metrics enable() {
+        if (current == null) {
+            current = new Metrics();
+        }
+        return current;
+    }
+
+    /**
+     * 停止统计并返回到目前为止的数据，没有开启时返回 null。
+     */
+    public static synchronized Metrics disable() {
+        Metrics metrics = current;
+        current = null;
+        return metrics;
+    }
+
+    private static Sink loadSink() {
+        try {
+            // jdk.jfr 从 java 11 开始才有，用反射加载，低版本上不会链接到它
+            Class<?> type = Class.forName("com.cyberdak.javadecompiler.JfrMetricsSink");
+            return (Sink) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            return null;
+        } catch (NoClassDefFoundError e) {
+            // JfrMetricsSink 引用的 jdk.jfr 类不存在
+            return null;
+        }
+    }
+
+    /**
+     * 由解析器在一个类解析完时调用，phaseNanos 按 {@link Phase#ordinal()} 存放。
+     */
+    void parsed(String className, int bytes, long[] phaseNanos, ConstantPool pool, int attributesParsed, int attributesSkipped) {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            if (phaseNanos[i] != 0) {
+                this.phaseNanos.addAndGet(i, phaseNanos[i]);
+            }
+        }
+        for (int index = 1; index < pool.size(); index++) {
+            // long 和 double 后面的空位 tag 为 0
+            int tag = pool.getTag(index);
+            if (tag > 0 && tag < constants.length()) {
+                constants.incrementAndGet(tag);
+            }
+        }
+        add(Counter.CLASSES_PARSED, 1);
+        add(Counter.BYTES_READ, bytes);
+        add(Counter.ATTRIBUTES_PARSED, attributesParsed);
+        add(Counter.ATTRIBUTES_SKIPPED, attributesSkipped);
+        if (sink != null) {
+            sink.parsed(className, bytes, phaseNanos);
+        }
+    }
+
+    void decompiled(String className, int instructions, long codeNanos, long outputNanos) {
+        phaseNanos.addAndGet(Phase.CODE.ordinal(), codeNanos);
+        phaseNanos.addAndGet(Phase.OUTPUT.ordinal(), outputNanos);
+        add(Counter.CLASSES_DECOMPILED, 1);
+        add(Counter.INSTRUCTIONS, instructions);
+        if (sink != null) {
+            sink.decompiled(className, instructions, codeNanos, outputNanos);
+        }
+    }
+
+    public void add(Counter counter, long delta) {
+        counters.addAndGet(counter.ordinal(), delta);
+    }
+
+    public long get(Counter counter) {
+        return counters.get(counter.ordinal());
+    }
+
+    public long getNanos(Phase phase) {
+        return phaseNanos.get(phase.ordinal());
+    }
+
+    /**
+     * 某种 tag 的常量个数，例如 {@link ConstantPool#CONSTANT_UTF_8}。
+     */
+    public long getConstantCount(int tag) {
+        return constants.get(tag);
+    }
+
+    /**
+     * 记录驻留表的命中情况和省下的内存。驻留表本身一直在统计，每个驻留表只在不再使用时（会话结束、被换掉）记录一次。
+     */
+    public void addInterner(StringInterner interner) {
+        add(Counter.INTERNER_HITS, interner.getHitCount());
+        add(Counter.INTERNER_MISSES, interner.getMissCount());
+        add(Counter.INTERNER_SAVED_BYTES, interner.getSavedBytes());
+    }
+
+    public boolean isJfrAvailable() {
+        return sink != null;
+    }
+
+    /**
+     * 机器可读的汇总，例如 {"phases":{"magic":120,...},"counters":{...},"constants":{"CONSTANT_UTF_8":10,...}}，耗时单位为纳秒。
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\"phases\":{");
+        for (int i = 0; i < PHASES.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(PHASES[i].key()).append("\":").append(phaseNanos.get(i));
+        }
+        sb.append("},\"counters\":{");
+        for (int i = 0; i < COUNTERS.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('"').append(COUNTERS[i].key()).append("\":").append(counters.get(i));
+        }
+        sb.append("},\"constants\":{");
+        boolean first = true;
+        for (int tag = 1; tag < constants.length(); tag++) {
+            String name = ConstantPool.getTagName(tag);
+            if (name == null) {
+                continue;
+            }
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append('"').append(name).append("\":").append(constants.get(tag));
+        }
+        sb.append("},\"jfr\":").append(isJfrAvailable()).append('}');
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Phase phase : PHASES) {
+            sb.append(phase.getLabel()).append(" : ").append(getNanos(phase) / 1000000).append("ms\n");
+        }
+        for (Counter counter : COUNTERS) {
+            sb.append(counter.key()).append(" : ").append(get(counter)).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * Created by 58 on 2016/12/30.
+ * 字节码指令解码，计算每条指令的实际长度（包括 tableswitch/lookupswitch 的对齐填充和 wide）。
+ */
+public class OpcodeParser {
+    private static final int IINC = 0x84;
+    private static final int TABLESWITCH = 0xaa;
+    private static final int LOOKUPSWITCH = 0xab;
+    private static final int WIDE = 0xc4;
+
+    /**
+     * @param reader     class 文件
+     * @param codeOffset code[] 在 class 文件中的偏移
+     * @param pc         指令相对 code[] 开头的位置
+     * @return 指令总长度（操作码 + 操作数）
+     */
+    public static int length(ClassReader reader, int codeOffset, int pc) {
+        int opcode = reader.readU1(codeOffset + pc);
+        switch (opcode) {
+            case TABLESWITCH: {
+                // default、low、high 之前按 code[] 开头 4 字节对齐
+                int base = pc + 1 + padding(pc);
+                int low = reader.readInt(codeOffset + base + 4);
+                int high = reader.readInt(codeOffset + base + 8);
+                return base - pc + 12 + 4 * (high - low + 1);
+            }
+            case LOOKUPSWITCH: {
+                int base = pc + 1 + padding(pc);
+                int npairs = reader.readInt(codeOffset + base + 4);
+                return base - pc + 8 + 8 * npairs;
+            }
+            case WIDE:
+                // wide iinc 带两个 u2 操作数，其余为一个 u2 的局部变量索引
+                return reader.readU1(codeOffset + pc + 1) == IINC ? 6 : 4;
+            default:
+                OpCode opCode = OpCode.of(opcode);
+                if (opCode == null) {
+                    throw new IllegalArgumentException("unknown opcode " + Integer.toHexString(opcode) + " at pc " + pc);
+                }
+                return 1 + opCode.getParamSize();
+        }
+    }
+
+    /**
+     * switch 指令操作码之后的填充字节数。
+     */
+    public static int padding(int pc) {
+        return (4 - ((pc + 1) & 3)) & 3;
+    }
+}
@@ -0,0 +1,60 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * RuntimeVisibleParameterAnnotations 和 RuntimeInvisibleParameterAnnotations，和 {@link AnnotationsAttribute} 一样访问时才解码。
+ * num_parameters 可能少于描述符中的参数个数，例如编译器为内部类构造方法加入的参数没有对应项。
+ */
+public class ParameterAnnotationsAttribute extends Attributes {
+    private final ClassReader reader;
+    private final ConstantPool pool;
+    private volatile List<List<Annotation>> parameters;
+
+    public ParameterAnnotationsAttribute(int nameIndex, String name, int offset, int length, ClassReader reader, ConstantPool pool) {
+        super(nameIndex, name, offset, length);
+        this.reader = reader;
+        this.pool = pool;
+    }
+
+    public boolean isVisible() {
+        return Constants.RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS.equals(getName());
+    }
+
+    /**
+     * num_parameters，不需要解码。
+     */
+    public int getParameterCount() {
+        return reader.readU1(getOffset());
+    }
+
+    /**
+     * 第 parameter 个参数的注解，超出 num_parameters 时为空。
+     */
+    public List<Annotation> getAnnotations(int parameter) {
+        List<List<Annotation>> result = parameters;
+        if (result == null) {
+            int count = getParameterCount();
+            AnnotationReader annotationReader = new AnnotationReader(reader, pool, getOffset() + 1);
+            List<List<Annotation>> decoded = Lists.newArrayListWithCapacity(count);
+            for (int i = 0; i < count; i++) {
+                decoded.add(annotationReader.annotations());
+            }
+            result = ImmutableList.copyOf(decoded);
+            parameters = result;
+        }
+        return parameter < result.size() ? result.get(parameter) : ImmutableList.<Annotation>of();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(getName()).append(" : ");
+        for (int i = 0; i < getParameterCount(); i++) {
+            sb.append(getAnnotations(i));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.List;
+
+/**
+ * 解析过程中的事件，按 class 文件中的顺序触发，用来输出解析过程（类似 javap 的结构信息）。
+ * 事件只传索引和解析好的对象，格式化由实现类自己完成；
+ * 默认 {@link #NONE} 什么都不做，解析器不会为它做任何字符串拼接。
+ */
+public abstract class ParseListener {
+
+    public static final ParseListener NONE = new ParseListener() {
+    };
+
+    public void magic(int magic) {
+    }
+
+    public void version(int minorVersion, int majorVersion) {
+    }
+
+    /**
+     * 常量池读完后触发，后续事件中的索引都指向这个常量池。
+     */
+    public void constantPool(ConstantPool pool) {
+    }
+
+    public void classInfo(int accessFlags, int thisClassIndex, int superClassIndex, List<String> interfaces) {
+    }
+
+    public void fieldCount(int count) {
+    }
+
+    public void field(int accessFlags, int nameIndex, int descriptorIndex, int attributesCount) {
+    }
+
+    public void methodCount(int count) {
+    }
+
+    public void method(int accessFlags, int nameIndex, int descriptorIndex, int attributesCount) {
+    }
+
+    /**
+     * 开始解析一个属性。被 visitor 跳过的属性不会触发。
+     */
+    public void attributeStart(int nameIndex, String name, int length) {
+    }
+
+    /**
+     * Code 属性的指令和异常表，在解析 Code 内部的属性之前触发。
+     */
+    public void code(ClassReader reader, int maxStack, int maxLocals, int codeOffset, int codeLength,
+                     List<ExceptionHandler> exceptionTable, int attributesCount) {
+    }
+
+    public void annotation(int typeIndex) {
+    }
+
+    public void elementName(int elementNameIndex) {
+    }
+
+    /**
+     * @param tag element_value 的 tag；'e' 时 valueIndex 为 type_name_index，constNameIndex 为 const_name_index，
+     *            其他 tag 时 constNameIndex 为 0
+     */
+    public void elementValue(int tag, int valueIndex, int constNameIndex) {
+    }
+
+    /**
+     * 属性解析完成，attribute 为解析出的模型，未识别的属性为 {@link Attributes} 本身。
+     */
+    public void attributeEnd(Attributes attribute) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.List;
+
+/**
+ * 字段描述符、方法描述符和泛型签名（JVMS 4.7.9.1）的解析器。
+ * 描述符是签名语法的子集，所以两者用同一套代码：按下标逐个字符读取，只在取类名和类型变量名时截取一次字符串。
+ * <p>
+ * 同一个描述符在一个 jar 里会出现成千上万次，解析结果不可变，按字符串缓存，可以被多个线程共享。
+ * 格式错误时抛出 IllegalArgumentException。
+ */
+public class SignatureParser {
+    private static final int CACHE_SIZE = 16384;
+
+    private static final LoadingCache<String, MethodSignature> METHODS = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build(new CacheLoader<String, MethodSignature>() {
+                @Override
+                public MethodSignature load(String signature) {
+                    return new SignatureParser(signature).methodSignature();
+                }
+            });
+
+    private static final LoadingCache<String, TypeSignature> TYPES = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build(new CacheLoader<String, TypeSignature>() {
+                @Override
+                public TypeSignature load(String signature) {
+                    SignatureParser parser = new SignatureParser(signature);
+                    TypeSignature type = parser.type();
+                    parser.end();
+                    return type;
+                }
+            });
+
+    private final String signature;
+    private int position;
+
+    private SignatureParser(String signature) {
+        this.signature = signature;
+    }
+
+    /**
+     * 方法描述符 (ILjava/lang/String;)V 或方法签名 &lt;T:Ljava/lang/Object;&gt;(TT;)TT;^TE;，结果被缓存。
+     */
+    public static MethodSignature parseMethod(String signature) {
+        try {
+            return METHODS.getUnchecked(signature);
+        } catch (UncheckedExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * 字段描述符或字段签名，例如 [I、Ljava/util/List&lt;TT;&gt;;，结果被缓存。
+     */
+    public static TypeSignature parseType(String signature) {
+        try {
+            return TYPES.getUnchecked(signature);
+        } catch (UncheckedExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * 类签名，例如 &lt;E:Ljava/lang/Object;&gt;Ljava/util/AbstractList&lt;TE;&gt;;Ljava/util/List&lt;TE;&gt;;。
+     * 每个类只有一个，不缓存。
+     */
+    public static ClassSignature parseClass(String signature) {
+        SignatureParser parser = new SignatureParser(signature);
+        List<TypeSignature.TypeParameter> typeParameters = parser.typeParameters();
+        TypeSignature superclass = parser.type();
+        List<TypeSignature> interfaces = Lists.newArrayList();
+        while (parser.position < signature.length()) {
+            interfaces.add(parser.type());
+        }
+        return new ClassSignature(typeParameters, superclass, interfaces);
+    }
+
+    /**
+     * Signature 属性的源码形式，按内容判断是类、方法还是字段的签名，格式错误时原样返回。
+     */
+    public static String toJava(String signature) {
+        try {
+            if (signature.indexOf('(') >= 0) {
+                return parseMethod(signature).toString();
+            }
+            if (signature.startsWith("<")) {
+                return parseClass(signature).toString();
+            }
+            try {
+                return parseType(signature).toString();
+            } catch (IllegalArgumentException e) {
+                // 没有类型参数的类签名：父类后面跟着接口
+                return parseClass(signature).toString();
+            }
+        } catch (IllegalArgumentException e) {
+            return signature;
+        }
+    }
+
+    private static RuntimeException rethrow(UncheckedExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        }
+        return e;
+    }
+
+    private IllegalArgumentException error() {
+        return new IllegalArgumentException("bad signature at " + position + ": " + signature);
+    }
+
+    private char peek() {
+        if (position >= signature.length()) {
+            throw error();
+        }
+        return signature.charAt(position);
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error();
+        }
+        position++;
+    }
+
+    private void end() {
+        if (position != signature.length()) {
+            throw error();
+        }
+    }
+
+    private MethodSignature methodSignature() {
+        List<TypeSignature.TypeParameter> typeParameters = typeParameters();
+        expect('(');
+        List<TypeSignature> parameters;
+        if (peek() == ')') {
+            parameters = ImmutableList.of();
+        } else {
+            parameters = Lists.newArrayListWithCapacity(4);
+            while (peek() != ')') {
+                parameters.add(type());
+            }
+        }
+        position++;
+        TypeSignature returnType = type();
+        List<TypeSignature> exceptions = ImmutableList.of();
+        while (position < signature.length()) {
+            expect('^');
+            if (exceptions.isEmpty()) {
+                exceptions = Lists.newArrayListWithCapacity(2);
+            }
+            exceptions.add(type());
+        }
+        return new MethodSignature(typeParameters, parameters, returnType, exceptions);
+    }
+
+    private List<TypeSignature.TypeParameter> typeParameters() {
+        if (position >= signature.length() || signature.charAt(position) != '<') {
+            return ImmutableList.of();
+        }
+        position++;
+        List<TypeSignature.TypeParameter> parameters = Lists.newArrayListWithCapacity(2);
+        while (peek() != '>') {
+            int colon = signature.indexOf(':', position);
+            if (colon <= position) {
+                throw error();
+            }
+            String name = signature.substring(position, colon);
+            position = colon + 1;
+            TypeSignature classBound = null;
+            char c = peek();
+            if (c == 'L' || c == 'T' || c == '[') {
+                classBound = type();
+            }
+            List<TypeSignature> interfaceBounds = ImmutableList.of();
+            while (peek() == ':') {
+                position++;
+                if (interfaceBounds.isEmpty()) {
+                    interfaceBounds = Lists.newArrayListWithCapacity(2);
+                }
+                interfaceBounds.add(type());
+            }
+            parameters.add(new TypeSignature.TypeParameter(name, classBound, interfaceBounds));
+        }
+        position++;
+        return parameters;
+    }
+
+    private TypeSignature type() {
+        char c = peek();
+        switch (c) {
+            case 'L':
+                return classType();
+            case '[':
+                position++;
+                return new TypeSignature.ArrayType(type());
+            case 'T': {
+                int semicolon = signature.indexOf(';', position);
+                if (semicolon < 0) {
+                    throw error();
+                }
+                String name = signature.substring(position + 1, semicolon);
+                position = semicolon + 1;
+                return new TypeSignature.TypeVariable(name);
+            }
+            default:
+                TypeSignature.Primitive primitive = TypeSignature.Primitive.of(c);
+                if (primitive == null) {
+                    throw error();
+                }
+                position++;
+                return primitive;
+        }
+    }
+
+    private TypeSignature.ClassType classType() {
+        position++;
+        int start = position;
+        char c = peek();
+        while (c != '<' && c != '.' && c != ';') {
+            position++;
+            c = peek();
+        }
+        String name = signature.substring(start, position);
+        TypeSignature.ClassType type = new TypeSignature.ClassType(name, typeArguments(), null, null);
+        while (peek() == '.') {
+            position++;
+            start = position;
+            c = peek();
+            while (c != '<' && c != '.' && c != ';') {
+                position++;
+                c = peek();
+            }
+            String simpleName = signature.substring(start, position);
+            type = new TypeSignature.ClassType(type.getName() + "$" + simpleName, typeArguments(), type, simpleName);
+        }
+        expect(';');
+        return type;
+    }
+
+    private List<TypeSignature> typeArguments() {
+        if (peek() != '<') {
+            return ImmutableList.of();
+        }
+        position++;
+        List<TypeSignature> arguments = Lists.newArrayListWithCapacity(2);
+        while (peek() != '>') {
+            char c = peek();
+            if (c == '*') {
+                position++;
+                arguments.add(TypeSignature.Wildcard.UNBOUNDED);
+            } else if (c == '+' || c == '-') {
+                position++;
+                arguments.add(new TypeSignature.Wildcard(c, type()));
+            } else {
+                arguments.add(type());
+            }
+        }
+        position++;
+        return arguments;
+    }
+}
@@ -0,0 +1,109 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * StackMapTable 中的一个帧。
+ * 从 class 文件解析出来的帧是相对前一帧的增量：CHOP 只记录删掉的局部变量个数，APPEND 的 locals 只有新增的变量；
+ * {@link StackMapTable#expand} 得到的帧都是 FULL，locals 是完整的。
+ * locals 和 class 文件一样每个变量一项，long 和 double 不会额外占一项，按 slot 取用 {@link #getLocal(int)}。
+ */
+public class StackMapFrame {
+    public enum Kind {
+        SAME, SAME_LOCALS_1_STACK_ITEM, CHOP, APPEND, FULL
+    }
+
+    private final int frameType;
+    private final Kind kind;
+    private final int pc;
+    private final int chopCount;
+    private final List<VerificationType> locals;
+    private final List<VerificationType> stack;
+
+    public StackMapFrame(int frameType, Kind kind, int pc, int chopCount, List<VerificationType> locals, List<VerificationType> stack) {
+        this.frameType = frameType;
+        this.kind = kind;
+        this.pc = pc;
+        this.chopCount = chopCount;
+        this.locals = ImmutableList.copyOf(locals);
+        this.stack = ImmutableList.copyOf(stack);
+    }
+
+    /**
+     * class 文件中的 frame_type，0 到 255。
+     */
+    public int getFrameType() {
+        return frameType;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 帧所在的 pc（已经把 offset_delta 累加好）。
+     */
+    public int getPc() {
+        return pc;
+    }
+
+    /**
+     * CHOP 帧删掉的局部变量个数。
+     */
+    public int getChopCount() {
+        return chopCount;
+    }
+
+    public List<VerificationType> getLocals() {
+        return locals;
+    }
+
+    public List<VerificationType> getStack() {
+        return stack;
+    }
+
+    /**
+     * 第 slot 个局部变量 slot 的类型，long、double 的第二个 slot 和超出范围的 slot 都是 top。
+     */
+    public VerificationType getLocal(int slot) {
+        int current = 0;
+        for (VerificationType type : locals) {
+            if (current == slot) {
+                return type;
+            }
+            current += type.isWide() ? 2 : 1;
+            if (current > slot) {
+                break;
+            }
+        }
+        return VerificationType.of(VerificationType.TOP);
+    }
+
+    /**
+     * locals 占用的 slot 个数。
+     */
+    public int getLocalSlots() {
+        return slots(locals);
+    }
+
+    static int slots(List<VerificationType> types) {
+        int slots = 0;
+        for (VerificationType type : types) {
+            slots += type.isWide() ? 2 : 1;
+        }
+        return slots;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(pc).append(": ").append(kind.name().toLowerCase());
+        if (kind == Kind.CHOP) {
+            sb.append(' ').append(chopCount);
+        }
+        sb.append(" locals ").append(locals).append(" stack ").append(stack);
+        return sb.toString();
+    }
+}
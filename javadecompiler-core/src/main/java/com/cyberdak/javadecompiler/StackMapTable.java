@@ -0,0 +1,99 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * StackMapTable 属性。javac 在每个分支目标和异常处理入口都生成一帧，
+ * 展开后就是这些位置上局部变量和操作数栈的类型，类型推断直接从这里开始，不需要迭代数据流。
+ */
+public class StackMapTable extends Attributes {
+    private final List<StackMapFrame> frames;
+
+    public StackMapTable(int nameIndex, String name, int offset, int length, List<StackMapFrame> frames) {
+        super(nameIndex, name, offset, length);
+        this.frames = ImmutableList.copyOf(frames);
+    }
+
+    /**
+     * class 文件中的帧，按 pc 递增。
+     */
+    public List<StackMapFrame> getFrames() {
+        return frames;
+    }
+
+    public int size() {
+        return frames.size();
+    }
+
+    /**
+     * pc 处的帧，没有时返回 null。
+     */
+    public StackMapFrame getFrame(int pc) {
+        int low = 0;
+        int high = frames.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middlePc = frames.get(middle).getPc();
+            if (middlePc < pc) {
+                low = middle + 1;
+            } else if (middlePc > pc) {
+                high = middle - 1;
+            } else {
+                return frames.get(middle);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从方法入口的隐式帧开始依次应用每一帧，得到完整的 FULL 帧。
+     */
+    public List<StackMapFrame> expand(String className, MethodInfo method) {
+        List<VerificationType> locals = initialLocals(className, method);
+        List<StackMapFrame> expanded = Lists.newArrayListWithCapacity(frames.size());
+        for (StackMapFrame frame : frames) {
+            switch (frame.getKind()) {
+                case CHOP:
+                    locals = Lists.newArrayList(locals.subList(0, locals.size() - frame.getChopCount()));
+                    break;
+                case APPEND:
+                    locals = Lists.newArrayList(locals);
+                    locals.addAll(frame.getLocals());
+                    break;
+                case FULL:
+                    locals = frame.getLocals();
+                    break;
+                default:
+                    break;
+            }
+            expanded.add(new StackMapFrame(255, StackMapFrame.Kind.FULL, frame.getPc(), 0, locals, frame.getStack()));
+        }
+        return expanded;
+    }
+
+    /**
+     * 方法入口的局部变量：this（构造方法中是 uninitializedThis）和参数。
+     */
+    public static List<VerificationType> initialLocals(String className, MethodInfo method) {
+        List<VerificationType> locals = Lists.newArrayList();
+        if ((method.getAccessFlags() & 0x0008) == 0) {
+            if ("<init>".equals(method.getName()) && !"java/lang/Object".equals(className)) {
+                locals.add(VerificationType.of(VerificationType.UNINITIALIZED_THIS));
+            } else {
+                locals.add(VerificationType.object(className));
+            }
+        }
+        for (TypeSignature parameter : SignatureParser.parseMethod(method.getDescriptor()).getParameters()) {
+            locals.add(VerificationType.fromDescriptor(parameter.getDescriptor()));
+        }
+        return locals;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + frames;
+    }
+}
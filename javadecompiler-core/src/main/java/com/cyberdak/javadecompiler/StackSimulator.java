@@ -0,0 +1,879 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.Lists;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 操作数栈模拟：按 pc 顺序把指令执行一遍，用 {@link Expression} 代替栈上的值，得到语句和表达式树。
+ * javac 生成的装箱/拆箱调用（Long.valueOf、longValue）原样保留，这正是本项目要展示的“真实”代码。
+ * <p>
+ * 分支目标处栈不为空时（例如三元表达式），栈上的值先存到临时变量 s0、s1…，各条路径汇合后再读出。
+ * 栈、分支目标的栈深度等数组在一个实例内复用，除了输出的节点外每条指令不分配内存；
+ * 没有 LocalVariableTable 时局部变量的类型按顺序推断：从 StackMapTable 的帧开始，经过 store 指令更新，
+ * 帧已经给出了每个分支目标处的类型，所以一遍就够了，不需要迭代到不动点。
+ * <p>
+ * 实例不能被多个线程共享，{@link #simulate(ClassFile, MethodInfo)} 为每个线程保留一个实例。
+ */
+public class StackSimulator {
+    private static final ThreadLocal<StackSimulator> LOCAL = new ThreadLocal<StackSimulator>() {
+        @Override
+        protected StackSimulator initialValue() {
+            return new StackSimulator();
+        }
+    };
+
+    private static final String[] CONDITIONS = {"==", "!=", "<", ">=", ">", "<="};
+    private static final String[] ARITHMETIC = {"+", "-", "*", "/", "%"};
+    private static final String[] BITWISE = {"<<", ">>", ">>>", "&", "|", "^"};
+    private static final String[] TYPES = {"I", "J", "F", "D"};
+    // i2l 到 i2s 的目标类型
+    private static final String[] CONVERSIONS = {"J", "F", "D", "I", "F", "D", "I", "J", "D", "I", "J", "F", "B", "C", "S"};
+    // iaload 到 saload 的元素类型，baload 也用于 boolean[]，按数组类型修正
+    private static final String[] ELEMENTS = {"I", "J", "F", "D", "Ljava/lang/Object;", "B", "C", "S"};
+    // newarray 的 atype，从 4 (T_BOOLEAN) 开始
+    private static final String[] PRIMITIVE_ARRAYS = {"[Z", "[C", "[F", "[D", "[B", "[S", "[I", "[J"};
+    private static final Expression NULL = new Expression.Literal("Ljava/lang/Object;", "null");
+    private static final Expression ZERO = new Expression.Literal("I", "0");
+
+    private Expression[] stack = new Expression[16];
+    private int top;
+    // 分支目标处的栈深度，-1 表示还没有跳转到这里
+    private int[] depths = new int[256];
+    // 跳转时栈上每个位置的值（已经存到 s0、s1… 之后的引用）
+    private Expression[] slots = new Expression[16];
+    private final BitSet labels = new BitSet();
+    private final ControlFlowGraph.IntList targets = new ControlFlowGraph.IntList(16);
+    // 每个局部变量 slot 当前的类型描述符，未知时为 null
+    private String[] localTypes = new String[16];
+    private List<StackMapFrame> frames;
+    private int nextFrame;
+    // 这个线程模拟过的指令总数，供 Metrics 统计
+    private long instructions;
+
+    private ClassFile classFile;
+    private ConstantPool pool;
+    private CodeAttribute code;
+    private ClassReader reader;
+    private int codeOffset;
+    private LocalVariableTable localVariables;
+    private boolean isStatic;
+    private List<Statement> statements;
+    private int temps;
+
+    public static List<Statement> simulate(ClassFile classFile, MethodInfo method) {
+        return LOCAL.get().interpret(classFile, method);
+    }
+
+    /**
+     * 当前线程的模拟器到目前为止执行过的指令数。
+     */
+    public static long instructionCount() {
+        return LOCAL.get().instructions;
+    }
+
+    public List<Statement> interpret(ClassFile classFile, MethodInfo method) {
+        CodeAttribute code = method.getCode();
+        if (code == null) {
+            return Lists.newArrayList();
+        }
+        this.classFile = classFile;
+        this.pool = classFile.getConstantPool();
+        this.code = code;
+        this.reader = code.getReader();
+        this.codeOffset = code.getCodeOffset();
+        this.localVariables = code.getLocalVariableTable();
+        this.isStatic = (method.getAccessFlags() & 0x0008) != 0;
+        this.statements = Lists.newArrayList();
+        this.top = 0;
+        this.temps = 0;
+        initLocalTypes(classFile, method);
+        int codeLength = code.getCodeLength();
+        if (depths.length <= codeLength) {
+            depths = new int[Math.max(codeLength + 1, depths.length * 2)];
+        }
+        Arrays.fill(depths, 0, codeLength + 1, -1);
+        labels.clear();
+        try {
+            for (int pc = 0; pc < codeLength; pc += OpcodeParser.length(reader, codeOffset, pc)) {
+                targets.clear();
+                if (ControlFlowGraph.branchTargets(reader, codeOffset, pc, targets)) {
+                    for (int i = 0; i < targets.size(); i++) {
+                        labels.set(targets.get(i));
+                    }
+                }
+            }
+            for (ExceptionHandler handler : code.getExceptionTable()) {
+                labels.set(handler.getHandlerPc());
+            }
+
+            boolean fallsThrough = true;
+            for (int pc = 0; pc < codeLength; ) {
+                int next = pc + OpcodeParser.length(reader, codeOffset, pc);
+                StackMapFrame frame = frameAt(pc);
+                if (labels.get(pc)) {
+                    enterLabel(pc, fallsThrough, frame);
+                } else if (!fallsThrough) {
+                    // 不可达的代码
+                    top = 0;
+                }
+                fallsThrough = execute(pc, next);
+                instructions++;
+                pc = next;
+            }
+            return statements;
+        } finally {
+            Arrays.fill(stack, null);
+            Arrays.fill(slots, null);
+            this.classFile = null;
+            this.pool = null;
+            this.code = null;
+            this.reader = null;
+            this.localVariables = null;
+            this.statements = null;
+            this.frames = null;
+        }
+    }
+
+    private void initLocalTypes(ClassFile classFile, MethodInfo method) {
+        if (localTypes.length < code.getMaxLocals()) {
+            localTypes = new String[Math.max(code.getMaxLocals(), localTypes.length * 2)];
+        }
+        Arrays.fill(localTypes, null);
+        setLocalTypes(StackMapTable.initialLocals(classFile.getName(), method));
+        StackMapTable table = code.getStackMapTable();
+        frames = table == null ? null : table.expand(classFile.getName(), method);
+        nextFrame = 0;
+    }
+
+    private void setLocalTypes(List<VerificationType> types) {
+        Arrays.fill(localTypes, null);
+        int slot = 0;
+        for (VerificationType type : types) {
+            if (slot >= localTypes.length) {
+                break;
+            }
+            localTypes[slot] = type.getDescriptor();
+            slot += type.isWide() ? 2 : 1;
+        }
+    }
+
+    /**
+     * pc 处有帧时用它重置局部变量的类型，并返回这一帧。
+     */
+    private StackMapFrame frameAt(int pc) {
+        if (frames == null || nextFrame >= frames.size() || frames.get(nextFrame).getPc() != pc) {
+            return null;
+        }
+        StackMapFrame frame = frames.get(nextFrame++);
+        setLocalTypes(frame.getLocals());
+        return frame;
+    }
+
+    private void enterLabel(int pc, boolean fallsThrough, StackMapFrame frame) {
+        String caught = null;
+        boolean handler = false;
+        for (ExceptionHandler exceptionHandler : code.getExceptionTable()) {
+            if (exceptionHandler.getHandlerPc() == pc) {
+                String type = exceptionHandler.getCatchType() == null ? "java/lang/Throwable" : exceptionHandler.getCatchType();
+                caught = caught == null ? type : caught + " | " + type;
+                handler = true;
+            }
+        }
+        if (fallsThrough && top > 0 && !handler) {
+            spillAll(pc);
+        }
+        statements.add(Statement.label(pc, handler ? "catch " + Decompiler.javaName(caught) : null));
+        if (handler) {
+            top = 0;
+            String type = caught.contains(" | ") ? "Ljava/lang/Throwable;" : "L" + caught + ";";
+            if (frame != null && frame.getStack().size() == 1 && frame.getStack().get(0).getDescriptor() != null) {
+                // 多个 catch 类型时帧里是它们的公共父类
+                type = frame.getStack().get(0).getDescriptor();
+            }
+            push(new Expression.Caught(type));
+        } else if (!fallsThrough) {
+            top = 0;
+            int depth = Math.max(depths[pc], 0);
+            for (int i = 0; i < depth; i++) {
+                push(slots[i]);
+            }
+        }
+    }
+
+    /**
+     * 跳转前把栈上的值存到 s0、s1…，并记录目标处的栈深度。
+     */
+    private void jumpTo(int pc, int target) {
+        spillAll(pc);
+        if (depths[target] < 0) {
+            depths[target] = top;
+        }
+        if (slots.length < top) {
+            slots = Arrays.copyOf(slots, stack.length);
+        }
+        System.arraycopy(stack, 0, slots, 0, top);
+    }
+
+    private void spillAll(int pc) {
+        for (int i = 0; i < top; i++) {
+            Expression value = stack[i];
+            // 未初始化的对象要保持同一个引用，构造方法调用时才能找到它
+            if (value instanceof Expression.Uninitialized
+                    || (value instanceof Expression.StackVar && ((Expression.StackVar) value).getSlot() == i)) {
+                continue;
+            }
+            Expression.StackVar var = new Expression.StackVar(value.getType(), "s" + i, i);
+            statements.add(Statement.assign(pc, var, "=", value));
+            stack[i] = var;
+        }
+    }
+
+    /**
+     * 写局部变量之前，栈上还在使用旧值的表达式先存到临时变量，例如 i++ 中先读后 iinc。
+     */
+    private void spillUses(int pc, int index) {
+        for (int i = 0; i < top; i++) {
+            if (!(stack[i] instanceof Expression.StackVar) && stack[i].uses(index)) {
+                stack[i] = temp(pc, stack[i]);
+            }
+        }
+    }
+
+    private Expression temp(int pc, Expression value) {
+        Expression.StackVar var = new Expression.StackVar(value.getType(), "t" + temps++);
+        statements.add(Statement.assign(pc, var, "=", value));
+        return var;
+    }
+
+    /**
+     * 栈顶往下第 depth 个值要被复制时，先保证它是简单表达式，避免方法调用等被求值两次。
+     */
+    private void makeSimple(int pc, int depth) {
+        int i = top - 1 - depth;
+        if (!stack[i].isSimple()) {
+            stack[i] = temp(pc, stack[i]);
+        }
+    }
+
+    private void push(Expression value) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top * 2);
+        }
+        stack[top++] = value;
+    }
+
+    private Expression pop() {
+        if (top == 0) {
+            throw new IllegalStateException("operand stack underflow");
+        }
+        Expression value = stack[--top];
+        stack[top] = null;
+        return value;
+    }
+
+    private Expression peek() {
+        if (top == 0) {
+            throw new IllegalStateException("operand stack underflow");
+        }
+        return stack[top - 1];
+    }
+
+    private void discard(int pc, Expression value) {
+        if (value.hasSideEffects()) {
+            statements.add(Statement.expression(pc, value));
+        }
+    }
+
+    private Expression.Local local(String type, int index, int pc) {
+        String name = null;
+        if (localVariables != null) {
+            LocalVariable variable = localVariables.getVariable(index, pc);
+            if (variable != null) {
+                name = variable.getName();
+                if (type == null || type.startsWith("L") || type.startsWith("[")) {
+                    type = variable.getDescriptor();
+                }
+            }
+        }
+        if (name == null) {
+            name = index == 0 && !isStatic ? "this" : "var" + index;
+            if (type == null && index < localTypes.length) {
+                type = localTypes[index];
+            }
+        }
+        return new Expression.Local(type, index, name);
+    }
+
+    private void load(String type, int index, int pc) {
+        push(local(type, index, pc));
+    }
+
+    private void store(String type, int index, int pc, int next) {
+        Expression value = pop();
+        spillUses(pc, index);
+        if (type == null) {
+            type = value.getType();
+        }
+        if (index < localTypes.length) {
+            localTypes[index] = type;
+            if (value.isWide() && index + 1 < localTypes.length) {
+                localTypes[index + 1] = null;
+            }
+        }
+        // 变量的作用域从 store 的下一条指令开始
+        statements.add(Statement.assign(pc, local(type, index, next), "=", value));
+    }
+
+    private void iinc(int index, int increment, int pc) {
+        spillUses(pc, index);
+        statements.add(Statement.assign(pc, local("I", index, pc), increment < 0 ? "-=" : "+=",
+                new Expression.Literal("I", String.valueOf(Math.abs(increment)))));
+    }
+
+    /**
+     * 执行 pc 处的一条指令。
+     *
+     * @return 执行完后是否会继续执行下一条指令
+     */
+    private boolean execute(int pc, int next) {
+        int opcode = reader.readU1(codeOffset + pc);
+        if (opcode >= 0x02 && opcode <= 0x08) {
+            // iconst_m1 到 iconst_5
+            push(new Expression.Literal("I", String.valueOf(opcode - 0x03)));
+            return true;
+        }
+        if (opcode >= 0x1a && opcode <= 0x2d) {
+            // iload_0 到 aload_3
+            load(opcode >= 0x2a ? null : TYPES[(opcode - 0x1a) / 4], (opcode - 0x1a) % 4, pc);
+            return true;
+        }
+        if (opcode >= 0x3b && opcode <= 0x4e) {
+            store(opcode >= 0x4b ? null : TYPES[(opcode - 0x3b) / 4], (opcode - 0x3b) % 4, pc, next);
+            return true;
+        }
+        if (opcode >= 0x60 && opcode <= 0x73) {
+            Expression right = pop();
+            Expression left = pop();
+            push(new Expression.Binary(TYPES[(opcode - 0x60) % 4], ARITHMETIC[(opcode - 0x60) / 4], left, right));
+            return true;
+        }
+        if (opcode >= 0x74 && opcode <= 0x77) {
+            push(new Expression.Unary(TYPES[opcode - 0x74], "-", pop()));
+            return true;
+        }
+        if (opcode >= 0x78 && opcode <= 0x83) {
+            // ishl 到 lxor，int 和 long 交替
+            Expression right = pop();
+            Expression left = pop();
+            push(new Expression.Binary(TYPES[(opcode - 0x78) % 2], BITWISE[(opcode - 0x78) / 2], left, right));
+            return true;
+        }
+        if (opcode >= 0x85 && opcode <= 0x93) {
+            push(new Expression.Cast(CONVERSIONS[opcode - 0x85], pop()));
+            return true;
+        }
+        if (opcode >= 0x99 && opcode <= 0x9e) {
+            // ifeq 到 ifle
+            Expression value = pop();
+            String operator = CONDITIONS[opcode - 0x99];
+            Expression condition;
+            if (value instanceof Expression.Compare) {
+                Expression.Compare compare = (Expression.Compare) value;
+                condition = new Expression.Binary("Z", operator, compare.getLeft(), compare.getRight());
+            } else if ("Z".equals(value.getType()) && (opcode == 0x99 || opcode == 0x9a)) {
+                condition = opcode == 0x99 ? new Expression.Unary("Z", "!", value) : value;
+            } else {
+                condition = new Expression.Binary("Z", operator, value, ZERO);
+            }
+            branch(pc, condition, pc + reader.readShort(codeOffset + pc + 1));
+            return true;
+        }
+        if (opcode >= 0x9f && opcode <= 0xa6) {
+            // if_icmpeq 到 if_acmpne
+            Expression right = pop();
+            Expression left = pop();
+            String operator = opcode >= 0xa5 ? CONDITIONS[opcode - 0xa5] : CONDITIONS[opcode - 0x9f];
+            branch(pc, new Expression.Binary("Z", operator, left, right), pc + reader.readShort(codeOffset + pc + 1));
+            return true;
+        }
+        switch (opcode) {
+            case 0x00:
+                // nop
+                return true;
+            case 0x01:
+                push(NULL);
+                return true;
+            case 0x09:
+            case 0x0a:
+                push(new Expression.Literal("J", (opcode - 0x09) + "L"));
+                return true;
+            case 0x0b:
+            case 0x0c:
+            case 0x0d:
+                push(new Expression.Literal("F", (opcode - 0x0b) + ".0f"));
+                return true;
+            case 0x0e:
+            case 0x0f:
+                push(new Expression.Literal("D", (opcode - 0x0e) + ".0"));
+                return true;
+            case 0x10:
+                push(new Expression.Literal("I", String.valueOf(reader.readByte(codeOffset + pc + 1))));
+                return true;
+            case 0x11:
+                push(new Expression.Literal("I", String.valueOf(reader.readShort(codeOffset + pc + 1))));
+                return true;
+            case 0x12:
+                push(constant(reader.readU1(codeOffset + pc + 1)));
+                return true;
+            case 0x13:
+            case 0x14:
+                push(constant(reader.readU2(codeOffset + pc + 1)));
+                return true;
+            case 0x15:
+            case 0x16:
+            case 0x17:
+            case 0x18:
+                load(TYPES[opcode - 0x15], reader.readU1(codeOffset + pc + 1), pc);
+                return true;
+            case 0x19:
+                load(null, reader.readU1(codeOffset + pc + 1), pc);
+                return true;
+            case 0x2e:
+            case 0x2f:
+            case 0x30:
+            case 0x31:
+            case 0x32:
+            case 0x33:
+            case 0x34:
+            case 0x35: {
+                Expression index = pop();
+                Expression array = pop();
+                String type = ELEMENTS[opcode - 0x2e];
+                if ((opcode == 0x32 || opcode == 0x33) && array.getType() != null && array.getType().startsWith("[")) {
+                    type = array.getType().substring(1);
+                }
+                push(new Expression.ArrayElement(type, array, index));
+                return true;
+            }
+            case 0x36:
+            case 0x37:
+            case 0x38:
+            case 0x39:
+                store(TYPES[opcode - 0x36], reader.readU1(codeOffset + pc + 1), pc, next);
+                return true;
+            case 0x3a:
+                store(null, reader.readU1(codeOffset + pc + 1), pc, next);
+                return true;
+            case 0x4f:
+            case 0x50:
+            case 0x51:
+            case 0x52:
+            case 0x53:
+            case 0x54:
+            case 0x55:
+            case 0x56: {
+                Expression value = pop();
+                Expression index = pop();
+                Expression array = pop();
+                statements.add(Statement.assign(pc, new Expression.ArrayElement(value.getType(), array, index), "=", value));
+                return true;
+            }
+            case 0x57:
+                discard(pc, pop());
+                return true;
+            case 0x58: {
+                Expression value = pop();
+                discard(pc, value);
+                if (!value.isWide()) {
+                    discard(pc, pop());
+                }
+                return true;
+            }
+            case 0x59:
+                makeSimple(pc, 0);
+                push(peek());
+                return true;
+            case 0x5a: {
+                makeSimple(pc, 0);
+                Expression v1 = pop();
+                Expression v2 = pop();
+                push(v1);
+                push(v2);
+                push(v1);
+                return true;
+            }
+            case 0x5b: {
+                makeSimple(pc, 0);
+                Expression v1 = pop();
+                Expression v2 = pop();
+                if (v2.isWide()) {
+                    push(v1);
+                    push(v2);
+                } else {
+                    Expression v3 = pop();
+                    push(v1);
+                    push(v3);
+                    push(v2);
+                }
+                push(v1);
+                return true;
+            }
+            case 0x5c: {
+                makeSimple(pc, 0);
+                if (peek().isWide()) {
+                    push(peek());
+                } else {
+                    makeSimple(pc, 1);
+                    Expression v1 = pop();
+                    Expression v2 = pop();
+                    push(v2);
+                    push(v1);
+                    push(v2);
+                    push(v1);
+                }
+                return true;
+            }
+            case 0x5d: {
+                makeSimple(pc, 0);
+                if (peek().isWide()) {
+                    Expression v1 = pop();
+                    Expression v2 = pop();
+                    push(v1);
+                    push(v2);
+                    push(v1);
+                } else {
+                    makeSimple(pc, 1);
+                    Expression v1 = pop();
+                    Expression v2 = pop();
+                    Expression v3 = pop();
+                    push(v2);
+                    push(v1);
+                    push(v3);
+                    push(v2);
+                    push(v1);
+                }
+                return true;
+            }
+            case 0x5e:
+                dup2x2(pc);
+                return true;
+            case 0x5f: {
+                Expression v1 = pop();
+                Expression v2 = pop();
+                push(v1);
+                push(v2);
+                return true;
+            }
+            case 0x84:
+                iinc(reader.readU1(codeOffset + pc + 1), reader.readByte(codeOffset + pc + 2), pc);
+                return true;
+            case 0x94:
+            case 0x95:
+            case 0x96:
+            case 0x97:
+            case 0x98: {
+                Expression right = pop();
+                Expression left = pop();
+                push(new Expression.Compare(left, right));
+                return true;
+            }
+            case 0xa7:
+                gotoTarget(pc, pc + reader.readShort(codeOffset + pc + 1));
+                return false;
+            case 0xc8:
+                gotoTarget(pc, pc + reader.readInt(codeOffset + pc + 1));
+                return false;
+            case 0xa8:
+                jsr(pc, pc + reader.readShort(codeOffset + pc + 1));
+                return true;
+            case 0xc9:
+                jsr(pc, pc + reader.readInt(codeOffset + pc + 1));
+                return true;
+            case 0xa9:
+                statements.add(Statement.simple(pc, Statement.Kind.RET, local(null, reader.readU1(codeOffset + pc + 1), pc)));
+                return false;
+            case 0xaa:
+                tableSwitch(pc);
+                return false;
+            case 0xab:
+                lookupSwitch(pc);
+                return false;
+            case 0xac:
+            case 0xad:
+            case 0xae:
+            case 0xaf:
+            case 0xb0:
+                statements.add(Statement.ret(pc, pop()));
+                return false;
+            case 0xb1:
+                statements.add(Statement.ret(pc, null));
+                return false;
+            case 0xb2:
+            case 0xb3:
+            case 0xb4:
+            case 0xb5:
+                field(pc, opcode);
+                return true;
+            case 0xb6:
+            case 0xb7:
+            case 0xb8:
+            case 0xb9:
+            case 0xba:
+                invoke(pc, opcode);
+                return true;
+            case 0xbb:
+                push(new Expression.Uninitialized(pool.getString(reader.readU2(codeOffset + pc + 1))));
+                return true;
+            case 0xbc: {
+                Expression count = pop();
+                push(new Expression.NewArray(PRIMITIVE_ARRAYS[reader.readU1(codeOffset + pc + 1) - 4], Lists.newArrayList(count)));
+                return true;
+            }
+            case 0xbd: {
+                Expression count = pop();
+                String element = Expression.classDescriptor(pool.getString(reader.readU2(codeOffset + pc + 1)));
+                push(new Expression.NewArray("[" + element, Lists.newArrayList(count)));
+                return true;
+            }
+            case 0xbe:
+                push(new Expression.ArrayLength(pop()));
+                return true;
+            case 0xbf:
+                statements.add(Statement.simple(pc, Statement.Kind.THROW, pop()));
+                return false;
+            case 0xc0:
+                push(new Expression.Cast(Expression.classDescriptor(pool.getString(reader.readU2(codeOffset + pc + 1))), pop()));
+                return true;
+            case 0xc1:
+                push(new Expression.InstanceOf(pop(), pool.getString(reader.readU2(codeOffset + pc + 1))));
+                return true;
+            case 0xc2:
+                statements.add(Statement.simple(pc, Statement.Kind.MONITOR_ENTER, pop()));
+                return true;
+            case 0xc3:
+                statements.add(Statement.simple(pc, Statement.Kind.MONITOR_EXIT, pop()));
+                return true;
+            case 0xc4:
+                wide(pc, next);
+                return true;
+            case 0xc5: {
+                String type = pool.getString(reader.readU2(codeOffset + pc + 1));
+                int dimensions = reader.readU1(codeOffset + pc + 3);
+                Expression[] counts = new Expression[dimensions];
+                for (int i = dimensions - 1; i >= 0; i--) {
+                    counts[i] = pop();
+                }
+                push(new Expression.NewArray(type, Arrays.asList(counts)));
+                return true;
+            }
+            case 0xc6:
+            case 0xc7:
+                branch(pc, new Expression.Binary("Z", opcode == 0xc6 ? "==" : "!=", pop(), NULL),
+                        pc + reader.readShort(codeOffset + pc + 1));
+                return true;
+            default:
+                // breakpoint、impdep1、impdep2 不会出现在 class 文件中
+                throw new IllegalStateException("unexpected opcode " + Integer.toHexString(opcode) + " at pc " + pc);
+        }
+    }
+
+    private void dup2x2(int pc) {
+        makeSimple(pc, 0);
+        if (!peek().isWide()) {
+            makeSimple(pc, 1);
+        }
+        Expression v1 = pop();
+        if (v1.isWide()) {
+            Expression v2 = pop();
+            if (v2.isWide()) {
+                push(v1);
+                push(v2);
+            } else {
+                Expression v3 = pop();
+                push(v1);
+                push(v3);
+                push(v2);
+            }
+            push(v1);
+            return;
+        }
+        Expression v2 = pop();
+        Expression v3 = pop();
+        if (v3.isWide()) {
+            push(v2);
+            push(v1);
+            push(v3);
+        } else {
+            Expression v4 = pop();
+            push(v2);
+            push(v1);
+            push(v4);
+            push(v3);
+        }
+        push(v2);
+        push(v1);
+    }
+
+    private void wide(int pc, int next) {
+        int opcode = reader.readU1(codeOffset + pc + 1);
+        int index = reader.readU2(codeOffset + pc + 2);
+        if (opcode == 0x84) {
+            iinc(index, reader.readShort(codeOffset + pc + 4), pc);
+        } else if (opcode >= 0x15 && opcode <= 0x19) {
+            load(opcode == 0x19 ? null : TYPES[opcode - 0x15], index, pc);
+        } else if (opcode >= 0x36 && opcode <= 0x3a) {
+            store(opcode == 0x3a ? null : TYPES[opcode - 0x36], index, pc, next);
+        } else if (opcode == 0xa9) {
+            statements.add(Statement.simple(pc, Statement.Kind.RET, local(null, index, pc)));
+        } else {
+            throw new IllegalStateException("bad wide opcode " + Integer.toHexString(opcode) + " at pc " + pc);
+        }
+    }
+
+    private void branch(int pc, Expression condition, int target) {
+        jumpTo(pc, target);
+        statements.add(Statement.jump(pc, Statement.Kind.IF, condition, target));
+    }
+
+    private void gotoTarget(int pc, int target) {
+        jumpTo(pc, target);
+        statements.add(Statement.jump(pc, Statement.Kind.GOTO, null, target));
+    }
+
+    private void jsr(int pc, int target) {
+        // 子程序入口处栈顶是返回地址
+        push(new Expression.Literal(null, "returnAddress"));
+        jumpTo(pc, target);
+        pop();
+        statements.add(Statement.jump(pc, Statement.Kind.JSR, null, target));
+    }
+
+    private void tableSwitch(int pc) {
+        Expression value = pop();
+        int base = codeOffset + pc + 1 + OpcodeParser.padding(pc);
+        int low = reader.readInt(base + 4);
+        int high = reader.readInt(base + 8);
+        int[] keys = new int[high - low + 1];
+        int[] jumps = new int[keys.length + 1];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = low + i;
+            jumps[i] = pc + reader.readInt(base + 12 + 4 * i);
+        }
+        jumps[keys.length] = pc + reader.readInt(base);
+        switchTo(pc, value, keys, jumps);
+    }
+
+    private void lookupSwitch(int pc) {
+        Expression value = pop();
+        int base = codeOffset + pc + 1 + OpcodeParser.padding(pc);
+        int npairs = reader.readInt(base + 4);
+        int[] keys = new int[npairs];
+        int[] jumps = new int[npairs + 1];
+        for (int i = 0; i < npairs; i++) {
+            keys[i] = reader.readInt(base + 8 + 8 * i);
+            jumps[i] = pc + reader.readInt(base + 12 + 8 * i);
+        }
+        jumps[npairs] = pc + reader.readInt(base);
+        switchTo(pc, value, keys, jumps);
+    }
+
+    private void switchTo(int pc, Expression value, int[] keys, int[] jumps) {
+        for (int target : jumps) {
+            jumpTo(pc, target);
+        }
+        statements.add(Statement.tableSwitch(pc, value, keys, jumps));
+    }
+
+    private void field(int pc, int opcode) {
+        int index = reader.readU2(codeOffset + pc + 1);
+        String owner = pool.getString(pool.getRef(index, 0));
+        int nameAndType = pool.getRef(index, 1);
+        String name = pool.getString(pool.getRef(nameAndType, 0));
+        String type = pool.getString(pool.getRef(nameAndType, 1));
+        switch (opcode) {
+            case 0xb2:
+                push(new Expression.Field(null, owner, name, type));
+                break;
+            case 0xb3:
+                statements.add(Statement.assign(pc, new Expression.Field(null, owner, name, type), "=", pop()));
+                break;
+            case 0xb4:
+                push(new Expression.Field(pop(), owner, name, type));
+                break;
+            default: {
+                Expression value = pop();
+                Expression target = pop();
+                statements.add(Statement.assign(pc, new Expression.Field(target, owner, name, type), "=", value));
+            }
+        }
+    }
+
+    private void invoke(int pc, int opcode) {
+        int index = reader.readU2(codeOffset + pc + 1);
+        String owner;
+        int nameAndType;
+        if (opcode == 0xba) {
+            owner = "invokedynamic";
+            nameAndType = pool.getRef(index, 1);
+        } else {
+            owner = pool.getString(pool.getRef(index, 0));
+            nameAndType = pool.getRef(index, 1);
+        }
+        String name = pool.getString(pool.getRef(nameAndType, 0));
+        String descriptor = pool.getString(pool.getRef(nameAndType, 1));
+        MethodSignature signature = SignatureParser.parseMethod(descriptor);
+        int argumentCount = signature.getParameters().size();
+        Expression[] arguments = new Expression[argumentCount];
+        for (int i = argumentCount - 1; i >= 0; i--) {
+            arguments[i] = pop();
+        }
+        Expression target = opcode == 0xb8 || opcode == 0xba ? null : pop();
+        String returnType = signature.getReturnType().getDescriptor();
+
+        if (target instanceof Expression.Uninitialized && "<init>".equals(name)) {
+            Expression created = new Expression.New(((Expression.Uninitialized) target).getOwner(), Arrays.asList(arguments));
+            boolean used = false;
+            for (int i = 0; i < top; i++) {
+                if (stack[i] == target) {
+                    stack[i] = created;
+                    used = true;
+                }
+            }
+            if (!used) {
+                statements.add(Statement.expression(pc, created));
+            }
+            return;
+        }
+        Expression invoke = new Expression.Invoke(target, owner, name, descriptor, returnType, Arrays.asList(arguments),
+                opcode == 0xb7, classFile.getName());
+        if ("V".equals(returnType)) {
+            statements.add(Statement.expression(pc, invoke));
+        } else {
+            push(invoke);
+        }
+    }
+
+    private Expression constant(int index) {
+        switch (pool.getTag(index)) {
+            case ConstantPool.CONSTANT_INTEGER:
+                return new Expression.Literal("I", String.valueOf(pool.getInt(index)));
+            case ConstantPool.CONSTANT_FLOAT:
+                return Expression.Literal.ofFloat(pool.getFloat(index));
+            case ConstantPool.CONSTANT_LONG:
+                return new Expression.Literal("J", pool.getLong(index) + "L");
+            case ConstantPool.CONSTANT_DOUBLE:
+                return Expression.Literal.ofDouble(pool.getDouble(index));
+            case ConstantPool.CONSTANT_STRING:
+                return Expression.Literal.of(pool.getString(index));
+            case ConstantPool.CONSTANT_CLASS:
+                return new Expression.Literal("Ljava/lang/Class;",
+                        Expression.typeName(Expression.classDescriptor(pool.getString(index))) + ".class");
+            default:
+                // MethodType、MethodHandle、动态常量
+                return new Expression.Literal(null, pool.getString(index));
+        }
+    }
+}
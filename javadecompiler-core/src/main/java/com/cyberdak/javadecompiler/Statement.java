@@ -0,0 +1,165 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * {@link StackSimulator} 输出的一条语句。控制流还没有结构化，跳转输出为 goto 到标签 L+pc。
+ */
+public class Statement {
+
+    public enum Kind {
+        LABEL, EXPRESSION, ASSIGN, RETURN, THROW, IF, GOTO, SWITCH, MONITOR_ENTER, MONITOR_EXIT, JSR, RET
+    }
+
+    private final int pc;
+    private final Kind kind;
+    private final Expression target;
+    private final Expression value;
+    private final String operator;
+    private final int[] keys;
+    private final int[] targets;
+    private final String comment;
+
+    private Statement(int pc, Kind kind, Expression target, Expression value, String operator, int[] keys, int[] targets, String comment) {
+        this.pc = pc;
+        this.kind = kind;
+        this.target = target;
+        this.value = value;
+        this.operator = operator;
+        this.keys = keys;
+        this.targets = targets;
+        this.comment = comment;
+    }
+
+    public static Statement label(int pc, String comment) {
+        return new Statement(pc, Kind.LABEL, null, null, null, null, null, comment);
+    }
+
+    public static Statement expression(int pc, Expression value) {
+        return new Statement(pc, Kind.EXPRESSION, null, value, null, null, null, null);
+    }
+
+    /**
+     * @param operator = 或 +=（iinc）
+     */
+    public static Statement assign(int pc, Expression target, String operator, Expression value) {
+        return new Statement(pc, Kind.ASSIGN, target, value, operator, null, null, null);
+    }
+
+    /**
+     * @param value 无返回值时为 null
+     */
+    public static Statement ret(int pc, Expression value) {
+        return new Statement(pc, Kind.RETURN, null, value, null, null, null, null);
+    }
+
+    public static Statement simple(int pc, Kind kind, Expression value) {
+        return new Statement(pc, kind, null, value, null, null, null, null);
+    }
+
+    public static Statement jump(int pc, Kind kind, Expression condition, int target) {
+        return new Statement(pc, kind, null, condition, null, null, new int[]{target}, null);
+    }
+
+    /**
+     * @param keys    每个 case 的值
+     * @param targets 与 keys 对应的跳转目标，最后一项为 default
+     */
+    public static Statement tableSwitch(int pc, Expression value, int[] keys, int[] targets) {
+        return new Statement(pc, Kind.SWITCH, null, value, null, keys, targets, null);
+    }
+
+    public int getPc() {
+        return pc;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Expression getTarget() {
+        return target;
+    }
+
+    public Expression getValue() {
+        return value;
+    }
+
+    public int getJumpTarget() {
+        return targets[0];
+    }
+
+    public void appendTo(StringBuilder sb) {
+        switch (kind) {
+            case LABEL:
+                sb.append('L').append(pc).append(':');
+                if (comment != null) {
+                    sb.append(" // ").append(comment);
+                }
+                break;
+            case EXPRESSION:
+                value.appendTo(sb);
+                sb.append(';');
+                break;
+            case ASSIGN:
+                target.appendTo(sb);
+                sb.append(' ').append(operator).append(' ');
+                value.appendTo(sb);
+                sb.append(';');
+                break;
+            case RETURN:
+                sb.append("return");
+                if (value != null) {
+                    sb.append(' ');
+                    value.appendTo(sb);
+                }
+                sb.append(';');
+                break;
+            case THROW:
+                sb.append("throw ");
+                value.appendTo(sb);
+                sb.append(';');
+                break;
+            case IF:
+                sb.append("if (");
+                value.appendTo(sb);
+                sb.append(") goto L").append(targets[0]).append(';');
+                break;
+            case GOTO:
+                sb.append("goto L").append(targets[0]).append(';');
+                break;
+            case SWITCH:
+                sb.append("switch (");
+                value.appendTo(sb);
+                sb.append(") {");
+                for (int i = 0; i < keys.length; i++) {
+                    sb.append(" case ").append(keys[i]).append(": goto L").append(targets[i]).append(';');
+                }
+                sb.append(" default: goto L").append(targets[keys.length]).append("; }");
+                break;
+            case MONITOR_ENTER:
+                sb.append("monitorenter(");
+                value.appendTo(sb);
+                sb.append(");");
+                break;
+            case MONITOR_EXIT:
+                sb.append("monitorexit(");
+                value.appendTo(sb);
+                sb.append(");");
+                break;
+            case JSR:
+                sb.append("jsr L").append(targets[0]).append(';');
+                break;
+            case RET:
+                sb.append("ret ");
+                value.appendTo(sb);
+                sb.append(';');
+                break;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+}
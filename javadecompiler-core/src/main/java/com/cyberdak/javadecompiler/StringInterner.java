@@ -0,0 +1,220 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 常量池 UTF-8 字符串的驻留表，被同一组常驻内存的 {@link ClassFile}（例如 {@link ClassFileCache}）共享。
+ * java/lang/Object、Code、()V 这类字符串几乎每个类都有，同时保留上千个类时重复的 String 会占掉大部分堆。
+ * 表中的字符串直到驻留表本身被回收才释放，解析完就丢弃的类不要使用驻留表。
+ * <p>
+ * 查找直接用 class 文件中的原始字节计算 hash 并逐字节比较，命中时不会先解码出一个 String。
+ * 表分成若干段，读不加锁，未命中时只锁住所在的段再插入。超过 {@link #MAX_LENGTH} 字节的字符串很少重复，不驻留。
+ */
+public class StringInterner {
+    public static final int MAX_LENGTH = 512;
+
+    private static final int SEGMENTS = 64;
+    // java 9 起 String 默认压缩存储，只含 Latin-1 字符时每个字符 1 字节
+    private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version", "1.").startsWith("1.");
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public StringInterner() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * reader 中 offset 开始的 length 个字节（CONSTANT_Utf8_info 的 bytes）对应的字符串，相同的字节总是返回同一个实例。
+     */
+    public String intern(ClassReader reader, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return reader.readUtf8(offset, length);
+        }
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + reader.readByte(offset + i);
+        }
+        // 高位再混合一次，避免只用到低位
+        hash ^= hash >>> 16;
+        return segments[hash & (SEGMENTS - 1)].intern(reader, offset, length, hash);
+    }
+
+    /**
+     * 命中的次数，每次命中都少创建了一个 String。
+     */
+    public long getHitCount() {
+        long hits = 0;
+        for (Segment segment : segments) {
+            hits += segment.hits.get();
+        }
+        return hits;
+    }
+
+    public long getMissCount() {
+        long misses = 0;
+        for (Segment segment : segments) {
+            misses += segment.misses.get();
+        }
+        return misses;
+    }
+
+    /**
+     * 表中不同字符串的个数。
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * 命中时省下的内存（估算），即这些重复的 String 本来会占用的大小。
+     */
+    public long getSavedBytes() {
+        long saved = 0;
+        for (Segment segment : segments) {
+            saved += segment.savedBytes.get();
+        }
+        return saved;
+    }
+
+    /**
+     * 表本身额外占用的内存（估算）：用来比较的原始字节和链表节点，不包括驻留的 String。
+     */
+    public long getRetainedBytes() {
+        long retained = 0;
+        for (Segment segment : segments) {
+            retained += segment.retainedBytes.get();
+        }
+        return retained;
+    }
+
+    /**
+     * 一个 String 的大致大小：对象头和字段 24 字节，数组头 16 字节，数组按 8 字节对齐。
+     */
+    static long stringSize(String value) {
+        long bytes = 2L * value.length();
+        if (COMPACT_STRINGS && isLatin1(value)) {
+            bytes = value.length();
+        }
+        return 24 + ((16 + bytes + 7) & ~7L);
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "StringInterner[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", saved=" + getSavedBytes() / 1024 + "KB, retained=" + getRetainedBytes() / 1024 + "KB]";
+    }
+
+    private static class Entry {
+        final byte[] bytes;
+        final int hash;
+        final String value;
+        // value 的估算大小，命中时累加到 savedBytes
+        final long size;
+        final Entry next;
+
+        Entry(byte[] bytes, int hash, String value, long size, Entry next) {
+            this.bytes = bytes;
+            this.hash = hash;
+            this.value = value;
+            this.size = size;
+            this.next = next;
+        }
+
+        boolean matches(ClassReader reader, int offset, int length, int hash) {
+            if (this.hash != hash || bytes.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] != reader.readByte(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 链表节点不可变，插入时替换桶的头节点，所以读线程不加锁也能看到完整的链表。
+     */
+    private static class Segment {
+        private volatile AtomicReferenceArray<Entry> table = new AtomicReferenceArray<Entry>(64);
+        // 只在持有锁时修改
+        private volatile int count;
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong savedBytes = new AtomicLong();
+        final AtomicLong retainedBytes = new AtomicLong();
+
+        String intern(ClassReader reader, int offset, int length, int hash) {
+            Entry entry = find(table, reader, offset, length, hash);
+            if (entry != null) {
+                return hit(entry);
+            }
+            synchronized (this) {
+                AtomicReferenceArray<Entry> current = table;
+                entry = find(current, reader, offset, length, hash);
+                if (entry != null) {
+                    return hit(entry);
+                }
+                byte[] bytes = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    bytes[i] = reader.readByte(offset + i);
+                }
+                String value = reader.readUtf8(offset, length);
+                if (count >= current.length() * 3 / 4) {
+                    current = resize(current);
+                    table = current;
+                }
+                int bucket = (hash >>> 6) & (current.length() - 1);
+                current.set(bucket, new Entry(bytes, hash, value, stringSize(value), current.get(bucket)));
+                count++;
+                misses.incrementAndGet();
+                retainedBytes.addAndGet(16 + ((length + 7) & ~7) + 32);
+                return value;
+            }
+        }
+
+        private String hit(Entry entry) {
+            hits.incrementAndGet();
+            savedBytes.addAndGet(entry.size);
+            return entry.value;
+        }
+
+        private static Entry find(AtomicReferenceArray<Entry> table, ClassReader reader, int offset, int length, int hash) {
+            // 低 6 位已经用来选段
+            for (Entry entry = table.get((hash >>> 6) & (table.length() - 1)); entry != null; entry = entry.next) {
+                if (entry.matches(reader, offset, length, hash)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        private static AtomicReferenceArray<Entry> resize(AtomicReferenceArray<Entry> old) {
+            AtomicReferenceArray<Entry> table = new AtomicReferenceArray<Entry>(old.length() * 2);
+            for (int i = 0; i < old.length(); i++) {
+                for (Entry entry = old.get(i); entry != null; entry = entry.next) {
+                    int bucket = (entry.hash >>> 6) & (table.length() - 1);
+                    table.set(bucket, new Entry(entry.bytes, entry.hash, entry.value, entry.size, table.get(bucket)));
+                }
+            }
+            return table;
+        }
+    }
+}
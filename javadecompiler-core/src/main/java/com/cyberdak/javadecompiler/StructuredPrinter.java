@@ -0,0 +1,205 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.List;
+
+/**
+ * 把解析事件输出成 JSON Lines：每个事件一行 JSON 对象，"event" 为事件名，常量池索引都解析成字符串。
+ * 方便其他工具按行读取、过滤，而不是去解析给人看的文本。
+ */
+public class StructuredPrinter extends ParseListener {
+
+    private final StringBuilder out = new StringBuilder();
+    private ConstantPool pool;
+    // 当前对象是否已经写过字段，用来决定是否需要逗号
+    private boolean first;
+
+    private StructuredPrinter begin(String event) {
+        out.append('{');
+        first = true;
+        return field("event", event);
+    }
+
+    private void end() {
+        out.append("}\n");
+    }
+
+    private StructuredPrinter field(String key, Object value) {
+        if (!first) {
+            out.append(',');
+        }
+        first = false;
+        quote(key);
+        out.append(':');
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof List) {
+            out.append('[');
+            List<?> values = (List<?>) value;
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                quote(String.valueOf(values.get(i)));
+            }
+            out.append(']');
+        } else {
+            quote(value.toString());
+        }
+        return this;
+    }
+
+    private void quote(String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    @Override
+    public void magic(int magic) {
+        begin("magic").field("magic", Integer.toHexString(magic)).field("valid", magic == 0xcafebabe);
+        end();
+    }
+
+    @Override
+    public void version(int minorVersion, int majorVersion) {
+        begin("version").field("minor", minorVersion).field("major", majorVersion);
+        end();
+    }
+
+    @Override
+    public void constantPool(ConstantPool pool) {
+        this.pool = pool;
+        begin("constantPool").field("count", pool.size() - 1);
+        end();
+        for (int index = 1; index < pool.size(); index++) {
+            int tag = pool.getTag(index);
+            if (tag == 0) {
+                // long 和 double 的第二个索引位置
+                continue;
+            }
+            begin("constant").field("index", index).field("tag", ConstantPool.getTagName(tag)).field("value", pool.getString(index));
+            end();
+        }
+    }
+
+    @Override
+    public void classInfo(int accessFlags, int thisClassIndex, int superClassIndex, List<String> interfaces) {
+        begin("class").field("flags", ClassParser.getFlags(accessFlags, ClassParser.accessFlagMap))
+                .field("name", pool.getString(thisClassIndex))
+                .field("super", pool.getString(superClassIndex))
+                .field("interfaces", interfaces);
+        end();
+    }
+
+    @Override
+    public void fieldCount(int count) {
+        begin("fieldCount").field("count", count);
+        end();
+    }
+
+    @Override
+    public void field(int accessFlags, int nameIndex, int descriptorIndex, int attributesCount) {
+        begin("field").field("flags", ClassParser.getFlags(accessFlags, ClassParser.fieldFlagMap))
+                .field("name", pool.getString(nameIndex))
+                .field("descriptor", pool.getString(descriptorIndex))
+                .field("attributes", attributesCount);
+        end();
+    }
+
+    @Override
+    public void methodCount(int count) {
+        begin("methodCount").field("count", count);
+        end();
+    }
+
+    @Override
+    public void method(int accessFlags, int nameIndex, int descriptorIndex, int attributesCount) {
+        begin("method").field("flags", ClassParser.getFlags(accessFlags, ClassParser.methodFlagMap))
+                .field("name", pool.getString(nameIndex))
+                .field("descriptor", pool.getString(descriptorIndex))
+                .field("attributes", attributesCount);
+        end();
+    }
+
+    @Override
+    public void attributeStart(int nameIndex, String name, int length) {
+        begin("attributeStart").field("name", name).field("length", length);
+        end();
+    }
+
+    @Override
+    public void code(ClassReader reader, int maxStack, int maxLocals, int codeOffset, int codeLength,
+                     List<ExceptionHandler> exceptionTable, int attributesCount) {
+        begin("code").field("maxStack", maxStack).field("maxLocals", maxLocals).field("codeLength", codeLength)
+                .field("exceptionTable", exceptionTable).field("attributes", attributesCount);
+        end();
+        for (int pc = 0; pc < codeLength; pc += OpcodeParser.length(reader, codeOffset, pc)) {
+            begin("instruction").field("pc", pc).field("opcode", OpCode.of(reader.readU1(codeOffset + pc)).name());
+            end();
+        }
+    }
+
+    @Override
+    public void annotation(int typeIndex) {
+        begin("annotation").field("type", pool.getString(typeIndex));
+        end();
+    }
+
+    @Override
+    public void elementName(int elementNameIndex) {
+        begin("elementName").field("name", pool.getString(elementNameIndex));
+        end();
+    }
+
+    @Override
+    public void elementValue(int tag, int valueIndex, int constNameIndex) {
+        String value = pool.getString(valueIndex);
+        if (tag == 'e') {
+            value = value + "." + pool.getString(constNameIndex);
+        }
+        begin("elementValue").field("tag", String.valueOf((char) tag)).field("value", value);
+        end();
+    }
+
+    @Override
+    public void attributeEnd(Attributes attribute) {
+        begin("attributeEnd").field("name", attribute.getName()).field("value", attribute.toString());
+        end();
+    }
+
+    public String getText() {
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,266 @@
+package com.cyberdak.javadecompiler;
+
+import java.util.List;
+
+/**
+ * 把解析事件输出成文本，格式与原来直接打印到控制台的结构信息一致。
+ * 输出先写入缓冲区，解析完成后一次性取出，不会和其他线程的输出交错。
+ */
+public class TextPrinter extends ParseListener {
+
+    private final StringBuilder out = new StringBuilder();
+    private ConstantPool pool;
+
+    private void println(Object line) {
+        out.append(line).append('\n');
+    }
+
+    @Override
+    public void magic(int magic) {
+        println("1. magic ################################################");
+        println(magic == 0xcafebabe ? "valid class file." : "invalid class file.");
+    }
+
+    @Override
+    public void version(int minorVersion, int majorVersion) {
+        println("2. version ################################################");
+        println("minorVersion:" + minorVersion);
+        println("majorVersion：" + majorVersion);
+    }
+
+    @Override
+    public void constantPool(ConstantPool pool) {
+        this.pool = pool;
+        println("3. constant pool ################################################");
+        println("constantPoolCount:" + (pool.size() - 1));
+        for (int index = 1; index < pool.size(); index++) {
+            switch (pool.getTag(index)) {
+                case ConstantPool.CONSTANT_CLASS:
+                    println("#" + index + "\t=\tCONSTANT_CLASS\tnameIndex:" + pool.getRef(index, 0));
+                    break;
+                case ConstantPool.CONSTANT_METHODREF:
+                    println("#" + index + "\t=\tCONSTANT_METHODREF\tclass Index :" + pool.getRef(index, 0) + ",nameAndTypeIndex:" + pool.getRef(index, 1));
+                    break;
+                case ConstantPool.CONSTANT_INTERFACE:
+                    println("#" + index + "\t inteface Index :" + pool.getRef(index, 0) + ",nameAndTypeIndex:" + pool.getRef(index, 1));
+                    break;
+                case ConstantPool.CONSTANT_STRING:
+                    println("#" + index + "\tstring_index :" + pool.getRef(index, 0));
+                    break;
+                case ConstantPool.CONSTANT_INTEGER:
+                    println("#" + index + "\tinteger value : " + pool.getInt(index));
+                    break;
+                case ConstantPool.CONSTANT_FLOAT:
+                    println("#" + index + "\tfloat value : " + pool.getFloat(index));
+                    break;
+                case ConstantPool.CONSTANT_LONG:
+                    println("#" + index + "\t" + pool.getLong(index));
+                    break;
+                case ConstantPool.CONSTANT_DOUBLE:
+                    println("#" + index + "\t" + pool.getDouble(index));
+                    break;
+                case ConstantPool.CONSTANT_UTF_8:
+                    int length = pool.getUtf8Length(index);
+                    println("#" + index + "\t=\tCONSTANT_UTF_8\tint:\t" + length + "\thex:" + Integer.toHexString(length) + "\t" + pool.getUtf8(index));
+                    break;
+            }
+        }
+
+        println("打印 ");
+        for (int index = 1; index < pool.size(); index++) {
+            String value = pool.getString(index);
+            if (value != null) {
+                println(index + ":" + value);
+            }
+        }
+    }
+
+    @Override
+    public void classInfo(int accessFlags, int thisClassIndex, int superClassIndex, List<String> interfaces) {
+        println("4. 访问标记 ################################################");
+        println(" class accessFlag:" + accessFlags + "\t" + Integer.toHexString(accessFlags) + "\t" + ClassParser.getFlags(accessFlags, ClassParser.accessFlagMap));
+        println("5. 当前类、父类和接口 ################################################");
+        println("thisClassIndex : " + thisClassIndex + "\t" + Integer.toHexString(thisClassIndex) + "\t" + pool.getString(thisClassIndex));
+        println("superClassIndex : " + superClassIndex + "\t" + Integer.toHexString(superClassIndex) + "\t" + pool.getString(superClassIndex));
+        println("interface count : " + interfaces.size());
+    }
+
+    @Override
+    public void fieldCount(int count) {
+        println("6. 字段 ################################################");
+        println("field count : " + count + "\t" + Integer.toHexString(count) + "\t");
+    }
+
+    @Override
+    public void field(int accessFlags, int nameIndex, int descriptorIndex, int attributesCount) {
+        println("field access flag :" + ClassParser.getFlags(accessFlags, ClassParser.fieldFlagMap) + ", name : " + pool.getString(nameIndex) +
+                ", descriptor :" + pool.getString(descriptorIndex) + ",attributesCount:" + attributesCount);
+    }
+
+    @Override
+    public void methodCount(int count) {
+        println("7. 方法基本结构 ################################################");
+        println("method count : " + count);
+    }
+
+    @Override
+    public void method(int accessFlags, int nameIndex, int descriptorIndex, int attributesCount) {
+        println("method access flag :" + ClassParser.getFlags(accessFlags, ClassParser.methodFlagMap) + ", name : " + pool.getString(nameIndex) +
+                ", descriptor :" + pool.getString(descriptorIndex) + ",attributesCount:" + attributesCount);
+    }
+
+    @Override
+    public void attributeStart(int nameIndex, String name, int length) {
+        println("attribute name index : " + nameIndex + ", attribute name :" + name + ",length : " + length);
+        if (name == null) {
+            return;
+        }
+        switch (name) {
+            case Constants.CONSTANT_VALUE:
+                println("constant value");
+                break;
+            case Constants.DEPRECATED:
+                println("deprecated");
+                break;
+            case Constants.STACK_MAP_TABLE:
+                println("stack_map_table");
+                break;
+            case Constants.INNER_CLASSES:
+                println("inner_classes");
+                break;
+            case Constants.ENCLOSING_METHOD:
+                println("enclosing_method");
+                break;
+            case Constants.SYNTHETIC:
+                println("synthetic");
+                break;
+            case Constants.SIGNATURE:
+                println("signature");
+                break;
+            case Constants.SOURCE_FILE:
+                println("source file :");
+                break;
+            case Constants.LINE_NUMBER_TABLE:
+                println("line number table:");
+                break;
+            case Constants.LOCAL_VARIABLE_TABLE:
+                println("local variable table:");
+                break;
+            case Constants.LOCAL_VARIABLE_TYPE_TABLE:
+                println("local variable type table:");
+                break;
+            case Constants.RUNTIME_VISIBLE_ANNOTATIONS:
+                println("visible annotations : ");
+                break;
+            case Constants.RUNTIME_INVISIBLE_ANNOTATIONS:
+                println("invisible annotations : ");
+                break;
+            case Constants.RUNTIME_VISIBLE_PARAMETER_ANNOTATIONS:
+                println("visible parameter annotations : ");
+                break;
+            case Constants.RUNTIME_INVISIBLE_PARAMETER_ANNOTATIONS:
+                println("invisible parameter annotations : ");
+                break;
+            case Constants.ANNOTATION_DEFAULT:
+                println("annotation default");
+                break;
+            case Constants.BOOTSTRAP_METHODS:
+                println("bootstrap method");
+                break;
+            case Constants.EXCEPTIONS:
+                println("exceptions");
+                break;
+            case Constants.CODE:
+                println("code");
+                break;
+        }
+    }
+
+    @Override
+    public void code(ClassReader reader, int maxStack, int maxLocals, int codeOffset, int codeLength,
+                     List<ExceptionHandler> exceptionTable, int attributesCount) {
+        println("maxStack : " + maxStack);
+        println("maxLocals : " + maxLocals);
+        println("codeLength : " + codeLength);
+        for (int pc = 0; pc < codeLength; pc += OpcodeParser.length(reader, codeOffset, pc)) {
+            int opcode = reader.readU1(codeOffset + pc);
+            println(String.format("%x", opcode) + " --> " + OpCode.of(opcode));
+        }
+        println("exceptionTableLength : " + exceptionTable.size());
+        for (ExceptionHandler handler : exceptionTable) {
+            println(handler);
+        }
+        println("method code att count : " + attributesCount);
+    }
+
+    @Override
+    public void annotation(int typeIndex) {
+        println("prase annotation:");
+        println("type : " + pool.getString(typeIndex));
+    }
+
+    @Override
+    public void elementName(int elementNameIndex) {
+        println("element name : " + pool.getString(elementNameIndex));
+    }
+
+    @Override
+    public void elementValue(int tag, int valueIndex, int constNameIndex) {
+        if (tag == 'e') {
+            println("element value : " + pool.getString(valueIndex) + "." + pool.getString(constNameIndex));
+        } else {
+            println("element value : " + pool.getString(valueIndex));
+        }
+    }
+
+    @Override
+    public void attributeEnd(Attributes attribute) {
+        if (attribute instanceof ValueAttribute) {
+            ValueAttribute value = (ValueAttribute) attribute;
+            if (Constants.SOURCE_FILE.equals(attribute.getName())) {
+                println("sourceFileIndex : " + value.getValueIndex());
+                println("source file :" + value.getValue());
+            } else if (Constants.SIGNATURE.equals(attribute.getName())) {
+                println(value.getValue());
+                println("java : " + SignatureParser.toJava(value.getValue()));
+            } else {
+                println(value.getValue());
+            }
+        } else if (attribute instanceof InnerClassesAttribute) {
+            for (InnerClass innerClass : ((InnerClassesAttribute) attribute).getClasses()) {
+                println("class info : innerClassInfo " + innerClass.getInnerClass() + ",outerClassInfo: " + innerClass.getOuterClass()
+                        + ",innerClassName :" + innerClass.getInnerName() + ",innerClassAccessFlag : "
+                        + ClassParser.getFlags(innerClass.getAccessFlags(), ClassParser.innerClassFlagMap));
+            }
+        } else if (attribute instanceof StackMapTable) {
+            for (StackMapFrame frame : ((StackMapTable) attribute).getFrames()) {
+                println("frame " + frame);
+            }
+        } else if (attribute instanceof LineNumberTable) {
+            LineNumberTable table = (LineNumberTable) attribute;
+            for (int i = 0; i < table.size(); i++) {
+                println("startPc:" + table.getStartPc(i) + ",lineNumber:" + table.getLineNumber(i));
+            }
+        } else if (attribute instanceof LocalVariableTable) {
+            boolean typeTable = Constants.LOCAL_VARIABLE_TYPE_TABLE.equals(attribute.getName());
+            for (LocalVariable variable : ((LocalVariableTable) attribute).getVariables()) {
+                println("startPc:" + variable.getStartPc() + ",length:" + variable.getLength() + ",name:" + variable.getName() +
+                        ",descriptor:" + variable.getDescriptor() + ",index:" + variable.getIndex()
+                        + (typeTable ? ",type:" + SignatureParser.toJava(variable.getDescriptor()) : ""));
+            }
+        } else if (attribute instanceof ExceptionsAttribute) {
+            for (String exception : ((ExceptionsAttribute) attribute).getExceptions()) {
+                println("exceptions : " + exception);
+            }
+        }
+    }
+
+    public String getText() {
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,292 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * 字段描述符或泛型签名中的一个类型，由 {@link SignatureParser} 生成，不可变。
+ * toString 为 java 源码形式，例如 java.util.Map&lt;java.lang.String, ? extends T&gt;[]。
+ */
+public abstract class TypeSignature {
+
+    /**
+     * 擦除后的字段描述符，类型变量擦除为 Object。
+     */
+    public abstract String getDescriptor();
+
+    public abstract void appendTo(StringBuilder sb);
+
+    /**
+     * long 和 double 占两个局部变量 slot。
+     */
+    public boolean isWide() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    static void appendList(StringBuilder sb, List<? extends TypeSignature> types) {
+        for (int i = 0; i < types.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            types.get(i).appendTo(sb);
+        }
+    }
+
+    /**
+     * 基本类型和 void，每种只有一个实例。
+     */
+    public static class Primitive extends TypeSignature {
+        private static final String CODES = "BCDFIJSZV";
+        private static final Primitive[] VALUES = new Primitive[CODES.length()];
+
+        static {
+            for (int i = 0; i < VALUES.length; i++) {
+                String code = String.valueOf(CODES.charAt(i));
+                VALUES[i] = new Primitive(CODES.charAt(i), Constants.typeMaaping.get(code));
+            }
+        }
+
+        private final char code;
+        private final String name;
+
+        private Primitive(char code, String name) {
+            this.code = code;
+            this.name = name;
+        }
+
+        /**
+         * @return code 不是基本类型时返回 null
+         */
+        public static Primitive of(char code) {
+            int i = CODES.indexOf(code);
+            return i < 0 ? null : VALUES[i];
+        }
+
+        public char getCode() {
+            return code;
+        }
+
+        @Override
+        public String getDescriptor() {
+            return String.valueOf(code);
+        }
+
+        @Override
+        public boolean isWide() {
+            return code == 'J' || code == 'D';
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append(name);
+        }
+    }
+
+    /**
+     * 类或接口类型。内部类的泛型形式 Outer&lt;T&gt;.Inner 中 outer 为 Outer&lt;T&gt;，否则为 null。
+     */
+    public static class ClassType extends TypeSignature {
+        private final String name;
+        private final List<TypeSignature> typeArguments;
+        private final ClassType outer;
+        private final String simpleName;
+
+        public ClassType(String name, List<TypeSignature> typeArguments, ClassType outer, String simpleName) {
+            this.name = name;
+            this.typeArguments = ImmutableList.copyOf(typeArguments);
+            this.outer = outer;
+            this.simpleName = simpleName;
+        }
+
+        /**
+         * 内部类名，例如 java/util/Map$Entry。
+         */
+        public String getName() {
+            return name;
+        }
+
+        public List<TypeSignature> getTypeArguments() {
+            return typeArguments;
+        }
+
+        public ClassType getOuter() {
+            return outer;
+        }
+
+        @Override
+        public String getDescriptor() {
+            return "L" + name + ";";
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            if (outer != null) {
+                outer.appendTo(sb);
+                sb.append('.').append(simpleName);
+            } else {
+                sb.append(Decompiler.javaName(name));
+            }
+            if (!typeArguments.isEmpty()) {
+                sb.append('<');
+                appendList(sb, typeArguments);
+                sb.append('>');
+            }
+        }
+    }
+
+    public static class ArrayType extends TypeSignature {
+        private final TypeSignature component;
+
+        public ArrayType(TypeSignature component) {
+            this.component = component;
+        }
+
+        public TypeSignature getComponent() {
+            return component;
+        }
+
+        @Override
+        public String getDescriptor() {
+            return "[" + component.getDescriptor();
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            component.appendTo(sb);
+            sb.append("[]");
+        }
+    }
+
+    public static class TypeVariable extends TypeSignature {
+        private final String name;
+
+        public TypeVariable(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescriptor() {
+            return "Ljava/lang/Object;";
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append(name);
+        }
+    }
+
+    /**
+     * 类型参数中的通配符：?、? extends X、? super X。
+     */
+    public static class Wildcard extends TypeSignature {
+        public static final Wildcard UNBOUNDED = new Wildcard('*', null);
+
+        // '+' 为 extends，'-' 为 super，'*' 为无界
+        private final char indicator;
+        private final TypeSignature bound;
+
+        public Wildcard(char indicator, TypeSignature bound) {
+            this.indicator = indicator;
+            this.bound = bound;
+        }
+
+        public char getIndicator() {
+            return indicator;
+        }
+
+        public TypeSignature getBound() {
+            return bound;
+        }
+
+        @Override
+        public String getDescriptor() {
+            return indicator == '+' ? bound.getDescriptor() : "Ljava/lang/Object;";
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append('?');
+            if (bound != null) {
+                sb.append(indicator == '+' ? " extends " : " super ");
+                bound.appendTo(sb);
+            }
+        }
+    }
+
+    /**
+     * 类或方法声明的类型参数，例如 T extends java.lang.Comparable&lt;? super T&gt;。
+     */
+    public static class TypeParameter {
+        private final String name;
+        // 没有类上界（只有接口上界）时为 null
+        private final TypeSignature classBound;
+        private final List<TypeSignature> interfaceBounds;
+
+        public TypeParameter(String name, TypeSignature classBound, List<TypeSignature> interfaceBounds) {
+            this.name = name;
+            this.classBound = classBound;
+            this.interfaceBounds = ImmutableList.copyOf(interfaceBounds);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TypeSignature getClassBound() {
+            return classBound;
+        }
+
+        public List<TypeSignature> getInterfaceBounds() {
+            return interfaceBounds;
+        }
+
+        public void appendTo(StringBuilder sb) {
+            sb.append(name);
+            String separator = " extends ";
+            // extends java.lang.Object 不输出
+            if (classBound != null && !"Ljava/lang/Object;".equals(classBound.getDescriptor())) {
+                sb.append(separator);
+                classBound.appendTo(sb);
+                separator = " & ";
+            }
+            for (TypeSignature bound : interfaceBounds) {
+                sb.append(separator);
+                bound.appendTo(sb);
+                separator = " & ";
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            appendTo(sb);
+            return sb.toString();
+        }
+
+        static void appendList(StringBuilder sb, List<TypeParameter> parameters) {
+            if (parameters.isEmpty()) {
+                return;
+            }
+            sb.append('<');
+            for (int i = 0; i < parameters.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                parameters.get(i).appendTo(sb);
+            }
+            sb.append('>');
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * 只包含一个常量池索引的属性：ConstantValue、Signature、SourceFile。
+ */
+public class ValueAttribute extends Attributes {
+    private final int valueIndex;
+    private final String value;
+
+    public ValueAttribute(int nameIndex, String name, int offset, int length, int valueIndex, String value) {
+        super(nameIndex, name, offset, length);
+        this.valueIndex = valueIndex;
+        this.value = value;
+    }
+
+    public int getValueIndex() {
+        return valueIndex;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " : " + value;
+    }
+}
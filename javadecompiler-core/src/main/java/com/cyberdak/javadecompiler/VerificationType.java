@@ -0,0 +1,150 @@
+package com.cyberdak.javadecompiler;
+
+/**
+ * StackMapTable 中的 verification_type_info。
+ * 除 Object 和 Uninitialized 外的类型只有一个共享实例。
+ */
+public final class VerificationType {
+    public static final int TOP = 0;
+    public static final int INTEGER = 1;
+    public static final int FLOAT = 2;
+    public static final int DOUBLE = 3;
+    public static final int LONG = 4;
+    public static final int NULL = 5;
+    public static final int UNINITIALIZED_THIS = 6;
+    public static final int OBJECT = 7;
+    public static final int UNINITIALIZED = 8;
+
+    private static final String[] NAMES = {"top", "int", "float", "double", "long", "null", "uninitializedThis"};
+    private static final VerificationType[] SIMPLE = new VerificationType[UNINITIALIZED_THIS + 1];
+
+    static {
+        for (int tag = 0; tag < SIMPLE.length; tag++) {
+            SIMPLE[tag] = new VerificationType(tag, null, -1);
+        }
+    }
+
+    private final int tag;
+    // Object 的内部类名，数组是描述符形式（[Ljava/lang/String;）
+    private final String className;
+    // Uninitialized 对应的 new 指令的 pc
+    private final int offset;
+
+    private VerificationType(int tag, String className, int offset) {
+        this.tag = tag;
+        this.className = className;
+        this.offset = offset;
+    }
+
+    /**
+     * 没有附加数据的类型，tag 为 0 到 6。
+     */
+    public static VerificationType of(int tag) {
+        if (tag < 0 || tag >= SIMPLE.length) {
+            throw new IllegalArgumentException("bad verification type tag " + tag);
+        }
+        return SIMPLE[tag];
+    }
+
+    public static VerificationType object(String className) {
+        return new VerificationType(OBJECT, className, -1);
+    }
+
+    public static VerificationType uninitialized(int offset) {
+        return new VerificationType(UNINITIALIZED, null, offset);
+    }
+
+    /**
+     * 字段描述符对应的类型，boolean、byte、char、short 都是 int。
+     */
+    public static VerificationType fromDescriptor(String descriptor) {
+        switch (descriptor.charAt(0)) {
+            case 'B':
+            case 'C':
+            case 'I':
+            case 'S':
+            case 'Z':
+                return SIMPLE[INTEGER];
+            case 'F':
+                return SIMPLE[FLOAT];
+            case 'D':
+                return SIMPLE[DOUBLE];
+            case 'J':
+                return SIMPLE[LONG];
+            case 'L':
+                return object(descriptor.substring(1, descriptor.length() - 1));
+            case '[':
+                return object(descriptor);
+            default:
+                throw new IllegalArgumentException("bad descriptor " + descriptor);
+        }
+    }
+
+    public int getTag() {
+        return tag;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * long 和 double 占两个局部变量 slot。
+     */
+    public boolean isWide() {
+        return tag == LONG || tag == DOUBLE;
+    }
+
+    /**
+     * 对应的字段描述符，int 类型统一为 I；top、null 和未初始化的对象返回 null。
+     */
+    public String getDescriptor() {
+        switch (tag) {
+            case INTEGER:
+                return "I";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case LONG:
+                return "J";
+            case OBJECT:
+                return className.startsWith("[") ? className : "L" + className + ";";
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VerificationType)) {
+            return false;
+        }
+        VerificationType that = (VerificationType) o;
+        return tag == that.tag && offset == that.offset
+                && (className == null ? that.className == null : className.equals(that.className));
+    }
+
+    @Override
+    public int hashCode() {
+        return tag * 31 + (className == null ? offset : className.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        if (tag == OBJECT) {
+            return className;
+        }
+        if (tag == UNINITIALIZED) {
+            return "uninitialized(" + offset + ")";
+        }
+        return NAMES[tag];
+    }
+}
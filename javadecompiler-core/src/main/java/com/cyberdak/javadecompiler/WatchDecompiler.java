@@ -0,0 +1,398 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监视 classes 目录，只重新反编译字节有变化的类，结果写到输出目录下的 内部类名.java。
+ * 通过 InnerClasses 和 EnclosingMethod 关联的内部类、外部类一起失效并重新反编译。
+ * 非线程安全，{@link #watch()} 和 {@link #update(Collection)} 只能在一个线程里调用。
+ */
+public class WatchDecompiler {
+    // 收到第一个事件后再等这么久，把编译器一次写出的多个文件合并成一批
+    private static final long DEBOUNCE_MILLIS = 5;
+    // 换新驻留表之前至少允许失效的解析结果个数，避免小目录频繁重建
+    private static final int MIN_RETIRED = 256;
+
+    private final Path root;
+    private final File outputDir;
+    // 当前目录中的类名，有序，供 ClassFileCache 判断类是否存在
+    private final List<String> names = Lists.newArrayList();
+    private final ClassSource source;
+    private final long maxCacheWeight;
+    // 驻留表不会释放字符串，失效和被淘汰的解析结果累计超过目录中的类数时，连同缓存一起换成新的
+    private StringInterner interner;
+    private ClassFileCache models;
+    // 当前驻留表创建以来失效的解析结果个数，淘汰的个数从缓存统计中取
+    private long retired;
+    private final Map<String, HashCode> hashes = Maps.newHashMap();
+    // 内部类与外部类之间的关联（双向）
+    private final Map<String, Set<String>> related = Maps.newHashMap();
+    private final Map<WatchKey, Path> watchKeys = Maps.newHashMap();
+    private volatile boolean running = true;
+
+    public WatchDecompiler(File classesDir, File outputDir, long maxCacheWeight) {
+        this.root = classesDir.toPath();
+        this.outputDir = outputDir;
+        this.maxCacheWeight = maxCacheWeight;
+        this.source = new ClassSource() {
+            @Override
+            public List<String> getClassNames() {
+                return names;
+            }
+
+            @Override
+            public byte[] read(String className) throws IOException {
+                return Files.readAllBytes(classFile(className));
+            }
+        };
+        renewInterner();
+    }
+
+    private void renewInterner() {
+        if (interner != null) {
+            reportInterner();
+        }
+        interner = new StringInterner();
+        models = new ClassFileCache(source, maxCacheWeight, interner);
+        retired = 0;
+    }
+
+    private void reportInterner() {
+        Metrics metrics = Metrics.current();
+        if (metrics != null) {
+            metrics.addInterner(interner);
+        }
+    }
+
+    private void invalidate(String name) {
+        if (models.invalidate(name)) {
+            retired++;
+        }
+    }
+
+    /**
+     * 反编译目录中的全部类。
+     */
+    public List<String> decompileAll() throws IOException {
+        List<String> all = Lists.newArrayList();
+        collect(root.toFile(), "", all);
+        return update(all);
+    }
+
+    private static void collect(File dir, String prefix, List<String> result) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collect(file, prefix + file.getName() + "/", result);
+            } else if (file.getName().endsWith(".class")) {
+                String name = file.getName();
+                result.add(prefix + name.substring(0, name.length() - ".class".length()));
+            }
+        }
+    }
+
+    /**
+     * 处理一批可能有变化的类：字节没变的跳过，删除的类删掉输出，其余连同关联的类一起重新反编译。
+     *
+     * @return 重新反编译或删除的类名
+     */
+    public List<String> update(Collection<String> changed) throws IOException {
+        Set<String> dirty = Sets.newTreeSet();
+        Set<String> deleted = Sets.newTreeSet();
+        for (String name : changed) {
+            byte[] bytes = read(classFile(name));
+            if (bytes == null) {
+                if (hashes.remove(name) != null) {
+                    deleted.add(name);
+                }
+                continue;
+            }
+            HashCode hash = Hashing.sha256().hashBytes(bytes);
+            if (!hash.equals(hashes.put(name, hash))) {
+                dirty.add(name);
+            }
+        }
+        if (dirty.isEmpty() && deleted.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        for (String name : deleted) {
+            names.remove(name);
+            invalidate(name);
+            dirty.addAll(unlink(name));
+            Files.deleteIfExists(outputFile(name).toPath());
+        }
+        for (String name : dirty) {
+            int index = Collections.binarySearch(names, name);
+            if (index < 0) {
+                names.add(-index - 1, name);
+            }
+        }
+        // 旧的关联关系也要算进来，例如内部类被删掉后外部类需要更新
+        for (String name : Lists.newArrayList(dirty)) {
+            Set<String> links = related.get(name);
+            if (links != null) {
+                dirty.addAll(links);
+            }
+        }
+        dirty.removeAll(deleted);
+        for (String name : dirty) {
+            invalidate(name);
+        }
+        if (retired + models.stats().evictionCount() > Math.max(names.size(), MIN_RETIRED)) {
+            // 旧驻留表中的字符串大多已经没有解析结果引用，换掉后随旧缓存一起回收，之后用到的类重新解析
+            renewInterner();
+        }
+
+        List<String> updated = Lists.newArrayList(deleted);
+        for (String name : dirty) {
+            if (Collections.binarySearch(names, name) < 0) {
+                // 关联的类不在这个目录里
+                continue;
+            }
+            String source;
+            try {
+                ClassFile classFile = models.get(name);
+                unlink(name);
+                link(classFile);
+                source = Decompiler.decompile(classFile);
+            } catch (Exception e) {
+                // 编译器可能还没写完文件，下一次修改事件会再处理
+                source = "// failed to decompile " + name + "\r\n/*\r\n" + e + "\r\n*/\r\n";
+                hashes.remove(name);
+            }
+            File output = outputFile(name);
+            File parent = output.getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("can not create dir " + parent);
+            }
+            Files.write(output.toPath(), source.getBytes(StandardCharsets.UTF_8));
+            updated.add(name);
+        }
+        return updated;
+    }
+
+    private void link(ClassFile classFile) {
+        String name = classFile.getName();
+        EnclosingMethodAttribute enclosingMethod = classFile.getEnclosingMethod();
+        if (enclosingMethod != null) {
+            link(name, enclosingMethod.getClassName());
+        }
+        for (InnerClass innerClass : classFile.getInnerClasses()) {
+            if (name.equals(innerClass.getInnerClass())) {
+                link(name, innerClass.getOuterClass());
+            } else if (name.equals(innerClass.getOuterClass())) {
+                link(name, innerClass.getInnerClass());
+            }
+        }
+    }
+
+    private void link(String a, String b) {
+        if (b == null || a.equals(b)) {
+            return;
+        }
+        links(a).add(b);
+        links(b).add(a);
+    }
+
+    private Set<String> links(String name) {
+        Set<String> links = related.get(name);
+        if (links == null) {
+            links = Sets.newHashSet();
+            related.put(name, links);
+        }
+        return links;
+    }
+
+    /**
+     * 去掉一个类的全部关联，返回原来关联的类。
+     */
+    private Set<String> unlink(String name) {
+        Set<String> links = related.remove(name);
+        if (links == null) {
+            return Collections.emptySet();
+        }
+        for (String other : links) {
+            Set<String> back = related.get(other);
+            if (back != null) {
+                back.remove(name);
+            }
+        }
+        return links;
+    }
+
+    /**
+     * 文件不存在时返回 null，包括检查之后、读取之前被删除的情况。
+     */
+    private static byte[] read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    ClassFileCache getModels() {
+        return models;
+    }
+
+    /**
+     * 当前解析结果使用的驻留表，失效的类足够多时会换成新的。
+     */
+    public StringInterner getInterner() {
+        return interner;
+    }
+
+    private Path classFile(String name) {
+        return root.resolve(name + ".class");
+    }
+
+    private File outputFile(String name) {
+        return new File(outputDir, name + ".java");
+    }
+
+    /**
+     * 每处理完一批变化回调一次，在调用 {@link #watch(Listener)} 的线程中执行。
+     */
+    public interface Listener {
+        /**
+         * @param updated 重新反编译或删除的类名，不为空
+         * @param nanos   从收到第一个事件到处理完这一批的耗时
+         */
+        void updated(List<String> updated, long nanos);
+    }
+
+    /**
+     * 先反编译全部类，然后阻塞监视目录，直到 {@link #stop()} 或线程被中断。
+     */
+    public void watch() throws IOException, InterruptedException {
+        watch(null);
+    }
+
+    /**
+     * 结束时驻留表的命中次数和省下的内存记入 {@link Metrics}（如果开启了）。
+     *
+     * @param listener 为 null 时不通知
+     */
+    public void watch(Listener listener) throws IOException, InterruptedException {
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            register(watcher, root.toFile());
+            decompileAll();
+            while (running) {
+                WatchKey key = watcher.poll(100, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                Set<String> changed = Sets.newTreeSet();
+                while (key != null) {
+                    collect(watcher, key, changed);
+                    key = watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                List<String> updated = update(changed);
+                if (listener != null && !updated.isEmpty()) {
+                    listener.updated(updated, System.nanoTime() - start);
+                }
+            }
+        } finally {
+            reportInterner();
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    private void register(WatchService watcher, File dir) throws IOException {
+        Path path = dir.toPath();
+        watchKeys.put(path.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), path);
+        File[] children = dir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    register(watcher, child);
+                }
+            }
+        }
+    }
+
+    private void collect(WatchService watcher, WatchKey key, Set<String> changed) throws IOException {
+        Path dir = watchKeys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (dir == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // 事件丢失，只能重新检查全部类
+                List<String> all = Lists.newArrayList(names);
+                collect(root.toFile(), "", all);
+                changed.addAll(all);
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    // 新建的包目录，注册之前里面可能已经有文件了
+                    register(watcher, path.toFile());
+                    List<String> created = Lists.newArrayList();
+                    collect(path.toFile(), root.relativize(path).toString().replace(File.separatorChar, '/') + "/", created);
+                    changed.addAll(created);
+                }
+                continue;
+            }
+            String relative = root.relativize(path).toString().replace(File.separatorChar, '/');
+            if (relative.endsWith(".class")) {
+                changed.add(relative.substring(0, relative.length() - ".class".length()));
+            } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                // 删除的可能是整个包目录，已经无法判断是不是目录
+                for (String name : names) {
+                    if (name.startsWith(relative + "/")) {
+                        changed.add(name);
+                    }
+                }
+            }
+        }
+        if (!key.reset()) {
+            watchKeys.remove(key);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: WatchDecompiler <classes dir> <output dir>");
+            return;
+        }
+        new WatchDecompiler(new File(args[0]), new File(args[1]), 256L * 1024 * 1024).watch(new Listener() {
+            @Override
+            public void updated(List<String> updated, long nanos) {
+                System.err.println("updated " + updated + " in " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+            }
+        });
+    }
+}
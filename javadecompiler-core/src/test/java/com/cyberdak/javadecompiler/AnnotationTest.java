@@ -0,0 +1,124 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+
+/**
+ * 注解在访问时才解码，各种 element_value 都能正确读出，解码后不会影响后面属性的解析。
+ */
+public class AnnotationTest extends TestCase {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Everything {
+        byte b() default 1;
+
+        char c() default 'x';
+
+        double d() default 1.5;
+
+        float f() default 2.5f;
+
+        int i() default 3;
+
+        long j() default 4L;
+
+        short s() default 5;
+
+        boolean z() default true;
+
+        String string() default "a\"b";
+
+        ElementType kind() default ElementType.FIELD;
+
+        Class<?> type() default Object.class;
+
+        Retention nested() default @Retention(RetentionPolicy.SOURCE);
+
+        int[] array() default {};
+    }
+
+    @Retention(RetentionPolicy.CLASS)
+    @interface Invisible {
+        String value();
+    }
+
+    @Everything(i = 42, string = "text", kind = ElementType.METHOD, type = String[].class, array = {1, 2},
+            nested = @Retention(RetentionPolicy.CLASS))
+    @Invisible("class")
+    static class Annotated {
+        @Deprecated
+        @Invisible("field")
+        int field;
+
+        @Everything
+        void method(@Invisible("first") int first, int second) {
+        }
+    }
+
+    private static ClassFile parse(Class<?> type) throws Exception {
+        return ClassParser.parse(ClassReader.wrap(ClassParserTest.classBytes(type.getName().replace('.', '/'))));
+    }
+
+    public void testLazyAnnotations() throws Exception {
+        ClassFile classFile = parse(Annotated.class);
+        AnnotationsAttribute visible = (AnnotationsAttribute) classFile.getAttribute(Constants.RUNTIME_VISIBLE_ANNOTATIONS);
+        assertTrue(visible.isVisible());
+        assertEquals(1, visible.size());
+        assertTrue(classFile.isAnnotationPresent("Lcom/cyberdak/javadecompiler/AnnotationTest$Invisible;"));
+        assertFalse(classFile.isAnnotationPresent("Ljava/lang/Deprecated;"));
+
+        List<Annotation> annotations = classFile.getAnnotations();
+        assertEquals(2, annotations.size());
+        Annotation everything = annotations.get(0);
+        assertEquals("com.cyberdak.javadecompiler.AnnotationTest$Everything", everything.getTypeName());
+        assertEquals(42, everything.getValue("i").getValue());
+        assertEquals("text", everything.getValue("string").getValue());
+        assertEquals("java.lang.annotation.ElementType.METHOD", everything.getValue("kind").toString());
+        assertEquals("java.lang.String[].class", everything.getValue("type").toString());
+        assertEquals("{1, 2}", everything.getValue("array").toString());
+        assertEquals("@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.CLASS)",
+                everything.getValue("nested").toString());
+        assertSame(annotations.get(0), classFile.getAnnotations().get(0));
+        assertEquals("@com.cyberdak.javadecompiler.AnnotationTest$Invisible(\"class\")", annotations.get(1).toString());
+
+        FieldInfo field = classFile.getFields().get(0);
+        assertTrue(field.isAnnotationPresent("Ljava/lang/Deprecated;"));
+        assertEquals(2, field.getAnnotations().size());
+
+        MethodInfo method = classFile.getMethod("method", null);
+        assertEquals(1, method.getParameterAnnotations(0).size());
+        assertEquals("first", method.getParameterAnnotations(0).get(0).getValue("value").getValue());
+        assertTrue(method.getParameterAnnotations(1).isEmpty());
+        // 注解后面的 Code 属性照常解析
+        assertNotNull(method.getCode());
+    }
+
+    public void testDefaults() throws Exception {
+        ClassFile classFile = parse(Everything.class);
+        String[] expected = {"b", "1", "c", "'x'", "d", "1.5", "f", "2.5f", "i", "3", "j", "4L", "s", "5", "z", "true",
+                "string", "\"a\\\"b\"", "kind", "java.lang.annotation.ElementType.FIELD", "type", "java.lang.Object.class",
+                "nested", "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.SOURCE)", "array", "{}"};
+        for (int i = 0; i < expected.length; i += 2) {
+            assertEquals(expected[i + 1], classFile.getMethod(expected[i], null).getAnnotationDefault().toString());
+        }
+        String text = Decompiler.decompile(classFile);
+        assertTrue(text, text.contains("@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\r\n"));
+        assertTrue(text, text.contains(" default 'x'{"));
+
+        String annotated = Decompiler.decompile(parse(Annotated.class));
+        assertTrue(annotated, annotated.contains("    @java.lang.Deprecated\r\n"));
+        assertTrue(annotated, annotated.contains("(@com.cyberdak.javadecompiler.AnnotationTest$Invisible(\"first\") int first, int second)"));
+    }
+
+    public void testConstantsMatchFieldLiterals() {
+        assertEquals("'\\n'", ElementValue.constant('C', '\n').toString());
+        assertEquals("'\\''", ElementValue.constant('C', '\'').toString());
+        assertEquals("Float.NaN", ElementValue.constant('F', Float.NaN).toString());
+        assertEquals("Double.NEGATIVE_INFINITY", ElementValue.constant('D', Double.NEGATIVE_INFINITY).toString());
+        assertEquals("Float.POSITIVE_INFINITY", ElementValue.constant('F', Float.POSITIVE_INFINITY).toString());
+    }
+}
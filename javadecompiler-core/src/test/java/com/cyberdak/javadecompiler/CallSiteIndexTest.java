@@ -0,0 +1,76 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * 引用索引的查询、按 jar 增量更新和重新打开。
+ */
+public class CallSiteIndexTest extends TestCase {
+    private File dir;
+
+    @Override
+    protected void setUp() throws Exception {
+        dir = Files.createTempDirectory("call-site-index").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    private static void jar(File file, String... names) throws Exception {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            for (String name : names) {
+                out.putNextEntry(new JarEntry(name + ".class"));
+                out.write(Files.readAllBytes(new File(JarDecompilerTest.classesDir(), name + ".class").toPath()));
+                out.closeEntry();
+            }
+        }
+    }
+
+    public void testFindAndUpdate() throws Exception {
+        File jar = new File(dir, "samples.jar");
+        jar(jar, "com/cyberdak/javadecompiler/App", "com/cyberdak/javadecompiler/FullUser");
+        File indexDir = new File(dir, "index");
+        CallSiteIndex index = new CallSiteIndex(indexDir);
+        assertTrue(index.update(jar));
+        assertFalse(index.update(jar));
+
+        List<CallSiteIndex.CallSite> accesses = index.findFieldAccesses("com/cyberdak/javadecompiler/App", "count");
+        assertEquals(2, accesses.size());
+        assertEquals("getCount:()I", accesses.get(0).getCallerMethod());
+        assertEquals(0xb4, accesses.get(0).getOpcode());
+        assertEquals("setCount:(I)V", accesses.get(1).getCallerMethod());
+
+        List<CallSiteIndex.CallSite> callers = index.findCallers("java/util/List", "add", "(Ljava/lang/Object;)Z");
+        assertEquals(3, callers.size());
+        for (CallSiteIndex.CallSite site : callers) {
+            assertEquals("com/cyberdak/javadecompiler/App", site.getCallerClass());
+            assertEquals("foreach:()V", site.getCallerMethod());
+            assertEquals(jar.getAbsolutePath(), site.getJar());
+        }
+        assertTrue(index.find("java/util/List", "ad", null).isEmpty());
+        assertFalse(index.find("java/io/PrintStream", null, null).isEmpty());
+
+        // 重新打开时直接使用已有的索引文件
+        CallSiteIndex reopened = new CallSiteIndex(indexDir);
+        assertFalse(reopened.update(jar));
+        assertEquals(3, reopened.findCallers("java/util/List", "add", null).size());
+
+        jar(jar, "com/cyberdak/javadecompiler/FullUser");
+        assertTrue(jar.setLastModified(jar.lastModified() + 2000));
+        assertTrue(reopened.update(jar));
+        assertTrue(reopened.findCallers("java/util/List", "add", null).isEmpty());
+
+        assertTrue(reopened.remove(jar));
+        assertTrue(reopened.getJars().isEmpty());
+    }
+}
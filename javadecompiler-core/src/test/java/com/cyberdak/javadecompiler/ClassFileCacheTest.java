@@ -0,0 +1,36 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+/**
+ * 重复查找命中缓存，超出权重时淘汰。
+ */
+public class ClassFileCacheTest extends TestCase {
+
+    public void testLookups() throws Exception {
+        try (ClassSource source = ClassSource.open(JarDecompilerTest.classesDir())) {
+            ClassFileCache cache = new ClassFileCache(source, Long.MAX_VALUE);
+            ClassFile app = cache.get("com/cyberdak/javadecompiler/App");
+            assertSame(app, cache.get("com/cyberdak/javadecompiler/App"));
+            assertEquals("com/cyberdak/javadecompiler/Foo", cache.getSuperClass(app).getName());
+            assertNull(cache.get("java/lang/Object"));
+
+            ClassFile anonymous = cache.get("com/cyberdak/javadecompiler/App$1");
+            assertSame(app, cache.getOuterClass(anonymous));
+            assertEquals(2, cache.stats().hitCount());
+            assertEquals(3, cache.stats().missCount());
+        }
+    }
+
+    public void testEvictsByWeight() throws Exception {
+        try (ClassSource source = ClassSource.open(JarDecompilerTest.classesDir())) {
+            ClassFile app = ClassParserTest.parse("com/cyberdak/javadecompiler/App");
+            ClassFileCache cache = new ClassFileCache(source, app.estimatedSize() * 2);
+            for (String name : source.getClassNames()) {
+                cache.get(name);
+            }
+            assertTrue(cache.stats().evictionCount() > 0);
+            assertTrue(cache.size() < source.getClassNames().size());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.io.ByteStreams;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 解析样例类，检查生成的 ClassFile。
+ */
+public class ClassParserTest extends TestCase {
+
+    static byte[] classBytes(String name) throws IOException {
+        InputStream in = ClassLoader.getSystemResourceAsStream(name + ".class");
+        try {
+            return ByteStreams.toByteArray(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    static ClassFile parse(String name) throws Exception {
+        return ClassParser.parse(ClassReader.wrap(classBytes(name)));
+    }
+
+    public void testHeader() throws Exception {
+        ClassFile app = parse("com/cyberdak/javadecompiler/App");
+        assertEquals("com/cyberdak/javadecompiler/App", app.getName());
+        assertEquals("com/cyberdak/javadecompiler/Foo", app.getSuperName());
+        assertEquals(1, app.getInterfaces().size());
+        assertEquals("com/cyberdak/javadecompiler/Boo", app.getInterfaces().get(0));
+        assertEquals("App.java", app.getSourceFile());
+    }
+
+    public void testFields() throws Exception {
+        ClassFile app = parse("com/cyberdak/javadecompiler/App");
+        assertEquals(6, app.getFields().size());
+        assertEquals("qps", app.getField("CONSTANT").getConstantValue());
+        assertEquals("Ljava/lang/Integer;", app.getField("size").getDescriptor());
+        assertNull(app.getField("count").getConstantValue());
+    }
+
+    public void testMethods() throws Exception {
+        ClassFile app = parse("com/cyberdak/javadecompiler/App");
+        MethodInfo catchException = app.getMethod("catchException", "()V");
+        CodeAttribute code = catchException.getCode();
+        assertNotNull(code);
+        assertEquals(1, code.getExceptionTable().size());
+        assertEquals("java/lang/Exception", code.getExceptionTable().get(0).getCatchType());
+        assertTrue(code.getLineNumberTable().size() > 0);
+
+        ClassFile fullUser = parse("com/cyberdak/javadecompiler/FullUser");
+        assertEquals(1, fullUser.getMethod("setId", "(I)V").getExceptions().size());
+        assertEquals("java/lang/IllegalStateException", fullUser.getMethod("setId", "(I)V").getExceptions().get(0));
+    }
+
+    public void testInnerClasses() throws Exception {
+        ClassFile anonymous = parse("com/cyberdak/javadecompiler/App$1");
+        EnclosingMethodAttribute enclosingMethod = anonymous.getEnclosingMethod();
+        assertEquals("com/cyberdak/javadecompiler/App", enclosingMethod.getClassName());
+        assertEquals("qqq", enclosingMethod.getMethodName());
+        assertEquals(1, anonymous.getInnerClasses().size());
+        assertNull(anonymous.getInnerClasses().get(0).getOuterClass());
+    }
+
+    public void testCodeWalkEndsOnInstructionBoundary() throws Exception {
+        String[] names = {"com/cyberdak/javadecompiler/App", "com/cyberdak/javadecompiler/FullUser", "java/lang/String", "java/util/HashMap"};
+        for (String name : names) {
+            for (MethodInfo method : parse(name).getMethods()) {
+                CodeAttribute code = method.getCode();
+                if (code == null) {
+                    continue;
+                }
+                int pc = 0;
+                while (pc < code.getCodeLength()) {
+                    pc += OpcodeParser.length(code.getReader(), code.getCodeOffset(), pc);
+                }
+                assertEquals(name + "." + method.getName(), code.getCodeLength(), pc);
+            }
+        }
+    }
+
+    public void testVisitorSkipsUnacceptedMembers() throws Exception {
+        final List<String> methods = new ArrayList<String>();
+        final List<Attributes> attributes = new ArrayList<Attributes>();
+        ClassParser.accept(ClassReader.wrap(classBytes("com/cyberdak/javadecompiler/App")), new ClassVisitor() {
+            @Override
+            public MethodVisitor visitMethod(int accessFlags, String name, String descriptor) {
+                methods.add(name + descriptor);
+                if (!name.equals("catchException")) {
+                    return null;
+                }
+                return new MethodVisitor() {
+                    @Override
+                    public boolean acceptAttribute(String name) {
+                        return Constants.CODE.equals(name);
+                    }
+
+                    @Override
+                    public void visitAttribute(Attributes attribute) {
+                        attributes.add(attribute);
+                    }
+                };
+            }
+
+            @Override
+            public boolean acceptAttribute(String name) {
+                return Constants.SOURCE_FILE.equals(name);
+            }
+
+            @Override
+            public void visitAttribute(Attributes attribute) {
+                attributes.add(attribute);
+            }
+        });
+        assertEquals(15, methods.size());
+        assertTrue(methods.contains("getNAME()Ljava/lang/String;"));
+        assertEquals(2, attributes.size());
+        assertTrue(attributes.get(0) instanceof CodeAttribute);
+        assertEquals("App.java", ((ValueAttribute) attributes.get(1)).getValue());
+    }
+
+    public void testListeners() throws Exception {
+        byte[] bytes = classBytes("com/cyberdak/javadecompiler/App");
+        TextPrinter text = new TextPrinter();
+        new ClassParser(ClassReader.wrap(bytes), text).parse();
+        assertTrue(text.getText().startsWith("1. magic ####"));
+        assertTrue(text.getText().contains("source file :App.java\n"));
+        assertTrue(text.getText().contains("java/lang/Exception"));
+
+        StructuredPrinter structured = new StructuredPrinter();
+        new ClassParser(ClassReader.wrap(bytes), structured).parse();
+        for (String line : structured.getText().split("\n")) {
+            assertTrue(line, line.startsWith("{\"event\":\"") && line.endsWith("}"));
+        }
+        assertTrue(structured.getText().contains("{\"event\":\"class\",\"flags\":[\"ACC_PUBLIC\",\"ACC_SUPER\"],"
+                + "\"name\":\"com/cyberdak/javadecompiler/App\""));
+    }
+}
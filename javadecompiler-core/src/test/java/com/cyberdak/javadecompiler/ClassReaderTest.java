@@ -0,0 +1,64 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Modified UTF-8 解码，以 DataOutputStream.writeUTF 的编码为准。
+ */
+public class ClassReaderTest extends TestCase {
+
+    private static byte[] modifiedUtf8(String s) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DataOutputStream(out).writeUTF(s);
+        return out.toByteArray();
+    }
+
+    private static String read(ClassReader reader) {
+        return reader.readUtf8(2, reader.readU2(0));
+    }
+
+    public void testModifiedUtf8() throws Exception {
+        String[] samples = {
+                "",
+                "java/lang/Object",
+                "Ljava/util/Map<Ljava/lang/String;Ljava/util/List<Ljava/lang/Integer;>;>;",
+                "nul\u0000inside",
+                "常量池",
+                "emoji 😀 and é",
+                "\u0080߿ࠀ￿"
+        };
+        for (String sample : samples) {
+            byte[] bytes = modifiedUtf8(sample);
+            assertEquals(sample, read(ClassReader.wrap(bytes)));
+            // 文件映射时 ByteBuffer 没有底层数组
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes).flip();
+            assertEquals(sample, read(new ClassReader(direct)));
+            assertEquals(new DataInputStream(new ByteArrayInputStream(bytes)).readUTF(), read(ClassReader.wrap(bytes)));
+        }
+        // 0xC0 0x80 是 NUL，标准 UTF-8 解码器会把它当成非法字节
+        assertEquals("a\u0000", ClassReader.wrap(new byte[]{'a', (byte) 0xC0, (byte) 0x80}).readUtf8(0, 3));
+    }
+
+    public void testMalformed() {
+        byte[][] bad = {
+                {(byte) 0xF0, (byte) 0x9F, (byte) 0x98, (byte) 0x80},
+                {'a', (byte) 0xC3},
+                {(byte) 0xE4, (byte) 0xB8, 'a'},
+                {(byte) 0x80}
+        };
+        for (byte[] bytes : bad) {
+            try {
+                ClassReader.wrap(bytes).readUtf8(0, bytes.length);
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+}
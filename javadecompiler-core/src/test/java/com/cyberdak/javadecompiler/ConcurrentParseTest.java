@@ -0,0 +1,71 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 多个线程同时解析同一批类，结果必须和单线程一致。
+ */
+public class ConcurrentParseTest extends TestCase {
+    private static final String[] CLASSES = {
+            "com/cyberdak/javadecompiler/App",
+            "com/cyberdak/javadecompiler/FullUser",
+            "com/cyberdak/javadecompiler/Simple",
+            "java/util/HashMap"
+    };
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+
+    public void testParseFromManyThreads() throws Exception {
+        final byte[][] bytes = new byte[CLASSES.length][];
+        final String[] expected = new String[CLASSES.length];
+        for (int i = 0; i < CLASSES.length; i++) {
+            bytes[i] = ClassParserTest.classBytes(CLASSES[i]);
+            expected[i] = Decompiler.decompile(ClassParser.parse(ClassReader.wrap(bytes[i])));
+        }
+        // 所有线程共享同一个已解析的 ClassFile，常量池的延迟解析也会被并发触发
+        final ClassFile shared = ClassParser.parse(ClassReader.wrap(bytes[0]));
+
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> futures = new ArrayList<Future<String>>();
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t;
+                futures.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        for (int round = 0; round < ROUNDS; round++) {
+                            for (int j = 0; j < CLASSES.length; j++) {
+                                // 每个线程从不同的类开始，让不同的类交错解析
+                                int i = (j + offset) % CLASSES.length;
+                                String actual = Decompiler.decompile(ClassParser.parse(ClassReader.wrap(bytes[i])));
+                                if (!expected[i].equals(actual)) {
+                                    return CLASSES[i] + " differs";
+                                }
+                            }
+                            if (!expected[0].equals(Decompiler.decompile(shared))) {
+                                return "shared ClassFile differs";
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<String> future : futures) {
+                assertNull(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+/**
+ * 循环、try/catch 的基本块、支配关系和活跃性。
+ */
+public class ControlFlowGraphTest extends TestCase {
+
+    private static ControlFlowGraph graph(String className, String method) throws Exception {
+        return ControlFlowGraph.build(ClassParserTest.parse(className).getMethod(method, null).getCode());
+    }
+
+    public void testLoop() throws Exception {
+        ControlFlowGraph cfg = graph("com/cyberdak/javadecompiler/App", "foreach");
+        int backEdges = 0;
+        for (int block = 0; block < cfg.getBlockCount(); block++) {
+            for (int i = 0; i < cfg.getSuccessorCount(block); i++) {
+                int successor = cfg.getSuccessor(block, i);
+                if (cfg.isBackEdge(block, successor)) {
+                    backEdges++;
+                    // 循环头入口处迭代器（slot 2）是活跃的
+                    assertTrue(cfg.toString(), cfg.getLiveIn(successor).get(2));
+                }
+            }
+        }
+        assertEquals(cfg.toString(), 1, backEdges);
+    }
+
+    public void testTryCatch() throws Exception {
+        ControlFlowGraph cfg = graph("com/cyberdak/javadecompiler/App", "catchException");
+        CodeAttribute code = ClassParserTest.parse("com/cyberdak/javadecompiler/App").getMethod("catchException", null).getCode();
+        ExceptionHandler handler = code.getExceptionTable().get(0);
+        int tryBlock = cfg.getBlockAt(handler.getStartPc());
+        int handlerBlock = cfg.getBlockAt(handler.getHandlerPc());
+        assertEquals(handler.getStartPc(), cfg.getBlockStart(tryBlock));
+        assertEquals(handler.getHandlerPc(), cfg.getBlockStart(handlerBlock));
+        assertEquals(1, cfg.getHandlerCount(tryBlock));
+        assertEquals(handlerBlock, cfg.getHandler(tryBlock, 0));
+        assertTrue(cfg.isReachable(handlerBlock));
+        assertEquals(tryBlock, cfg.getImmediateDominator(handlerBlock));
+        assertFalse(cfg.dominates(handlerBlock, tryBlock));
+    }
+
+    public void testJdkMethods() throws Exception {
+        String[] names = {"java/lang/String", "java/util/HashMap", "java/lang/Character"};
+        for (String name : names) {
+            for (MethodInfo method : ClassParserTest.parse(name).getMethods()) {
+                CodeAttribute code = method.getCode();
+                if (code == null) {
+                    continue;
+                }
+                ControlFlowGraph cfg = ControlFlowGraph.build(code);
+                assertEquals(0, cfg.getBlockStart(0));
+                assertEquals(code.getCodeLength(), cfg.getBlockEnd(cfg.getBlockCount() - 1));
+                for (int block = 0; block < cfg.getBlockCount(); block++) {
+                    if (cfg.isReachable(block)) {
+                        assertTrue(name + "." + method.getName(), cfg.dominates(0, block));
+                    }
+                }
+            }
+        }
+    }
+}
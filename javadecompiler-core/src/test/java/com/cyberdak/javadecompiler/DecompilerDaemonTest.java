@@ -0,0 +1,63 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.collect.ImmutableList;
+import junit.framework.TestCase;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 常驻服务：一个批次里混合 class 字节和 jar 中的类，结果与直接反编译相同，统计中记录请求和延迟。
+ */
+public class DecompilerDaemonTest extends TestCase {
+
+    public void testBatch() throws Exception {
+        DecompilerDaemon daemon = new DecompilerDaemon(0, 2);
+        daemon.start();
+        try {
+            byte[] app = ClassParserTest.classBytes("com/cyberdak/javadecompiler/App");
+            String expected = Decompiler.decompile(ClassParser.parse(ClassReader.wrap(app)));
+            String classes = JarDecompilerTest.classesDir().getPath();
+            try (DecompilerDaemon.Client client = new DecompilerDaemon.Client(daemon.getPort())) {
+                for (int i = 0; i < 2; i++) {
+                    List<String> results = client.decompile(ImmutableList.of(
+                            DecompilerDaemon.Request.ofBytes(app),
+                            DecompilerDaemon.Request.ofClass(classes, "com/cyberdak/javadecompiler/App"),
+                            DecompilerDaemon.Request.ofClass(classes, "com/cyberdak/javadecompiler/Missing"),
+                            DecompilerDaemon.Request.ofBytes(new byte[]{1, 2, 3})));
+                    assertEquals(4, results.size());
+                    assertEquals(expected, results.get(0));
+                    assertEquals(expected, results.get(1));
+                    assertTrue(results.get(2), results.get(2).startsWith("// failed to decompile com/cyberdak/javadecompiler/Missing"));
+                    assertTrue(results.get(3), results.get(3).startsWith("// failed to decompile class bytes"));
+                }
+                assertTrue(client.decompile(ImmutableList.<DecompilerDaemon.Request>of()).isEmpty());
+
+                String stats = client.stats();
+                assertTrue(stats, stats.contains("\"batches\":3,\"requests\":8,\"errors\":4"));
+                assertTrue(stats, stats.contains("\"latencyMicros\":{\"count\":8"));
+                assertTrue(stats, stats.contains("\"jars\":1,\"cachedOutputs\":1"));
+                assertFalse(stats, stats.contains("\"internedStrings\":0"));
+                assertTrue(stats, stats.contains("\"internerSavedBytes\":"));
+                client.shutdown();
+            }
+            assertTrue(daemon.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            daemon.close();
+        }
+    }
+
+    public void testLatencyPercentiles() {
+        DecompilerDaemon.Latency latency = new DecompilerDaemon.Latency();
+        assertEquals(0, latency.percentileMicros(99));
+        for (int i = 0; i < 99; i++) {
+            latency.record(100000);
+        }
+        latency.record(50000000);
+        assertEquals(100, latency.getCount());
+        assertEquals(128, latency.percentileMicros(50));
+        assertEquals(128, latency.percentileMicros(99));
+        assertEquals(65536, latency.percentileMicros(100));
+        assertTrue(latency.toJson(), latency.toJson().endsWith("\"max\":50000}"));
+    }
+}
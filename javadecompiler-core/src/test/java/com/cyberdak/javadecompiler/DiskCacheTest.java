@@ -0,0 +1,69 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 第二次反编译同一个目录时全部命中缓存，输出不变；超出容量时按 LRU 淘汰。
+ */
+public class DiskCacheTest extends TestCase {
+    private File dir;
+
+    @Override
+    protected void setUp() throws Exception {
+        dir = Files.createTempDirectory("javadecompiler-cache").toFile();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    private static String decompile(DiskCache cache) throws Exception {
+        JarDecompiler decompiler = new JarDecompiler(new ForkJoinPool(2), 8, cache);
+        try {
+            StringWriter out = new StringWriter();
+            decompiler.decompile(JarDecompilerTest.classesDir(), out);
+            return out.toString();
+        } finally {
+            decompiler.shutdown();
+        }
+    }
+
+    public void testWarmRunSkipsParsing() throws Exception {
+        DiskCache cold = new DiskCache(dir, Long.MAX_VALUE);
+        String expected = decompile(cold);
+        assertEquals(0, cold.hitCount());
+        assertTrue(cold.count() > 0);
+
+        // 重新打开目录，模拟下一次 CI
+        DiskCache warm = new DiskCache(dir, Long.MAX_VALUE);
+        assertEquals(expected, decompile(warm));
+        assertEquals(0, warm.missCount());
+        assertEquals(cold.count(), warm.hitCount());
+    }
+
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        byte[] app = ClassParserTest.classBytes("com/cyberdak/javadecompiler/App");
+        byte[] simple = ClassParserTest.classBytes("com/cyberdak/javadecompiler/Simple");
+        byte[] fullUser = ClassParserTest.classBytes("com/cyberdak/javadecompiler/FullUser");
+        long budget = app.length + simple.length + fullUser.length + 1000;
+        DiskCache cache = new DiskCache(dir, budget);
+        cache.put(DiskCache.key(app), app, "app");
+        cache.put(DiskCache.key(simple), simple, "simple");
+        // 访问 App 后 Simple 成为最久未使用的条目
+        assertEquals("app", cache.get(DiskCache.key(app)));
+        cache.put(DiskCache.key(fullUser), fullUser, new String(new char[1000]));
+
+        assertTrue(cache.size() <= budget);
+        assertEquals(1, cache.evictionCount());
+        assertNull(cache.get(DiskCache.key(simple)));
+        assertEquals("app", cache.get(DiskCache.key(app)));
+        assertEquals("com/cyberdak/javadecompiler/App", cache.getClassFile(DiskCache.key(app)).getName());
+    }
+}
@@ -0,0 +1,36 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+/**
+ * 字段的 ConstantValue 按字段类型输出成合法的 java 字面量。
+ */
+public class FieldConstantTest extends TestCase {
+
+    private static String decompile(String name) throws Exception {
+        return Decompiler.decompile(ClassParserTest.parse(name));
+    }
+
+    public void testLiterals() throws Exception {
+        String character = decompile("java/lang/Character");
+        assertTrue(character, character.contains(" char MIN_VALUE = '\\u0000';"));
+        assertTrue(character, character.contains(" int MAX_RADIX = 36;"));
+        assertTrue(character, character.contains(" byte DIRECTIONALITY_UNDEFINED = -1;"));
+        String doubles = decompile("java/lang/Double");
+        assertTrue(doubles, doubles.contains(" double NaN = Double.NaN;"));
+        assertTrue(doubles, doubles.contains(" double POSITIVE_INFINITY = Double.POSITIVE_INFINITY;"));
+        String longs = decompile("java/lang/Long");
+        assertTrue(longs, longs.contains(" long MIN_VALUE = -9223372036854775808L;"));
+        String jar = decompile("java/util/jar/JarFile");
+        assertTrue(jar, jar.contains(" java.lang.String MANIFEST_NAME = \"META-INF/MANIFEST.MF\";"));
+    }
+
+    public void testEscaping() {
+        StringBuilder sb = new StringBuilder();
+        Expression.Literal.constant("Ljava/lang/String;", "a\"b\\c\n常").appendTo(sb);
+        Expression.Literal.constant("C", String.valueOf((int) '\'')).appendTo(sb);
+        Expression.Literal.constant("Z", "1").appendTo(sb);
+        Expression.Literal.constant("F", "1.5").appendTo(sb);
+        assertEquals("\"a\\\"b\\\\c\\n\\u5e38\"'\\''true1.5f", sb.toString());
+    }
+}
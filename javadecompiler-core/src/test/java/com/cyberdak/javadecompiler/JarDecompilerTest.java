@@ -0,0 +1,36 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.StringWriter;
+
+/**
+ * 并行反编译的输出必须与线程数无关。
+ */
+public class JarDecompilerTest extends TestCase {
+
+    static File classesDir() throws Exception {
+        File app = new File(ClassLoader.getSystemResource("com/cyberdak/javadecompiler/App.class").toURI());
+        return app.getParentFile().getParentFile().getParentFile().getParentFile();
+    }
+
+    private static String decompile(int threads, int windowSize) throws Exception {
+        JarDecompiler decompiler = new JarDecompiler(new java.util.concurrent.ForkJoinPool(threads), windowSize);
+        try {
+            StringWriter out = new StringWriter();
+            decompiler.decompile(classesDir(), out);
+            return out.toString();
+        } finally {
+            decompiler.shutdown();
+        }
+    }
+
+    public void testOutputIsOrderedAndDeterministic() throws Exception {
+        String sequential = decompile(1, 1000);
+        assertEquals(sequential, decompile(4, 3));
+        assertTrue(sequential.contains("class com.cyberdak.javadecompiler.App extends com.cyberdak.javadecompiler.Foo"));
+        assertFalse(sequential.contains("// failed to decompile com/"));
+        assertTrue(sequential.indexOf("class com.cyberdak.javadecompiler.App ") < sequential.indexOf("class com.cyberdak.javadecompiler.Simple "));
+    }
+}
@@ -0,0 +1,45 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+/**
+ * Code 属性的异常表和内部属性在访问时才解码，单个方法的反编译结果被缓存。
+ */
+public class LazyCodeTest extends TestCase {
+
+    private static ClassFile parse(String name, ParseListener listener) throws Exception {
+        return new ClassParser(ClassReader.wrap(ClassParserTest.classBytes(name)), listener).parse();
+    }
+
+    public void testDecodedOnAccess() throws Exception {
+        ClassFile lazy = parse("com/cyberdak/javadecompiler/FullUser", ParseListener.NONE);
+        ClassFile eager = parse("com/cyberdak/javadecompiler/FullUser", new TextPrinter());
+        for (int i = 0; i < lazy.getMethods().size(); i++) {
+            CodeAttribute code = lazy.getMethods().get(i).getCode();
+            if (code == null) {
+                continue;
+            }
+            assertFalse(code.isDecoded());
+            CodeAttribute expected = eager.getMethods().get(i).getCode();
+            assertTrue(expected.isDecoded());
+            assertEquals(expected.getExceptionTable().toString(), code.getExceptionTable().toString());
+            assertEquals(expected.getAttributes().toString(), code.getAttributes().toString());
+            assertTrue(code.isDecoded());
+        }
+    }
+
+    public void testDecompileMethod() throws Exception {
+        ClassFile classFile = parse("com/cyberdak/javadecompiler/FullUser", ParseListener.NONE);
+        MethodInfo setId = classFile.getMethod("setId", "(I)V");
+        String text = Decompiler.decompileMethod(classFile, "setId", "(I)V");
+        assertEquals(Decompiler.toMethod(classFile, setId).toString(), text);
+        assertSame(text, Decompiler.decompileMethod(classFile, "setId", "(I)V"));
+        // 其他方法的方法体没有被解码
+        for (MethodInfo method : classFile.getMethods()) {
+            if (method != setId && method.getCode() != null) {
+                assertFalse(method.getName(), method.getCode().isDecoded());
+            }
+        }
+        assertNull(Decompiler.decompileMethod(classFile, "setId", "(J)V"));
+    }
+}
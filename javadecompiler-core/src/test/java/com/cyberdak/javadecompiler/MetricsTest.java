@@ -0,0 +1,81 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+/**
+ * 开启 Metrics 后解析和反编译的各阶段都有统计，关闭后不再记录。
+ */
+public class MetricsTest extends TestCase {
+
+    private static void decompile(String name) throws Exception {
+        Decompiler.decompile(ClassParser.parse(ClassReader.wrap(ClassParserTest.classBytes(name))));
+    }
+
+    public void testPhasesAndCounters() throws Exception {
+        assertNull(Metrics.current());
+        Metrics metrics = Metrics.enable();
+        try {
+            assertSame(metrics, Metrics.enable());
+            byte[] bytes = ClassParserTest.classBytes("com/cyberdak/javadecompiler/FullUser");
+            decompile("com/cyberdak/javadecompiler/FullUser");
+            assertEquals(1, metrics.get(Metrics.Counter.CLASSES_PARSED));
+            assertEquals(1, metrics.get(Metrics.Counter.CLASSES_DECOMPILED));
+            assertEquals(bytes.length, metrics.get(Metrics.Counter.BYTES_READ));
+            assertTrue(metrics.get(Metrics.Counter.INSTRUCTIONS) > 0);
+            assertTrue(metrics.get(Metrics.Counter.ATTRIBUTES_PARSED) > 0);
+            assertTrue(metrics.getConstantCount(ConstantPool.CONSTANT_UTF_8) > 0);
+            assertTrue(metrics.getConstantCount(ConstantPool.CONSTANT_METHODREF) > 0);
+            assertTrue(metrics.getNanos(Metrics.Phase.CONSTANT_POOL) > 0);
+            assertTrue(metrics.getNanos(Metrics.Phase.METHODS) > 0);
+            assertTrue(metrics.getNanos(Metrics.Phase.OUTPUT) > 0);
+
+            String json = metrics.toJson();
+            assertTrue(json, json.startsWith("{\"phases\":{\"magic\":"));
+            assertTrue(json, json.contains("\"classes_parsed\":1,"));
+            assertTrue(json, json.contains("\"CONSTANT_UTF_8\":" + metrics.getConstantCount(ConstantPool.CONSTANT_UTF_8)));
+        } finally {
+            assertSame(metrics, Metrics.disable());
+        }
+        decompile("com/cyberdak/javadecompiler/App");
+        assertEquals(1, metrics.get(Metrics.Counter.CLASSES_PARSED));
+        assertNull(Metrics.disable());
+    }
+
+    public void testCacheCounters() throws Exception {
+        Metrics metrics = Metrics.enable();
+        try (ClassSource source = ClassSource.open(JarDecompilerTest.classesDir())) {
+            ClassFileCache cache = new ClassFileCache(source, Long.MAX_VALUE);
+            ClassFile app = cache.get("com/cyberdak/javadecompiler/App");
+            assertSame(app, cache.get("com/cyberdak/javadecompiler/App"));
+            assertEquals(1, metrics.get(Metrics.Counter.CLASS_CACHE_HITS));
+            assertEquals(1, metrics.get(Metrics.Counter.CLASS_CACHE_MISSES));
+            assertEquals(1, cache.stats().hitCount());
+
+            DecompilerDaemon daemon = new DecompilerDaemon(0, 1);
+            try {
+                byte[] bytes = ClassParserTest.classBytes("com/cyberdak/javadecompiler/App");
+                daemon.decompile(bytes, null, null);
+                daemon.decompile(bytes, null, null);
+            } finally {
+                daemon.close();
+            }
+            assertEquals(1, metrics.get(Metrics.Counter.OUTPUT_CACHE_HITS));
+            assertEquals(1, metrics.get(Metrics.Counter.OUTPUT_CACHE_MISSES));
+        } finally {
+            Metrics.disable();
+        }
+    }
+
+    public void testInterner() throws Exception {
+        StringInterner interner = new StringInterner();
+        for (String name : new String[]{"com/cyberdak/javadecompiler/App", "com/cyberdak/javadecompiler/FullUser"}) {
+            ClassParser.parse(ClassReader.wrap(ClassParserTest.classBytes(name)), interner).getMethods();
+        }
+        Metrics metrics = new Metrics();
+        metrics.addInterner(interner);
+        assertEquals(interner.getHitCount(), metrics.get(Metrics.Counter.INTERNER_HITS));
+        assertEquals(interner.getMissCount(), metrics.get(Metrics.Counter.INTERNER_MISSES));
+        assertTrue(metrics.get(Metrics.Counter.INTERNER_SAVED_BYTES) > 0);
+        assertTrue(metrics.toJson(), metrics.toJson().contains("\"interner_saved_bytes\":" + interner.getSavedBytes()));
+    }
+}
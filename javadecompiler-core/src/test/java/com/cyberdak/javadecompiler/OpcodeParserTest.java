@@ -0,0 +1,58 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+/**
+ * 指令长度解码测试。
+ */
+public class OpcodeParserTest extends TestCase {
+
+    public void testFixedLengthInstructions() {
+        assertEquals(1, OpcodeParser.length(ClassReader.wrap(new byte[]{(byte) 0xbe}), 0, 0)); // arraylength
+        assertEquals(1, OpcodeParser.length(ClassReader.wrap(new byte[]{(byte) 0xbf}), 0, 0)); // athrow
+        assertEquals(1, OpcodeParser.length(ClassReader.wrap(new byte[]{(byte) 0xc2}), 0, 0)); // monitorenter
+        assertEquals(3, OpcodeParser.length(ClassReader.wrap(new byte[]{0x11, 0, 1}), 0, 0)); // sipush
+        assertEquals(5, OpcodeParser.length(ClassReader.wrap(new byte[]{(byte) 0xb9, 0, 1, 1, 0}), 0, 0)); // invokeinterface
+    }
+
+    public void testTableSwitchPadding() {
+        // nop, tableswitch, 2 字节填充, default, low=0, high=1, 两个跳转偏移
+        byte[] code = {
+                0x00, (byte) 0xaa, 0, 0,
+                0, 0, 0, 20,
+                0, 0, 0, 0,
+                0, 0, 0, 1,
+                0, 0, 0, 20,
+                0, 0, 0, 24,
+                (byte) 0xb1
+        };
+        ClassReader reader = ClassReader.wrap(code);
+        assertEquals(2, OpcodeParser.padding(1));
+        assertEquals(23, OpcodeParser.length(reader, 0, 1));
+        assertEquals(OpCode.RETURN, OpCode.of(reader.readU1(1 + 23)));
+    }
+
+    public void testLookupSwitch() {
+        // lookupswitch 位于 pc=0，3 字节填充，一个 match-offset 对
+        byte[] code = {
+                (byte) 0xab, 0, 0, 0,
+                0, 0, 0, 20,
+                0, 0, 0, 1,
+                0, 0, 0, 5, 0, 0, 0, 20
+        };
+        assertEquals(20, OpcodeParser.length(ClassReader.wrap(code), 0, 0));
+    }
+
+    public void testWide() {
+        assertEquals(4, OpcodeParser.length(ClassReader.wrap(new byte[]{(byte) 0xc4, 0x15, 1, 0}), 0, 0)); // wide iload
+        assertEquals(6, OpcodeParser.length(ClassReader.wrap(new byte[]{(byte) 0xc4, (byte) 0x84, 1, 0, 0, 1}), 0, 0)); // wide iinc
+    }
+
+    public void testDispatchTableCoversAllOpcodes() {
+        for (int opcode = 0; opcode <= 0xc9; opcode++) {
+            assertNotNull(Integer.toHexString(opcode), OpCode.of(opcode));
+            assertEquals(opcode, OpCode.of(opcode).getCode() & 0xFF);
+        }
+        assertNull(OpCode.of(0xd0));
+    }
+}
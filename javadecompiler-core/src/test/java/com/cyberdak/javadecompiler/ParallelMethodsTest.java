@@ -0,0 +1,27 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 方法多的类在 ForkJoinPool 中按方法并行反编译，输出与顺序反编译完全相同。
+ */
+public class ParallelMethodsTest extends TestCase {
+
+    public void testSameOutputInDeclarationOrder() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String name : new String[]{"java/lang/String", "java/lang/Character", "java/util/HashMap"}) {
+                ClassFile classFile = ClassParser.parse(ClassReader.wrap(ClassParserTest.classBytes(name)));
+                assertTrue(classFile.getMethods().size() > 32);
+                String expected = Decompiler.decompile(classFile);
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(name, expected, Decompiler.decompile(classFile, pool));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+/**
+ * 描述符和泛型签名的解析与源码形式。
+ */
+public class SignatureParserTest extends TestCase {
+
+    public void testMethodDescriptor() {
+        MethodSignature method = SignatureParser.parseMethod("(ILjava/lang/String;[J)V");
+        assertEquals(3, method.getParameters().size());
+        assertEquals(3, method.getParameterSlots());
+        assertEquals(4, SignatureParser.parseMethod("(JD)V").getParameterSlots());
+        assertEquals("void (int, java.lang.String, long[])", method.toString());
+        assertEquals("[J", method.getParameters().get(2).getDescriptor());
+        assertSame(method, SignatureParser.parseMethod("(ILjava/lang/String;[J)V"));
+        assertEquals("int, java.lang.String, long[]", Method.translateParam("(ILjava/lang/String;[J)V"));
+    }
+
+    public void testGenericMethodSignature() {
+        MethodSignature method = SignatureParser.parseMethod(
+                "<K:Ljava/lang/Object;V::Ljava/lang/Comparable<-TV;>;E:Ljava/lang/Exception;>"
+                        + "(Ljava/util/Map<TK;+Ljava/util/List<*>;>;[TV;)TV;^TE;^Ljava/io/IOException;");
+        assertEquals("<K, V extends java.lang.Comparable<? super V>, E extends java.lang.Exception>", method.typeParametersToString());
+        assertEquals("java.util.Map<K, ? extends java.util.List<?>>, V[]",
+                Method.translateParam("(Ljava/util/Map<TK;+Ljava/util/List<*>;>;[TV;)V"));
+        assertEquals("Ljava/lang/Object;", method.getReturnType().getDescriptor());
+        assertEquals("[Ljava/lang/Object;", method.getParameters().get(1).getDescriptor());
+        assertEquals(2, method.getExceptions().size());
+        assertEquals("java.io.IOException", method.getExceptions().get(1).toString());
+    }
+
+    public void testClassSignature() {
+        ClassSignature signature = SignatureParser.parseClass(
+                "<E:Ljava/lang/Object;>Ljava/util/AbstractList<TE;>;Ljava/util/List<TE;>;Ljava/util/RandomAccess;");
+        assertEquals("<E>", signature.typeParametersToString());
+        assertEquals("java.util.AbstractList<E>", signature.getSuperclass().toString());
+        assertEquals(2, signature.getInterfaces().size());
+
+        TypeSignature inner = SignatureParser.parseType("Lcom/a/Outer<TT;>.Inner<Ljava/lang/String;>;");
+        assertEquals("com.a.Outer<T>.Inner<java.lang.String>", inner.toString());
+        assertEquals("Lcom/a/Outer$Inner;", inner.getDescriptor());
+        assertEquals("java.util.List<java.lang.String>", SignatureParser.toJava("Ljava/util/List<Ljava/lang/String;>;"));
+    }
+
+    public void testMalformed() {
+        String[] bad = {"(I", "(Q)V", "Ljava/lang/String", "(I)V^", "<T>()V", ""};
+        for (String signature : bad) {
+            try {
+                SignatureParser.parseMethod(signature);
+                fail(signature);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        try {
+            SignatureParser.parseType("II");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals("(Q)V", SignatureParser.toJava("(Q)V"));
+    }
+
+    public void testDecompiledHeaders() throws Exception {
+        String user = Decompiler.decompile(ClassParser.parse(ClassReader.wrap(
+                ClassParserTest.classBytes("com/cyberdak/javadecompiler/FullUser"))));
+        assertTrue(user, user.contains("public void setName(java.lang.String name)"));
+        String cache = Decompiler.decompile(ClassParser.parse(ClassReader.wrap(
+                ClassParserTest.classBytes("com/cyberdak/javadecompiler/ClassFileCache"))));
+        assertTrue(cache, cache.contains(
+                "com.google.common.cache.LoadingCache<java.lang.String, com.cyberdak.javadecompiler.ClassFile> cache;"));
+    }
+}
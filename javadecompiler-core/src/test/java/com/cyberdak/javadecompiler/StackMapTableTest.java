@@ -0,0 +1,73 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * StackMapTable 各种帧的解析和展开。
+ */
+public class StackMapTableTest extends TestCase {
+
+    public void testCatchFrame() throws Exception {
+        ClassFile classFile = ClassParserTest.parse("com/cyberdak/javadecompiler/App");
+        MethodInfo method = classFile.getMethod("catchException", null);
+        CodeAttribute code = method.getCode();
+        StackMapTable table = code.getStackMapTable();
+        assertEquals(2, table.size());
+
+        StackMapFrame handler = table.getFrames().get(0);
+        assertEquals(StackMapFrame.Kind.SAME_LOCALS_1_STACK_ITEM, handler.getKind());
+        assertEquals(code.getExceptionTable().get(0).getHandlerPc(), handler.getPc());
+        assertEquals(VerificationType.object("java/lang/Exception"), handler.getStack().get(0));
+        assertSame(handler, table.getFrame(handler.getPc()));
+        assertNull(table.getFrame(handler.getPc() - 1));
+
+        List<StackMapFrame> expanded = table.expand(classFile.getName(), method);
+        assertEquals(StackMapFrame.Kind.FULL, expanded.get(1).getKind());
+        assertTrue(expanded.get(1).getLocals().isEmpty());
+        assertTrue(expanded.get(1).getStack().isEmpty());
+    }
+
+    public void testJdkFrames() throws Exception {
+        Set<StackMapFrame.Kind> kinds = EnumSet.noneOf(StackMapFrame.Kind.class);
+        String[] names = {"java/lang/String", "java/util/HashMap", "java/lang/Character", "java/lang/Integer"};
+        for (String name : names) {
+            ClassFile classFile = ClassParserTest.parse(name);
+            for (MethodInfo method : classFile.getMethods()) {
+                CodeAttribute code = method.getCode();
+                if (code == null || code.getStackMapTable() == null) {
+                    continue;
+                }
+                BitSet starts = new BitSet();
+                for (int pc = 0; pc < code.getCodeLength(); pc += OpcodeParser.length(code.getReader(), code.getCodeOffset(), pc)) {
+                    starts.set(pc);
+                }
+                StackMapTable table = code.getStackMapTable();
+                List<StackMapFrame> expanded = table.expand(classFile.getName(), method);
+                for (int i = 0; i < expanded.size(); i++) {
+                    StackMapFrame frame = expanded.get(i);
+                    String where = name + "." + method.getName() + " " + frame;
+                    kinds.add(table.getFrames().get(i).getKind());
+                    assertTrue(where, starts.get(frame.getPc()));
+                    assertTrue(where, frame.getLocalSlots() <= code.getMaxLocals());
+                    assertTrue(where, frame.getStack().size() <= code.getMaxStack());
+                }
+            }
+        }
+        assertEquals(EnumSet.allOf(StackMapFrame.Kind.class), kinds);
+    }
+
+    public void testInitialLocals() throws Exception {
+        ClassFile classFile = ClassParserTest.parse("java/lang/String");
+        MethodInfo method = classFile.getMethod("<init>", "([CII)V");
+        List<VerificationType> locals = StackMapTable.initialLocals(classFile.getName(), method);
+        assertEquals(4, locals.size());
+        assertEquals(VerificationType.UNINITIALIZED_THIS, locals.get(0).getTag());
+        assertEquals("[C", locals.get(1).getDescriptor());
+        assertEquals("I", locals.get(3).getDescriptor());
+    }
+}
@@ -0,0 +1,61 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+
+import java.util.List;
+
+/**
+ * 栈模拟还原出的语句，特别是 javac 插入的装箱和拆箱调用。
+ */
+public class StackSimulatorTest extends TestCase {
+
+    private static List<Statement> simulate(String className, String method) throws Exception {
+        ClassFile classFile = ClassParserTest.parse(className);
+        return StackSimulator.simulate(classFile, classFile.getMethod(method, null));
+    }
+
+    private static String text(List<Statement> statements) {
+        StringBuilder sb = new StringBuilder();
+        for (Statement statement : statements) {
+            statement.appendTo(sb);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    public void testBoxing() throws Exception {
+        List<Statement> statements = simulate("com/cyberdak/javadecompiler/Boxing", "add");
+        String text = text(statements);
+        assertTrue(text, text.contains("l1 = java.lang.Long.valueOf(1L);"));
+        assertTrue(text, text.contains("l2 = 2L;"));
+        assertTrue(text, text.contains("l1 = java.lang.Long.valueOf(l1.longValue() + l2);"));
+
+        Expression.Invoke boxing = (Expression.Invoke) statements.get(2).getValue();
+        assertTrue(boxing.isBoxing());
+        Expression.Binary sum = (Expression.Binary) boxing.getArguments().get(0);
+        assertTrue(((Expression.Invoke) sum.getLeft()).isUnboxing());
+    }
+
+    public void testStatements() throws Exception {
+        String foreach = text(simulate("com/cyberdak/javadecompiler/App", "foreach"));
+        assertTrue(foreach, foreach.contains("stringList.add(\"x\");"));
+        assertTrue(foreach, foreach.contains("goto L"));
+        String setId = text(simulate("com/cyberdak/javadecompiler/FullUser", "setId"));
+        assertTrue(setId, setId.contains("this.id = id;"));
+        assertTrue(setId, setId.contains("e = caughtException;"));
+    }
+
+    public void testAllMethods() throws Exception {
+        String[] names = {"com/cyberdak/javadecompiler/App", "com/cyberdak/javadecompiler/FullUser",
+                "java/lang/String", "java/util/HashMap"};
+        for (String name : names) {
+            ClassFile classFile = ClassParserTest.parse(name);
+            for (MethodInfo method : classFile.getMethods()) {
+                List<Statement> statements = StackSimulator.simulate(classFile, method);
+                if (method.getCode() != null) {
+                    assertFalse(name + "." + method.getName(), statements.isEmpty());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.cyberdak.javadecompiler;
+
+import com.google.common.io.ByteStreams;
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 不同类中相同的常量池字符串共享同一个实例。
+ */
+public class StringInternerTest extends TestCase {
+
+    private static ClassFile parse(String name, StringInterner interner) throws Exception {
+        byte[] bytes = ByteStreams.toByteArray(ClassLoader.getSystemResourceAsStream(name + ".class"));
+        return ClassParser.parse(ClassReader.wrap(bytes), interner);
+    }
+
+    public void testSharedAcrossClasses() throws Exception {
+        StringInterner interner = new StringInterner();
+        ClassFile app = parse("com/cyberdak/javadecompiler/App", interner);
+        ClassFile user = parse("com/cyberdak/javadecompiler/FullUser", interner);
+        assertSame(app.getMethod("<init>", null).getName(), user.getMethod("<init>", null).getName());
+        assertSame(app.getMethod("<init>", null).getCode().getName(), user.getMethod("<init>", null).getCode().getName());
+        assertTrue(interner.getHitCount() > 0);
+        assertEquals(interner.size(), interner.getMissCount());
+        assertTrue(interner.getSavedBytes() >= interner.getHitCount() * StringInterner.stringSize(""));
+
+        // 不驻留时每个类各自解码
+        assertNotSame(parse("com/cyberdak/javadecompiler/App", null).getMethod("<init>", null).getName(),
+                parse("com/cyberdak/javadecompiler/FullUser", null).getMethod("<init>", null).getName());
+    }
+
+    public void testNonAsciiAndLongStrings() throws Exception {
+        StringInterner interner = new StringInterner();
+        byte[] chinese = "常量池".getBytes(StandardCharsets.UTF_8);
+        ClassReader reader = ClassReader.wrap(chinese);
+        String value = interner.intern(reader, 0, chinese.length);
+        assertEquals("常量池", value);
+        assertSame(value, interner.intern(ClassReader.wrap(chinese.clone()), 0, chinese.length));
+
+        byte[] longBytes = new byte[StringInterner.MAX_LENGTH + 1];
+        Arrays.fill(longBytes, (byte) 'a');
+        assertNotSame(interner.intern(ClassReader.wrap(longBytes), 0, longBytes.length),
+                interner.intern(ClassReader.wrap(longBytes), 0, longBytes.length));
+        assertEquals(1, interner.size());
+    }
+
+    public void testStringSize() {
+        assertEquals(40, StringInterner.stringSize(""));
+        // 8 个 Latin-1 字符：压缩存储时 8 字节，否则 16 字节
+        long ascii = StringInterner.stringSize("12345678");
+        assertTrue(ascii == 48 || ascii == 56);
+        assertEquals(48, StringInterner.stringSize("常量池"));
+    }
+
+    public void testConcurrentParse() throws Exception {
+        final StringInterner interner = new StringInterner();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[16];
+            for (int i = 0; i < futures.length; i++) {
+                final String name = i % 2 == 0 ? "java/lang/String" : "java/util/HashMap";
+                futures[i] = executor.submit(new Callable<ClassFile>() {
+                    @Override
+                    public ClassFile call() throws Exception {
+                        ClassFile classFile = parse(name, interner);
+                        for (MethodInfo method : classFile.getMethods()) {
+                            method.getDescriptor();
+                        }
+                        return classFile;
+                    }
+                });
+            }
+            for (int i = 0; i < futures.length; i++) {
+                ClassFile first = (ClassFile) futures[i % 2].get();
+                ClassFile classFile = (ClassFile) futures[i].get();
+                assertSame(first.getSuperName(), classFile.getSuperName());
+                assertSame(first.getMethods().get(0).getDescriptor(), classFile.getMethods().get(0).getDescriptor());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
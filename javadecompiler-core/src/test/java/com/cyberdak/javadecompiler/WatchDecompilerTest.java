@@ -0,0 +1,124 @@
+package com.cyberdak.javadecompiler;
+
+import junit.framework.TestCase;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 只有字节变化的类和与它关联的内部类、外部类会被重新反编译。
+ */
+public class WatchDecompilerTest extends TestCase {
+    private File classes;
+    private File output;
+
+    @Override
+    protected void setUp() throws Exception {
+        classes = Files.createTempDirectory("javadecompiler-classes").toFile();
+        output = Files.createTempDirectory("javadecompiler-output").toFile();
+        FileUtils.copyDirectory(JarDecompilerTest.classesDir(), classes);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        FileUtils.deleteDirectory(classes);
+        FileUtils.deleteDirectory(output);
+    }
+
+    public void testUpdatesOnlyChangedClassesAndTheirRelatives() throws Exception {
+        WatchDecompiler watcher = new WatchDecompiler(classes, output, Long.MAX_VALUE);
+        assertFalse(watcher.decompileAll().isEmpty());
+        File appSource = new File(output, "com/cyberdak/javadecompiler/App.java");
+        assertTrue(appSource.isFile());
+
+        String app = "com/cyberdak/javadecompiler/App";
+        File appClass = new File(classes, app + ".class");
+        // 重新写入相同的字节
+        Files.write(appClass.toPath(), Files.readAllBytes(appClass.toPath()));
+        assertTrue(watcher.update(Arrays.asList(app)).isEmpty());
+
+        // 修改 App$1 的字节：它自己和外部类 App 都要更新，无关的 Simple 不动
+        File anonymous = new File(classes, app + "$1.class");
+        byte[] bytes = Files.readAllBytes(anonymous.toPath());
+        // minor_version 不影响解析结果
+        bytes[5] = 1;
+        Files.write(anonymous.toPath(), bytes);
+        List<String> updated = watcher.update(Arrays.asList(app + "$1"));
+        assertTrue(updated.toString(), updated.contains(app + "$1"));
+        assertTrue(updated.toString(), updated.contains(app));
+        assertFalse(updated.toString(), updated.contains("com/cyberdak/javadecompiler/Simple"));
+
+        assertNotNull(watcher.getModels().getIfPresent(app + "$1"));
+        assertTrue(anonymous.delete());
+        updated = watcher.update(Arrays.asList(app + "$1"));
+        assertTrue(updated.contains(app));
+        assertFalse(new File(output, app + "$1.java").exists());
+        assertNull(watcher.getModels().getIfPresent(app + "$1"));
+        // 已经删除的文件再次出现在事件里不会出错
+        assertTrue(watcher.update(Arrays.asList(app + "$1")).isEmpty());
+    }
+
+    public void testWatchNotifiesListener() throws Exception {
+        final WatchDecompiler watcher = new WatchDecompiler(classes, output, Long.MAX_VALUE);
+        final BlockingQueue<List<String>> batches = new LinkedBlockingQueue<List<String>>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    watcher.watch(new WatchDecompiler.Listener() {
+                        @Override
+                        public void updated(List<String> updated, long nanos) {
+                            batches.add(updated);
+                        }
+                    });
+                } catch (Exception e) {
+                    batches.add(Arrays.asList(e.toString()));
+                }
+            }
+        });
+        thread.start();
+        try {
+            String app = "com/cyberdak/javadecompiler/App";
+            File appSource = new File(output, app + ".java");
+            // 第一次全量反编译不通知
+            for (int i = 0; i < 100 && !appSource.isFile(); i++) {
+                Thread.sleep(50);
+            }
+            File appClass = new File(classes, app + ".class");
+            byte[] bytes = Files.readAllBytes(appClass.toPath());
+            bytes[5] = 1;
+            Files.write(appClass.toPath(), bytes);
+            List<String> updated = batches.poll(10, TimeUnit.SECONDS);
+            assertNotNull(updated);
+            assertTrue(updated.toString(), updated.contains(app));
+        } finally {
+            watcher.stop();
+            thread.join(10000);
+        }
+    }
+
+    public void testRenewsInternerAfterManyRebuilds() throws Exception {
+        WatchDecompiler watcher = new WatchDecompiler(classes, output, Long.MAX_VALUE);
+        watcher.decompileAll();
+        StringInterner first = watcher.getInterner();
+        String app = "com/cyberdak/javadecompiler/App";
+        File appClass = new File(classes, app + ".class");
+        byte[] bytes = Files.readAllBytes(appClass.toPath());
+        // 反复修改同一个类，失效的解析结果超过阈值后驻留表换新，旧字符串不再被引用
+        for (int i = 0; i < 300 && watcher.getInterner() == first; i++) {
+            bytes[5] = (byte) (i % 2 + 1);
+            Files.write(appClass.toPath(), bytes);
+            assertTrue(watcher.update(Arrays.asList(app)).contains(app));
+        }
+        assertNotSame(first, watcher.getInterner());
+        // 这一批更新的类已经用新的驻留表重新解析
+        assertNotNull(watcher.getModels().getIfPresent(app));
+        assertTrue(watcher.getInterner().size() > 0);
+    }
+}
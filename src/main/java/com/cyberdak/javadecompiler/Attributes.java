@@ -1,11 +0,0 @@
-package com.cyberdak.javadecompiler;
-
-/**
- * Created by 58 on 2016/12/27.
- */
-public class Attributes {
-    private int nameIndex;
-    private String name;
-    private int length;
-
-}
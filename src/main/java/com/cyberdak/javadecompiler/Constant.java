@@ -1,43 +0,0 @@
-package com.cyberdak.javadecompiler;
-
-/**
- * Created by 58 on 2016/12/27.
- */
-public class Constant {
-    private String type;
-    private Object value;
-    private int index;
-    private int valueIndex;
-
-    public int getValueIndex() {
-        return valueIndex;
-    }
-
-    public void setValueIndex(int valueIndex) {
-        this.valueIndex = valueIndex;
-    }
-
-    public String getType() {
-        return type;
-    }
-
-    public void setType(String type) {
-        this.type = type;
-    }
-
-    public Object getValue() {
-        return value;
-    }
-
-    public void setValue(Object value) {
-        this.value = value;
-    }
-
-    public int getIndex() {
-        return index;
-    }
-
-    public void setIndex(int index) {
-        this.index = index;
-    }
-}
\ No newline at end of file
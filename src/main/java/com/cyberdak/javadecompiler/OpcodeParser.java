@@ -1,11 +0,0 @@
-package com.cyberdak.javadecompiler;
-
-/**
- * Created by 58 on 2016/12/30.
- */
-public class OpcodeParser {
-
-    public static void main(String[] args) {
-
-    }
-}